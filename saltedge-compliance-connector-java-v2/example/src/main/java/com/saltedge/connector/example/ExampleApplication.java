@@ -20,10 +20,11 @@
  */
 package com.saltedge.connector.example;
 
-import com.saltedge.connector.sdk.SDKConstants;
+import com.saltedge.connector.sdk.ConnectorSdkConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 import static com.saltedge.connector.example.ExampleApplication.EXAMPLE_PACKAGE;
@@ -32,9 +33,10 @@ import static com.saltedge.connector.example.ExampleApplication.EXAMPLE_PACKAGE;
  * Example Application which simulates work of ASPSP/Bank application.
  * This application is just a POC (Proof Of Concept).
  */
-@SpringBootApplication(scanBasePackages = {EXAMPLE_PACKAGE, SDKConstants.CONNECTOR_PACKAGE})
-@EnableJpaRepositories(basePackages = {EXAMPLE_PACKAGE, SDKConstants.CONNECTOR_PACKAGE})
-@EntityScan(basePackages = {EXAMPLE_PACKAGE, SDKConstants.CONNECTOR_PACKAGE})
+@SpringBootApplication(scanBasePackages = EXAMPLE_PACKAGE)
+@Import(ConnectorSdkConfiguration.class)
+@EnableJpaRepositories(basePackages = EXAMPLE_PACKAGE)
+@EntityScan(basePackages = EXAMPLE_PACKAGE)
 public class ExampleApplication {
     public static final String EXAMPLE_PACKAGE = "com.saltedge.connector.example";
 
@@ -147,6 +147,15 @@ public class ProviderService implements ProviderServiceAbs {
         return ConnectorTypeConverters.convertCardTransactionsToTransactionsData(new LinkedList<>(account.cardTransactions));
     }
 
+    @Override
+    public Amount getAvailableBalanceOfAccount(@NotEmpty String userId, @NotEmpty String accountIdentifier) {
+        List<Amount> result = accountsRepository.findAvailableAmountByUserIdAndAccountIdentifier(
+                Long.valueOf(userId),
+                accountIdentifier
+        );
+        return result.isEmpty() ? null : result.get(0);
+    }
+
     @Override
     public String createPayment(
             @NotEmpty String creditorIban,
@@ -32,6 +32,7 @@ import org.springframework.stereotype.Component;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 
 @Component
 public class DatabaseInitializer {
@@ -49,6 +50,8 @@ public class DatabaseInitializer {
     TransactionsRepository transactionsRepository;
     @Autowired
     CardTransactionsRepository cardTransactionsRepository;
+    @Autowired
+    DatasetGenerator datasetGenerator;
     private UserEntity user;
     private AccountEntity account1;
     private AccountEntity account2;
@@ -62,6 +65,7 @@ public class DatabaseInitializer {
         seedTransactions();
         seedCardAccounts();
         seedCardTransactions();
+        datasetGenerator.generateIfRequired();
     }
 
     private void seedCurrencies() {
@@ -150,9 +154,10 @@ public class DatabaseInitializer {
 
     private void generateTransactions(AccountEntity account, LocalDate fromDate, LocalDate toDate) {
         if (fromDate.isAfter(toDate)) return;
+        List<TransactionEntity> transactions = new ArrayList<>();
         for (LocalDate date = fromDate; (date.isBefore(toDate) || date.isEqual(toDate)); date = date.plusDays(1)) {
             double amount = -(double) date.getDayOfMonth();
-            transactionsRepository.save(new TransactionEntity(
+            transactions.add(new TransactionEntity(
                     String.format("%.2f", amount),
                     account.currencyCode,
                     "Payment " + amount + " " + account.currencyCode + "(Account:" + account.id + ")",
@@ -163,6 +168,7 @@ public class DatabaseInitializer {
                     account
             ));
         }
+        transactionsRepository.saveAll(transactions);
     }
 
     private void seedCardAccounts() {
@@ -198,9 +204,10 @@ public class DatabaseInitializer {
 
     private void generateTransactions(CardAccountEntity account, LocalDate fromDate, LocalDate toDate) {
         if (fromDate.isAfter(toDate)) return;
+        List<CardTransactionEntity> transactions = new ArrayList<>();
         for (LocalDate date = fromDate; (date.isBefore(toDate) || date.isEqual(toDate)); date = date.plusDays(1)) {
             double amount = -(double) date.getDayOfMonth();
-            cardTransactionsRepository.save(new CardTransactionEntity(
+            transactions.add(new CardTransactionEntity(
                     String.format("%.2f", amount),
                     account.currencyCode,
                     "Payment " + amount + " " + account.currencyCode + "(Account:" + account.id + ")",
@@ -211,5 +218,6 @@ public class DatabaseInitializer {
                     account
             ));
         }
+        cardTransactionsRepository.saveAll(transactions);
     }
 }
@@ -0,0 +1,326 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.example.config;
+
+import com.saltedge.connector.example.model.repository.UsersRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates synthetic dataset of users, accounts, card accounts and transactions for performance testing.
+ * Rows are written with JDBC batch inserts, each chunk of users is written in one database transaction.
+ * Ids are reserved in blocks from `hibernate_sequence` (H2 syntax), so entities created later by JPA do not collide with them.
+ *
+ * Amounts of transactions are log-normally distributed (most are small, few are large), most of them are debits,
+ * dates are spread over history period and recent transactions can be pending.
+ *
+ * @see DatasetProperties
+ */
+@Component
+public class DatasetGenerator {
+    private static Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+    private static final String PASSWORD = "secret";
+    private static final String[] CURRENCIES = {"EUR", "EUR", "EUR", "EUR", "EUR", "EUR", "EUR", "EUR", "USD", "GBP"};
+    private static final String[] ACCOUNT_NATURES = {"CACC", "SLRY", "SVGS"};
+    private static final String[] DEBIT_DESCRIPTIONS = {
+            "Card payment Grocery Store", "Card payment Restaurant", "Card payment Fuel Station", "Online shop order",
+            "Utilities bill", "Mobile operator", "Public transport", "Pharmacy", "Cash withdrawal", "Rent payment"
+    };
+    private static final String[] CREDIT_DESCRIPTIONS = {"Salary", "Transfer from savings", "Refund", "Incoming transfer"};
+    private static final String EMPTY_FEES = "[]";
+    private static final String EMPTY_EXTRA = "{}";
+
+    private static final String INSERT_USER = "INSERT INTO user " +
+            "(id, created_at, updated_at, name, email, address, dob, phone, username, password) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ACCOUNT = "INSERT INTO account " +
+            "(id, created_at, updated_at, name, nature, currency_code, iban, number, sort_code, swift_code, " +
+            "available_amount, balance, credit_limit, is_payment_account, status, pan, extra, user_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CARD_ACCOUNT = "INSERT INTO card_account " +
+            "(id, created_at, updated_at, name, pan, currency_code, product, status, " +
+            "available_amount, balance, credit_limit, extra, user_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TRANSACTION = "INSERT INTO transaction " +
+            "(id, created_at, updated_at, amount, description, made_on, post_date, status, currency_code, fees, extra, account_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CARD_TRANSACTION = "INSERT INTO card_transaction " +
+            "(id, created_at, updated_at, amount, description, made_on, post_date, status, currency_code, pan, fees, extra, card_account_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    DatasetProperties properties;
+    @Autowired
+    UsersRepository usersRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    /**
+     * Generates dataset if it is enabled and was not generated before
+     */
+    public void generateIfRequired() {
+        if (!properties.isEnabled()) return;
+        if (usersRepository.existsByUsername(username(1))) {
+            log.info("Dataset Generation Not Required");
+            return;
+        }
+        long startTime = System.nanoTime();
+        long rows = generate();
+        long millis = (System.nanoTime() - startTime) / 1_000_000L;
+        log.info("Dataset Generated: " + rows + " rows in " + millis + " ms (" + (rows * 1000L / Math.max(millis, 1L)) + " rows/s)");
+    }
+
+    /**
+     * Generates dataset
+     *
+     * @return count of inserted rows
+     */
+    public long generate() {
+        int accountsPerUser = Math.max(properties.getAccountsPerUser(), 0);
+        int cardAccountsPerUser = Math.max(properties.getCardAccountsPerUser(), 0);
+        long rowsPerUser = 1L + (accountsPerUser + cardAccountsPerUser) * (1L + Math.max(properties.getTransactionsPerAccount(), 0));
+        int usersPerChunk = (int) Math.max(1L, Math.min(properties.getUsers(), properties.getRowsPerCommit() / rowsPerUser));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Random random = new Random(properties.getRandomSeed());
+        LocalDate today = LocalDate.now();
+
+        long result = 0L;
+        for (int firstUser = 1; firstUser <= properties.getUsers(); firstUser += usersPerChunk) {
+            int fromUser = firstUser;
+            int toUser = Math.min(firstUser + usersPerChunk - 1, properties.getUsers());
+            long firstId = reserveIds((toUser - fromUser + 1) * rowsPerUser);
+            Chunk chunk = new Chunk(firstId, random, today);
+            transactionTemplate.execute(status -> {
+                for (int userIndex = fromUser; userIndex <= toUser; userIndex++) {
+                    chunk.addUser(userIndex, accountsPerUser, cardAccountsPerUser);
+                }
+                chunk.flush();
+                return null;
+            });
+            result += chunk.rows;
+            log.info("Dataset: users " + toUser + "/" + properties.getUsers() + ", rows " + result);
+        }
+        return result;
+    }
+
+    private long reserveIds(long count) {
+        Long firstId = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR hibernate_sequence", Long.class);
+        jdbcTemplate.execute("ALTER SEQUENCE hibernate_sequence RESTART WITH " + (firstId + count));
+        return firstId;
+    }
+
+    private static String username(int userIndex) {
+        return "user" + userIndex;
+    }
+
+    private static String amount(long cents) {
+        return BigDecimal.valueOf(cents, 2).toPlainString();
+    }
+
+    /**
+     * Rows of users written in one database transaction
+     */
+    private class Chunk {
+        private final Random random;
+        private final LocalDate today;
+        private final Timestamp now = new Timestamp(System.currentTimeMillis());
+        private final BatchInsert users = new BatchInsert(INSERT_USER, null);
+        private final BatchInsert accounts = new BatchInsert(INSERT_ACCOUNT, users);
+        private final BatchInsert cardAccounts = new BatchInsert(INSERT_CARD_ACCOUNT, users);
+        private final BatchInsert transactions = new BatchInsert(INSERT_TRANSACTION, accounts);
+        private final BatchInsert cardTransactions = new BatchInsert(INSERT_CARD_TRANSACTION, cardAccounts);
+        private long nextId;
+        private long rows = 0L;
+
+        Chunk(long firstId, Random random, LocalDate today) {
+            this.nextId = firstId;
+            this.random = random;
+            this.today = today;
+        }
+
+        void addUser(int userIndex, int accountsCount, int cardAccountsCount) {
+            long userId = nextId();
+            users.add(userId, now, now,
+                    "User " + userIndex,
+                    username(userIndex) + "@example.org",
+                    "Toronto, Ontario, Canada",
+                    "01-02-2000",
+                    "+1-555-" + userIndex,
+                    username(userIndex),
+                    PASSWORD
+            );
+            for (int i = 0; i < accountsCount; i++) {
+                addAccount(userId, (long) (userIndex - 1) * accountsCount + i + 1, i);
+            }
+            for (int i = 0; i < cardAccountsCount; i++) {
+                addCardAccount(userId, (long) (userIndex - 1) * cardAccountsCount + i + 1, i);
+            }
+        }
+
+        private void addAccount(long userId, long accountIndex, int indexOfUser) {
+            long accountId = nextId();
+            String currencyCode = (indexOfUser == 0) ? "EUR" : CURRENCIES[random.nextInt(CURRENCIES.length)];
+            String balance = amount(random.nextInt(5_000_000));
+            accounts.add(accountId, now, now,
+                    "Account " + accountIndex,
+                    ACCOUNT_NATURES[indexOfUser % ACCOUNT_NATURES.length],
+                    currencyCode,
+                    String.format("FK00DATA%014d", accountIndex),
+                    String.format("7%08d", accountIndex),
+                    "82-78-61",
+                    "TBNFFR21PAR",
+                    balance,
+                    balance,
+                    "0.00",
+                    indexOfUser == 0,
+                    "enabled",
+                    null,
+                    EMPTY_EXTRA,
+                    userId
+            );
+            for (int i = 0; i < properties.getTransactionsPerAccount(); i++) {
+                LocalDate madeOn = randomDate();
+                boolean pending = isPending(madeOn);
+                long cents = randomCents();
+                transactions.add(nextId(), now, now,
+                        amount(cents),
+                        description(cents),
+                        Date.valueOf(madeOn),
+                        pending ? null : Date.valueOf(madeOn.plusDays(random.nextInt(3))),
+                        pending ? "pending" : "booked",
+                        currencyCode,
+                        EMPTY_FEES,
+                        EMPTY_EXTRA,
+                        accountId
+                );
+            }
+        }
+
+        private void addCardAccount(long userId, long cardAccountIndex, int indexOfUser) {
+            long cardAccountId = nextId();
+            String pan = String.format("4000 %04d %04d %04d", cardAccountIndex / 100_000_000L % 10_000, cardAccountIndex / 10_000 % 10_000, cardAccountIndex % 10_000);
+            String creditLimit = amount(100_000L * (1 + random.nextInt(50)));
+            cardAccounts.add(cardAccountId, now, now,
+                    "Card " + cardAccountIndex,
+                    pan,
+                    "EUR",
+                    (indexOfUser == 0) ? "card" : "credit card",
+                    "enabled",
+                    creditLimit,
+                    creditLimit,
+                    creditLimit,
+                    EMPTY_EXTRA,
+                    userId
+            );
+            for (int i = 0; i < properties.getTransactionsPerAccount(); i++) {
+                LocalDate madeOn = randomDate();
+                boolean pending = isPending(madeOn);
+                long cents = randomCents();
+                cardTransactions.add(nextId(), now, now,
+                        amount(cents),
+                        description(cents),
+                        Date.valueOf(madeOn),
+                        pending ? null : Date.valueOf(madeOn.plusDays(random.nextInt(3))),
+                        pending ? "pending" : "booked",
+                        "EUR",
+                        pan,
+                        EMPTY_FEES,
+                        EMPTY_EXTRA,
+                        cardAccountId
+                );
+            }
+        }
+
+        /**
+         * Log-normal amount in cents with median about 25.00, 1 of 10 transactions is credit
+         */
+        private long randomCents() {
+            long cents = Math.min((long) (Math.exp(3.2 + random.nextGaussian()) * 100), 1_000_000L) + 1L;
+            return (random.nextInt(10) == 0) ? cents * 8 : -cents;
+        }
+
+        private String description(long cents) {
+            return (cents > 0)
+                    ? CREDIT_DESCRIPTIONS[random.nextInt(CREDIT_DESCRIPTIONS.length)]
+                    : DEBIT_DESCRIPTIONS[random.nextInt(DEBIT_DESCRIPTIONS.length)];
+        }
+
+        private LocalDate randomDate() {
+            return today.minusDays(random.nextInt(Math.max(properties.getHistoryDays(), 1)));
+        }
+
+        private boolean isPending(LocalDate madeOn) {
+            return madeOn.isAfter(today.minusDays(2)) && random.nextBoolean();
+        }
+
+        private long nextId() {
+            rows++;
+            return nextId++;
+        }
+
+        void flush() {
+            transactions.flush();
+            cardTransactions.flush();
+        }
+    }
+
+    /**
+     * Collects rows of one table and sends them in JDBC batches.
+     * Parent table is flushed first, so foreign keys of rows point to inserted rows.
+     */
+    private class BatchInsert {
+        private final String sql;
+        private final BatchInsert parent;
+        private final List<Object[]> rows = new ArrayList<>();
+
+        BatchInsert(String sql, BatchInsert parent) {
+            this.sql = sql;
+            this.parent = parent;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= properties.getBatchSize()) flush();
+        }
+
+        void flush() {
+            if (parent != null) parent.flush();
+            if (rows.isEmpty()) return;
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.example.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Synthetic dataset properties from application.yml.
+ * Dataset is generated on start of application if `users` is greater than 0 and it was not generated before.
+ * Generated users have usernames `user1` ... `userN` and password `secret`.
+ *
+ * Example of application.yml
+ * example:
+ *   dataset:
+ *     users: 10000
+ *     accounts_per_user: 2
+ *     card_accounts_per_user: 1
+ *     transactions_per_account: 200
+ *     history_days: 365
+ *     batch_size: 1000
+ *     rows_per_commit: 100000
+ *     random_seed: 42
+ *
+ * @see DatasetGenerator
+ */
+@Configuration
+@ConfigurationProperties("example.dataset")
+public class DatasetProperties {
+    /**
+     * Count of generated users, 0 disables generator
+     */
+    private int users = 0;
+
+    /**
+     * Count of accounts of each generated user
+     */
+    private int accountsPerUser = 2;
+
+    /**
+     * Count of card accounts of each generated user
+     */
+    private int cardAccountsPerUser = 1;
+
+    /**
+     * Count of transactions of each generated account and card account
+     */
+    private int transactionsPerAccount = 200;
+
+    /**
+     * Transactions are spread over this count of days before today
+     */
+    private int historyDays = 365;
+
+    /**
+     * Count of rows sent to database in one JDBC batch
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Approximate count of rows inserted in one database transaction
+     */
+    private int rowsPerCommit = 100000;
+
+    /**
+     * Seed of random generator, same seed gives same dataset
+     */
+    private long randomSeed = 42L;
+
+    public int getUsers() {
+        return users;
+    }
+
+    public void setUsers(int users) {
+        this.users = users;
+    }
+
+    public int getAccountsPerUser() {
+        return accountsPerUser;
+    }
+
+    public void setAccountsPerUser(int accountsPerUser) {
+        this.accountsPerUser = accountsPerUser;
+    }
+
+    public int getCardAccountsPerUser() {
+        return cardAccountsPerUser;
+    }
+
+    public void setCardAccountsPerUser(int cardAccountsPerUser) {
+        this.cardAccountsPerUser = cardAccountsPerUser;
+    }
+
+    public int getTransactionsPerAccount() {
+        return transactionsPerAccount;
+    }
+
+    public void setTransactionsPerAccount(int transactionsPerAccount) {
+        this.transactionsPerAccount = transactionsPerAccount;
+    }
+
+    public int getHistoryDays() {
+        return historyDays;
+    }
+
+    public void setHistoryDays(int historyDays) {
+        this.historyDays = historyDays;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getRowsPerCommit() {
+        return rowsPerCommit;
+    }
+
+    public void setRowsPerCommit(int rowsPerCommit) {
+        this.rowsPerCommit = rowsPerCommit;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public void setRandomSeed(long randomSeed) {
+        this.randomSeed = randomSeed;
+    }
+
+    public boolean isEnabled() {
+        return users > 0;
+    }
+}
@@ -20,7 +20,10 @@
  */
 package com.saltedge.connector.example.config;
 
+import com.saltedge.connector.sdk.metrics.SdkMetrics;
+import com.saltedge.connector.sdk.metrics.SdkTaskDecorator;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -31,12 +34,16 @@ import java.util.concurrent.Executor;
 @Configuration
 @EnableAsync
 public class SpringAsyncConfig implements AsyncConfigurer {
+    @Autowired
+    private SdkMetrics sdkMetrics;
+
     @Override
     public Executor getAsyncExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(4);
         executor.setMaxPoolSize(100);
         executor.setThreadNamePrefix("default_task_executor_thread");
+        executor.setTaskDecorator(new SdkTaskDecorator(sdkMetrics, "default"));
         executor.initialize();
         return executor;
     }
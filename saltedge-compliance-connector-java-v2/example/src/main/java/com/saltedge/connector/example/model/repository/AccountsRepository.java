@@ -21,6 +21,7 @@
 package com.saltedge.connector.example.model.repository;
 
 import com.saltedge.connector.example.model.AccountEntity;
+import com.saltedge.connector.sdk.api.models.Amount;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -31,6 +32,10 @@ public interface AccountsRepository extends JpaRepository<AccountEntity, Long> {
     @Query("select a from Account a where a.iban=?1 OR a.number=?1 OR a.sortCode=?1 OR a.swiftCode=?1")
     List<AccountEntity> findByAccountIdentifier(String accountIdentifier);
 
+    @Query("select new com.saltedge.connector.sdk.api.models.Amount(a.availableAmount, a.currencyCode) from Account a " +
+            "where a.user.id=?1 AND (a.iban=?2 OR a.number=?2 OR a.sortCode=?2 OR a.swiftCode=?2 OR a.pan=?2)")
+    List<Amount> findAvailableAmountByUserIdAndAccountIdentifier(Long userId, String accountIdentifier);
+
     AccountEntity findFirstByNumber(String accountNumber);
 
     AccountEntity findFirstByIban(String iban);
@@ -27,4 +27,6 @@ import java.util.Optional;
 
 public interface UsersRepository extends JpaRepository<UserEntity, Long> {
     Optional<UserEntity> findFirstByUsernameAndPassword(String username, String password);
+
+    boolean existsByUsername(String username);
 }
@@ -0,0 +1,162 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.loadtest;
+
+import com.saltedge.connector.sdk.SDKConstants;
+import com.saltedge.connector.sdk.tools.JsonTools;
+import com.saltedge.connector.sdk.tools.KeyTools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.PrivateKey;
+
+/**
+ * Client of Connector API which signs requests as Salt Edge Compliance Solution does
+ */
+public class ConnectorApiClient {
+    private static final int TIMEOUT_MILLIS = 30_000;
+    private final String connectorUrl;
+    private final PrivateKey prioraPrivateKey;
+
+    /**
+     * @param connectorUrl base url of connector
+     * @param prioraPrivateKeyPath path to PEM file of generated Salt Edge Compliance test key (see loadTestConfig task)
+     */
+    public ConnectorApiClient(String connectorUrl, String prioraPrivateKeyPath) throws IOException {
+        this.connectorUrl = connectorUrl.endsWith("/") ? connectorUrl.substring(0, connectorUrl.length() - 1) : connectorUrl;
+        this.prioraPrivateKey = KeyTools.convertPemStringToPrivateKey(readFile(prioraPrivateKeyPath));
+        if (prioraPrivateKey == null) throw new IOException("Invalid key: " + prioraPrivateKeyPath);
+    }
+
+    public Response get(String path, Object data, String accessToken) {
+        return send("GET", SDKConstants.API_BASE_PATH + path, data, accessToken);
+    }
+
+    public Response post(String path, Object data, String accessToken) {
+        return send("POST", SDKConstants.API_BASE_PATH + path, data, accessToken);
+    }
+
+    /**
+     * Submits credentials of user on authorization page of example connector, as user does in browser
+     */
+    public Response submitCredentials(String sessionSecret, String username, String password) {
+        long startTime = System.nanoTime();
+        try {
+            HttpURLConnection connection = openConnection("/oauth/authorize/accounts", "POST");
+            connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+            byte[] form = (SDKConstants.KEY_SESSION_SECRET + "=" + encode(sessionSecret)
+                    + "&username=" + encode(username)
+                    + "&password=" + encode(password)).getBytes(StandardCharsets.UTF_8);
+            writeBody(connection, form);
+            return readResponse(connection, startTime);
+        } catch (IOException e) {
+            return new Response(0, e.toString(), System.nanoTime() - startTime);
+        }
+    }
+
+    private Response send(String method, String path, Object data, String accessToken) {
+        long startTime = System.nanoTime();
+        try {
+            HttpURLConnection connection = openConnection(path, method);
+            connection.setRequestProperty(SDKConstants.HEADER_CLIENT_ID, "loadtest");
+            connection.setRequestProperty(
+                    SDKConstants.HEADER_AUTHORIZATION,
+                    JsonTools.createAuthorizationHeaderValue(data, prioraPrivateKey)
+            );
+            if (accessToken != null) connection.setRequestProperty(SDKConstants.HEADER_ACCESS_TOKEN, accessToken);
+            if ("POST".equals(method)) {
+                connection.setRequestProperty("Content-Type", "application/json");
+                writeBody(connection, new byte[0]);
+            }
+            return readResponse(connection, startTime);
+        } catch (IOException e) {
+            return new Response(0, e.toString(), System.nanoTime() - startTime);
+        }
+    }
+
+    private HttpURLConnection openConnection(String path, String method) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(connectorUrl + path).openConnection();
+        connection.setRequestMethod(method);
+        connection.setInstanceFollowRedirects(false);
+        connection.setConnectTimeout(TIMEOUT_MILLIS);
+        connection.setReadTimeout(TIMEOUT_MILLIS);
+        connection.setRequestProperty("Accept", "application/json");
+        return connection;
+    }
+
+    private static void writeBody(HttpURLConnection connection, byte[] body) throws IOException {
+        connection.setDoOutput(true);
+        connection.setFixedLengthStreamingMode(body.length);
+        try (OutputStream stream = connection.getOutputStream()) {
+            stream.write(body);
+        }
+    }
+
+    private static Response readResponse(HttpURLConnection connection, long startTime) throws IOException {
+        int status = connection.getResponseCode();
+        InputStream stream = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        String body = stream == null ? "" : new String(readAll(stream), StandardCharsets.UTF_8);
+        return new Response(status, body, System.nanoTime() - startTime);
+    }
+
+    private static byte[] readAll(InputStream stream) throws IOException {
+        try (InputStream input = stream) {
+            ByteArrayOutputStream result = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int count;
+            while ((count = input.read(buffer)) != -1) result.write(buffer, 0, count);
+            return result.toByteArray();
+        }
+    }
+
+    private static String readFile(String path) throws IOException {
+        return new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8);
+    }
+
+    private static String encode(String value) throws UnsupportedEncodingException {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+    }
+
+    public static class Response {
+        public final int status;
+        public final String body;
+        public final long latencyNanos;
+
+        Response(int status, String body, long latencyNanos) {
+            this.status = status;
+            this.body = body;
+            this.latencyNanos = latencyNanos;
+        }
+
+        public boolean isSuccessful() {
+            return status >= 200 && status < 400;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Records all latency values of run, percentiles are calculated once on report
+ */
+public class LatencyRecorder {
+    private final ReentrantLock lock = new ReentrantLock();
+    private long[] values = new long[1024];
+    private int count = 0;
+
+    public void record(long nanos) {
+        lock.lock();
+        try {
+            if (count == values.length) values = Arrays.copyOf(values, values.length * 2);
+            values[count++] = nanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getCount() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param percentile from 0 to 100
+     * @return latency in milliseconds or 0 if nothing is recorded
+     */
+    public double getPercentileMillis(double percentile) {
+        long[] sorted = sortedValues();
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return toMillis(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+    }
+
+    public double getMaxMillis() {
+        long[] sorted = sortedValues();
+        return sorted.length == 0 ? 0 : toMillis(sorted[sorted.length - 1]);
+    }
+
+    private long[] sortedValues() {
+        long[] result;
+        lock.lock();
+        try {
+            result = Arrays.copyOf(values, count);
+        } finally {
+            lock.unlock();
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
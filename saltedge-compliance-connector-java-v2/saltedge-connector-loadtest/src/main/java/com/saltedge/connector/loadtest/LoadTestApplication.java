@@ -0,0 +1,50 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.loadtest;
+
+import java.util.Map;
+
+/**
+ * Load test of connector with local stand-in of Salt Edge Compliance Solution.
+ * Works offline on one machine: start example with `loadtest` profile, then run this application.
+ *
+ * ./gradlew :example:bootRun -Ploadtest
+ * ./gradlew :saltedge-connector-loadtest:run -PloadTestArgs="--duration=60 --concurrency=16"
+ *
+ * @see LoadTestConfig
+ */
+public class LoadTestApplication {
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        MockPriora priora = new MockPriora(config.prioraPort);
+        priora.start();
+        try {
+            LoadTestRunner runner = new LoadTestRunner(config, new ConnectorApiClient(config.connectorUrl, config.prioraPrivateKeyPath), priora);
+            System.out.println("Authorizing " + config.tokensCount + " tokens...");
+            runner.authorize();
+            System.out.println("Running " + config.warmupSeconds + "s warmup and " + config.durationSeconds + "s test...");
+            Map<Scenario, ScenarioStats> stats = runner.run();
+            LoadTestReport.print(System.out, config, stats, priora);
+        } finally {
+            priora.stop();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Parameters of load test, parsed from `--name=value` arguments
+ */
+public class LoadTestConfig {
+    public String connectorUrl = "http://localhost:8080";
+    public int prioraPort = 8081;
+    public int durationSeconds = 60;
+    public int warmupSeconds = 10;
+    public int concurrency = 16;
+    public int tokensCount = 8;
+    public int callbackTimeoutSeconds = 30;
+    public String username = "username";
+    public String password = "secret";
+    public String prioraPrivateKeyPath = "build/loadtest-config/loadtest_priora_private.pem";
+    public Map<Scenario, Integer> mix = parseMix("accounts=40,transactions=30,funds_confirmations=15,tokens=10,payments=5");
+
+    public static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) throw new IllegalArgumentException("Invalid argument: " + arg);
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "connector_url": config.connectorUrl = value; break;
+                case "priora_port": config.prioraPort = Integer.parseInt(value); break;
+                case "duration": config.durationSeconds = Integer.parseInt(value); break;
+                case "warmup": config.warmupSeconds = Integer.parseInt(value); break;
+                case "concurrency": config.concurrency = Integer.parseInt(value); break;
+                case "tokens": config.tokensCount = Integer.parseInt(value); break;
+                case "callback_timeout": config.callbackTimeoutSeconds = Integer.parseInt(value); break;
+                case "username": config.username = value; break;
+                case "password": config.password = value; break;
+                case "priora_private_key": config.prioraPrivateKeyPath = value; break;
+                case "mix": config.mix = parseMix(value); break;
+                default: throw new IllegalArgumentException("Unknown argument: " + name);
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Parses weights of scenarios, e.g. `accounts=80,tokens=20`
+     */
+    static Map<Scenario, Integer> parseMix(String value) {
+        Map<Scenario, Integer> result = new EnumMap<>(Scenario.class);
+        for (String item : value.split(",")) {
+            String[] parts = item.trim().split("=");
+            if (parts.length != 2) throw new IllegalArgumentException("Invalid mix item: " + item);
+            int weight = Integer.parseInt(parts[1]);
+            if (weight > 0) result.put(Scenario.fromCode(parts[0]), weight);
+        }
+        if (result.isEmpty()) throw new IllegalArgumentException("Mix has no scenarios: " + value);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "connector_url=" + connectorUrl +
+                ", priora_port=" + prioraPort +
+                ", duration=" + durationSeconds + "s" +
+                ", warmup=" + warmupSeconds + "s" +
+                ", concurrency=" + concurrency +
+                ", tokens=" + tokensCount +
+                ", mix=" + mix;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.loadtest;
+
+import java.io.PrintStream;
+import java.util.Map;
+
+/**
+ * Prints throughput, latency percentiles and callbacks lag of scenarios
+ */
+public class LoadTestReport {
+    private static final String ROW_FORMAT = "%-20s %9s %7s %9s %9s %9s %9s %10s %10s %10s %8s%n";
+
+    public static void print(PrintStream out, LoadTestConfig config, Map<Scenario, ScenarioStats> stats, MockPriora priora) {
+        out.println();
+        out.println("Load test: " + config);
+        out.printf(ROW_FORMAT, "scenario", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms",
+                "cb p50 ms", "cb p99 ms", "cb fails", "cb lost");
+        long totalRequests = 0;
+        for (ScenarioStats item : stats.values()) {
+            totalRequests += item.getRequests();
+            boolean callbacks = item.scenario.completedByCallback;
+            out.printf(ROW_FORMAT,
+                    item.scenario.code,
+                    item.getRequests(),
+                    item.getErrors(),
+                    format(item.getRequests() / (double) config.durationSeconds),
+                    format(item.responseLatency.getPercentileMillis(50)),
+                    format(item.responseLatency.getPercentileMillis(99)),
+                    format(item.responseLatency.getMaxMillis()),
+                    callbacks ? format(item.callbackLag.getPercentileMillis(50)) : "-",
+                    callbacks ? format(item.callbackLag.getPercentileMillis(99)) : "-",
+                    callbacks ? String.valueOf(item.getFailCallbacks()) : "-",
+                    callbacks ? String.valueOf(item.getPendingCallbacks()) : "-"
+            );
+            if (!item.getErrorsByStatus().isEmpty()) out.println("    errors by status: " + item.getErrorsByStatus());
+        }
+        out.printf("total: %d requests, %s req/s, %d callbacks received (%d unexpected)%n",
+                totalRequests,
+                format(totalRequests / (double) config.durationSeconds),
+                priora.getReceivedCallbacks(),
+                priora.getUnexpectedCallbacks());
+    }
+
+    private static String format(double value) {
+        return String.format("%.1f", value);
+    }
+}
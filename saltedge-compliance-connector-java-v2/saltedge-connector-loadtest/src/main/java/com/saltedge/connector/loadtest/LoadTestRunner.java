@@ -0,0 +1,231 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saltedge.connector.sdk.api.models.Account;
+import com.saltedge.connector.sdk.api.models.Amount;
+import com.saltedge.connector.sdk.api.models.PaymentOrder;
+import com.saltedge.connector.sdk.api.models.ProviderConsents;
+import com.saltedge.connector.sdk.api.models.requests.CreatePaymentRequest;
+import com.saltedge.connector.sdk.api.models.requests.CreateTokenRequest;
+import com.saltedge.connector.sdk.api.models.requests.DefaultRequest;
+import com.saltedge.connector.sdk.api.models.requests.FundsConfirmationRequest;
+import com.saltedge.connector.sdk.api.models.requests.TransactionsRequest;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drives connector with weighted mix of scenarios from `concurrency` workers (closed loop, no think time).
+ * Access tokens are obtained before run by full authorization flow: create token, sign in of user, success callback.
+ */
+public class LoadTestRunner {
+    private static final String PROVIDER_CODE = "loadtest";
+    private static final String TPP_APP_NAME = "loadtest";
+    private static final String REDIRECT_URL = "http://localhost/loadtest/redirect";
+    private final LoadTestConfig config;
+    private final ConnectorApiClient client;
+    private final MockPriora priora;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<Scenario, ScenarioStats> stats = new EnumMap<>(Scenario.class);
+    private final List<UserAccess> accesses = new ArrayList<>();
+    private volatile long measureStartNanos;
+
+    public LoadTestRunner(LoadTestConfig config, ConnectorApiClient client, MockPriora priora) {
+        this.config = config;
+        this.client = client;
+        this.priora = priora;
+        for (Scenario scenario : config.mix.keySet()) stats.put(scenario, new ScenarioStats(scenario));
+    }
+
+    /**
+     * Creates and confirms access tokens used by accounts, transactions and funds confirmations scenarios
+     */
+    public void authorize() throws Exception {
+        for (int i = 0; i < config.tokensCount; i++) {
+            String sessionSecret = newSessionSecret();
+            CompletableFuture<MockPriora.Callback> redirect = priora.expectCallback(sessionSecret);
+            ConnectorApiClient.Response response = client.post("/tokens", createTokenRequest(sessionSecret), null);
+            if (!response.isSuccessful()) throw new IllegalStateException("Token is not created: " + response.status + " " + response.body);
+            awaitCallback(redirect, "update");
+
+            CompletableFuture<MockPriora.Callback> success = priora.expectCallback(sessionSecret);
+            response = client.submitCredentials(sessionSecret, config.username, config.password);
+            if (!response.isSuccessful()) throw new IllegalStateException("User is not authorized: " + response.status);
+            String accessToken = awaitCallback(success, "success").data.path("token").asText();
+
+            response = client.get("/accounts", new DefaultRequest(sessionSecret), accessToken);
+            if (!response.isSuccessful()) throw new IllegalStateException("Accounts are not fetched: " + response.status + " " + response.body);
+            JsonNode accounts = mapper.readTree(response.body).path("data");
+            if (accounts.size() == 0) throw new IllegalStateException("User has no accounts");
+            accesses.add(new UserAccess(accessToken, accounts.get(0).path("id").asText(), accounts.get(0).path("iban").asText()));
+        }
+    }
+
+    /**
+     * Runs warmup and measured period, then waits for callbacks of measured requests
+     *
+     * @return stats of measured period by scenario
+     */
+    public Map<Scenario, ScenarioStats> run() throws InterruptedException {
+        long startNanos = System.nanoTime();
+        measureStartNanos = startNanos + TimeUnit.SECONDS.toNanos(config.warmupSeconds);
+        long endNanos = measureStartNanos + TimeUnit.SECONDS.toNanos(config.durationSeconds);
+        Scenario[] weightedScenarios = createWeightedScenarios();
+        ExecutorService workers = Executors.newFixedThreadPool(config.concurrency);
+        for (int i = 0; i < config.concurrency; i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < endNanos) {
+                    Scenario scenario = weightedScenarios[ThreadLocalRandom.current().nextInt(weightedScenarios.length)];
+                    runScenario(scenario);
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(config.warmupSeconds + config.durationSeconds + 60, TimeUnit.SECONDS);
+        long callbacksDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.callbackTimeoutSeconds);
+        while (getPendingCallbacks() > 0 && System.nanoTime() < callbacksDeadline) Thread.sleep(50);
+        return stats;
+    }
+
+    private long getPendingCallbacks() {
+        return stats.values().stream().mapToLong(ScenarioStats::getPendingCallbacks).sum();
+    }
+
+    private void runScenario(Scenario scenario) {
+        UserAccess access = accesses.get(ThreadLocalRandom.current().nextInt(accesses.size()));
+        String sessionSecret = newSessionSecret();
+        CompletableFuture<MockPriora.Callback> callback = scenario.completedByCallback ? priora.expectCallback(sessionSecret) : null;
+        long startNanos = System.nanoTime();
+        ConnectorApiClient.Response response = send(scenario, access, sessionSecret);
+        boolean measured = startNanos >= measureStartNanos;
+        ScenarioStats scenarioStats = stats.get(scenario);
+        if (measured) scenarioStats.recordResponse(response.status, response.latencyNanos);
+        if (callback == null) return;
+        if (!response.isSuccessful()) {
+            priora.forgetCallback(sessionSecret);
+            return;
+        }
+        if (!measured) return;
+        scenarioStats.expectCallback();
+        callback.thenAccept(result -> scenarioStats.recordCallback(!result.isFail(), result.receivedAtNanos - startNanos));
+    }
+
+    private ConnectorApiClient.Response send(Scenario scenario, UserAccess access, String sessionSecret) {
+        switch (scenario) {
+            case TOKENS:
+                return client.post("/tokens", createTokenRequest(sessionSecret), null);
+            case ACCOUNTS:
+                return client.get("/accounts", new DefaultRequest(sessionSecret), access.accessToken);
+            case TRANSACTIONS:
+                LocalDate toDate = LocalDate.now();
+                return client.get(
+                        "/accounts/" + access.accountId + "/transactions",
+                        new TransactionsRequest(access.accountId, toDate.minusDays(90), toDate, sessionSecret),
+                        access.accessToken
+                );
+            case PAYMENTS:
+                return client.post("/payments", createPaymentRequest(sessionSecret, access), null);
+            case FUNDS_CONFIRMATIONS:
+                Account account = new Account();
+                account.setIban(access.iban);
+                return client.post("/funds_confirmations", new FundsConfirmationRequest(account, new Amount("1.00", "EUR")), access.accessToken);
+            default:
+                throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        }
+    }
+
+    private Scenario[] createWeightedScenarios() {
+        List<Scenario> result = new ArrayList<>();
+        config.mix.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) result.add(scenario);
+        });
+        return result.toArray(new Scenario[0]);
+    }
+
+    private MockPriora.Callback awaitCallback(CompletableFuture<MockPriora.Callback> future, String expectedAction) throws Exception {
+        try {
+            MockPriora.Callback callback = future.get(config.callbackTimeoutSeconds, TimeUnit.SECONDS);
+            if (!expectedAction.equals(callback.action)) {
+                throw new IllegalStateException("Unexpected callback: " + callback.action + " " + callback.data);
+            }
+            return callback;
+        } catch (TimeoutException e) {
+            throw new IOException("Callback `" + expectedAction + "` is not received in " + config.callbackTimeoutSeconds
+                    + "s, check that connector uses `loadtest` profile", e);
+        }
+    }
+
+    private static CreateTokenRequest createTokenRequest(String sessionSecret) {
+        CreateTokenRequest request = new CreateTokenRequest();
+        request.sessionSecret = sessionSecret;
+        request.providerCode = PROVIDER_CODE;
+        request.tppAppName = TPP_APP_NAME;
+        request.authorizationType = "oauth";
+        request.redirectUrl = REDIRECT_URL;
+        request.requestedConsent = new ProviderConsents(ProviderConsents.GLOBAL_CONSENT_VALUE);
+        return request;
+    }
+
+    private static CreatePaymentRequest createPaymentRequest(String sessionSecret, UserAccess access) {
+        Account creditor = new Account();
+        creditor.setIban("DE89370400440532013000");
+        Account debtor = new Account();
+        debtor.setIban(access.iban);
+        CreatePaymentRequest request = new CreatePaymentRequest(
+                TPP_APP_NAME,
+                PROVIDER_CODE,
+                REDIRECT_URL,
+                new PaymentOrder(creditor, "Load Test Creditor", debtor, new Amount("1.00", "EUR"), sessionSecret, "load test")
+        );
+        request.sessionSecret = sessionSecret;
+        return request;
+    }
+
+    private static String newSessionSecret() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    private static class UserAccess {
+        final String accessToken;
+        final String accountId;
+        final String iban;
+
+        UserAccess(String accessToken, String accountId, String iban) {
+            this.accessToken = accessToken;
+            this.accountId = accountId;
+            this.iban = iban;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saltedge.connector.sdk.SDKConstants;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in of Salt Edge Compliance Solution, which receives callbacks of connector
+ * (`/api/connectors/v2/sessions/{session_secret}/{update|success|fail}` and `/api/connectors/v2/tokens/revoke`).
+ * Signature of callbacks is not verified, payload of JWT is only decoded.
+ */
+public class MockPriora {
+    private static final String SESSIONS_PATH = SDKConstants.CALLBACK_BASE_PATH + "/sessions/";
+    private static final byte[] EMPTY_RESPONSE = "{}".getBytes(StandardCharsets.UTF_8);
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, CompletableFuture<Callback>> expectedCallbacks = new ConcurrentHashMap<>();
+    private final AtomicLong receivedCallbacks = new AtomicLong();
+    private final AtomicLong unexpectedCallbacks = new AtomicLong();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public MockPriora(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 128);
+        executor = Executors.newFixedThreadPool(16);
+        server.setExecutor(executor);
+        server.createContext(SDKConstants.CALLBACK_BASE_PATH, this::handleCallback);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Registers expectation of the next callback of session. Should be called before request to connector.
+     *
+     * @param sessionSecret of session
+     * @return future completed with the first received callback of session
+     */
+    public CompletableFuture<Callback> expectCallback(String sessionSecret) {
+        CompletableFuture<Callback> result = new CompletableFuture<>();
+        expectedCallbacks.put(sessionSecret, result);
+        return result;
+    }
+
+    public void forgetCallback(String sessionSecret) {
+        expectedCallbacks.remove(sessionSecret);
+    }
+
+    public long getReceivedCallbacks() {
+        return receivedCallbacks.get();
+    }
+
+    public long getUnexpectedCallbacks() {
+        return unexpectedCallbacks.get();
+    }
+
+    private void handleCallback(HttpExchange exchange) throws IOException {
+        long receivedAt = System.nanoTime();
+        try {
+            drain(exchange.getRequestBody());
+            receivedCallbacks.incrementAndGet();
+            String path = exchange.getRequestURI().getPath();
+            if (path.startsWith(SESSIONS_PATH)) {
+                String[] segments = path.substring(SESSIONS_PATH.length()).split("/");
+                String sessionSecret = segments[0];
+                String action = segments.length > 1 ? segments[1] : "";
+                CompletableFuture<Callback> expected = expectedCallbacks.remove(sessionSecret);
+                if (expected == null) unexpectedCallbacks.incrementAndGet();
+                else expected.complete(new Callback(action, readPayload(exchange), receivedAt));
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, EMPTY_RESPONSE.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(EMPTY_RESPONSE);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private JsonNode readPayload(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst(SDKConstants.HEADER_AUTHORIZATION);
+        if (authorization == null) return mapper.createObjectNode();
+        String[] parts = authorization.replace("Bearer ", "").split("\\.");
+        if (parts.length < 2) return mapper.createObjectNode();
+        try {
+            JsonNode claims = mapper.readTree(Base64.getUrlDecoder().decode(parts[1]));
+            return claims.path(SDKConstants.KEY_DATA);
+        } catch (IOException | IllegalArgumentException e) {
+            return mapper.createObjectNode();
+        }
+    }
+
+    private static void drain(InputStream stream) throws IOException {
+        byte[] buffer = new byte[1024];
+        while (stream.read(buffer) != -1) {
+            // request body is not used
+        }
+    }
+
+    /**
+     * Callback of connector received by MockPriora
+     */
+    public static class Callback {
+        public final String action;
+        public final JsonNode data;
+        public final long receivedAtNanos;
+
+        Callback(String action, JsonNode data, long receivedAtNanos) {
+            this.action = action;
+            this.data = data;
+            this.receivedAtNanos = receivedAtNanos;
+        }
+
+        public boolean isFail() {
+            return "fail".equals(action);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.loadtest;
+
+/**
+ * Connector API calls made by load test, as Salt Edge Compliance Solution makes them
+ */
+public enum Scenario {
+    TOKENS("tokens", true),
+    ACCOUNTS("accounts", false),
+    TRANSACTIONS("transactions", false),
+    PAYMENTS("payments", true),
+    FUNDS_CONFIRMATIONS("funds_confirmations", false);
+
+    public final String code;
+    /**
+     * Scenario is completed by callback of connector (session update with redirect url)
+     */
+    public final boolean completedByCallback;
+
+    Scenario(String code, boolean completedByCallback) {
+        this.code = code;
+        this.completedByCallback = completedByCallback;
+    }
+
+    public static Scenario fromCode(String code) {
+        for (Scenario scenario : values()) {
+            if (scenario.code.equals(code)) return scenario;
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + code);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Results of one scenario: latency of connector responses and lag of connector callbacks
+ */
+public class ScenarioStats {
+    public final Scenario scenario;
+    public final LatencyRecorder responseLatency = new LatencyRecorder();
+    public final LatencyRecorder callbackLag = new LatencyRecorder();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong failCallbacks = new AtomicLong();
+    private final AtomicLong pendingCallbacks = new AtomicLong();
+    private final Map<String, AtomicLong> errorsByStatus = new ConcurrentHashMap<>();
+
+    public ScenarioStats(Scenario scenario) {
+        this.scenario = scenario;
+    }
+
+    /**
+     * @param status HTTP status of response or 0 if request was not completed
+     * @param latencyNanos time from sending of request to reading of response
+     */
+    public void recordResponse(int status, long latencyNanos) {
+        responseLatency.record(latencyNanos);
+        if (status == 0 || status >= 400) {
+            errors.incrementAndGet();
+            errorsByStatus.computeIfAbsent(status == 0 ? "io_error" : String.valueOf(status), key -> new AtomicLong())
+                    .incrementAndGet();
+        }
+    }
+
+    public void expectCallback() {
+        pendingCallbacks.incrementAndGet();
+    }
+
+    /**
+     * @param success false for `fail` callback
+     * @param lagNanos time from sending of request to receiving of callback
+     */
+    public void recordCallback(boolean success, long lagNanos) {
+        pendingCallbacks.decrementAndGet();
+        callbackLag.record(lagNanos);
+        if (!success) failCallbacks.incrementAndGet();
+    }
+
+    public long getRequests() {
+        return responseLatency.getCount();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    public long getFailCallbacks() {
+        return failCallbacks.get();
+    }
+
+    /**
+     * @return count of expected callbacks which are not received yet
+     */
+    public long getPendingCallbacks() {
+        return pendingCallbacks.get();
+    }
+
+    public Map<String, Long> getErrorsByStatus() {
+        Map<String, Long> result = new TreeMap<>();
+        errorsByStatus.forEach((key, value) -> result.put(key, value.get()));
+        return result;
+    }
+}
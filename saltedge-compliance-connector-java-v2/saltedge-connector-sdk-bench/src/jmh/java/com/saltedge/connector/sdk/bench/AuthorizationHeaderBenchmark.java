@@ -0,0 +1,56 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.bench;
+
+import com.saltedge.connector.sdk.api.models.requests.TransactionsRequest;
+import com.saltedge.connector.sdk.tools.JsonTools;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.PrivateKey;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures creation of signed JWT Authorization header (RS256) used by callbacks to Salt Edge Compliance Solution.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuthorizationHeaderBenchmark {
+    private TransactionsRequest request;
+    private PrivateKey privateKey;
+
+    @Setup
+    public void setUp() {
+        request = new TransactionsRequest(
+                "account1",
+                LocalDate.parse("2020-01-01"),
+                LocalDate.parse("2020-03-31"),
+                "sessionSecret"
+        );
+        privateKey = BenchKeys.KEY_PAIR.getPrivate();
+    }
+
+    @Benchmark
+    public String createAuthorizationHeaderValue() {
+        return JsonTools.createAuthorizationHeaderValue(request, privateKey);
+    }
+}
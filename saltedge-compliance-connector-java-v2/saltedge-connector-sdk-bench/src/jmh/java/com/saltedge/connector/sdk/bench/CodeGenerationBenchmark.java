@@ -0,0 +1,58 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.bench;
+
+import com.saltedge.connector.sdk.tools.CodeBuilder;
+import com.saltedge.connector.sdk.tools.KeyTools;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generation of access tokens and authorization codes of token and payment sessions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CodeGenerationBenchmark {
+    private long timestamp = 1577836800000L;
+
+    @Benchmark
+    public String generateToken() {
+        return KeyTools.generateToken(32);
+    }
+
+    @Benchmark
+    public String generateAuthorizationCode() {
+        return CodeBuilder.generateAuthorizationCode("user1", "Account information", "Access to accounts", timestamp);
+    }
+
+    @Benchmark
+    public String generatePaymentAuthorizationCode() {
+        return CodeBuilder.generatePaymentAuthorizationCode(
+                "MD24AG000225100013104168",
+                "100.00 EUR",
+                timestamp,
+                "user1",
+                "Payment for order #1"
+        );
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.bench;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.saltedge.connector.sdk.api.models.ProviderConsents;
+import com.saltedge.connector.sdk.api.models.ProviderOfferedConsent;
+import com.saltedge.connector.sdk.tools.ConsentDataConverter;
+import com.saltedge.connector.sdk.tools.JsonTools;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures conversion of token consents to database column and back,
+ * in compact format and in JSON format of previous versions of SDK.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConsentDataConverterBenchmark {
+    @Param({"2", "50"})
+    public int accountsCount;
+
+    private ConsentDataConverter converter;
+    private ProviderConsents consents;
+    private String compactData;
+    private String legacyJsonData;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        converter = new ConsentDataConverter();
+        List<ProviderOfferedConsent> accounts = new ArrayList<>(accountsCount);
+        for (int i = 0; i < accountsCount; i++) {
+            accounts.add(ProviderOfferedConsent.createAccountConsent(String.format("MD24AG00022510001%07d", i)));
+        }
+        consents = new ProviderConsents(accounts, accounts);
+        compactData = converter.convertToDatabaseColumn(consents);
+        legacyJsonData = JsonTools.getDefaultMapper().writeValueAsString(consents);
+    }
+
+    @Benchmark
+    public String convertToDatabaseColumn() {
+        return converter.convertToDatabaseColumn(consents);
+    }
+
+    @Benchmark
+    public ProviderConsents convertCompactToEntityAttribute() {
+        return converter.convertToEntityAttribute(compactData);
+    }
+
+    @Benchmark
+    public ProviderConsents convertLegacyJsonToEntityAttribute() {
+        return converter.convertToEntityAttribute(legacyJsonData);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.bench;
+
+import com.saltedge.connector.sdk.SDKConstants;
+import com.saltedge.connector.sdk.api.interceptors.PrioraRequestResolver;
+import com.saltedge.connector.sdk.api.models.requests.TransactionsRequest;
+import com.saltedge.connector.sdk.config.ApplicationProperties;
+import com.saltedge.connector.sdk.config.PrioraProperties;
+import com.saltedge.connector.sdk.metrics.SdkMetrics;
+import com.saltedge.connector.sdk.tools.JsonTools;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures resolving of Connector API request: verification of JWT signature and mapping of payload to request model.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PrioraRequestResolverBenchmark {
+    private PrioraRequestResolver resolver;
+    private MethodParameter parameter;
+    private NativeWebRequest webRequest;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        PrioraProperties prioraProperties = new PrioraProperties();
+        prioraProperties.setPublicKey(BenchKeys.publicKeyPem());
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.setPriora(prioraProperties);
+        resolver = new PrioraRequestResolver();
+        ReflectionTestUtils.setField(resolver, "applicationProperties", applicationProperties);
+        ReflectionTestUtils.setField(resolver, "sdkMetrics", new SdkMetrics());
+        parameter = new MethodParameter(
+                PrioraRequestResolverBenchmark.class.getDeclaredMethod("transactions", TransactionsRequest.class),
+                0
+        );
+    }
+
+    /**
+     * Header is signed for each iteration, because it expires in 1 minute
+     */
+    @Setup(Level.Iteration)
+    public void signRequest() {
+        TransactionsRequest request = new TransactionsRequest(
+                "account1",
+                LocalDate.parse("2020-01-01"),
+                LocalDate.parse("2020-03-31"),
+                "sessionSecret"
+        );
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+        servletRequest.addHeader(
+                SDKConstants.HEADER_AUTHORIZATION,
+                JsonTools.createAuthorizationHeaderValue(request, BenchKeys.KEY_PAIR.getPrivate())
+        );
+        webRequest = new ServletWebRequest(servletRequest);
+    }
+
+    @Benchmark
+    public Object resolveArgument() {
+        return resolver.resolveArgument(parameter, null, webRequest, null);
+    }
+
+    @SuppressWarnings("unused")
+    private void transactions(TransactionsRequest request) {
+    }
+}
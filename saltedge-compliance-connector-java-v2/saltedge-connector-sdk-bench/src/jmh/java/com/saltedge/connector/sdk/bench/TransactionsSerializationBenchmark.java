@@ -0,0 +1,97 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.bench;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.saltedge.connector.sdk.api.models.Transaction;
+import com.saltedge.connector.sdk.api.models.TransactionExtra;
+import com.saltedge.connector.sdk.api.models.TransactionRemittanceInformation;
+import com.saltedge.connector.sdk.api.models.responses.TransactionsResponse;
+import com.saltedge.connector.sdk.tools.JsonTools;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares serialization of 10k rows TransactionsResponse
+ * by reflection based mapper (as Spring MVC mapper) and by shared SDK mapper with cached writer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TransactionsSerializationBenchmark {
+    @Param({"10000"})
+    public int rowsCount;
+
+    private TransactionsResponse response;
+    private ObjectMapper reflectionMapper;
+    private ObjectWriter sdkWriter;
+
+    @Setup
+    public void setUp() {
+        response = new TransactionsResponse(createTransactions(rowsCount));
+        reflectionMapper = new ObjectMapper();
+        reflectionMapper.registerModule(new JavaTimeModule());
+        reflectionMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        sdkWriter = JsonTools.getDefaultMapper().writerFor(TransactionsResponse.class);
+    }
+
+    @Benchmark
+    public byte[] reflectionMapper() throws JsonProcessingException {
+        return reflectionMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] sdkMapper() throws JsonProcessingException {
+        return sdkWriter.writeValueAsBytes(response);
+    }
+
+    static List<Transaction> createTransactions(int count) {
+        List<Transaction> result = new ArrayList<>(count);
+        LocalDate date = LocalDate.parse("2020-01-01");
+        for (int i = 0; i < count; i++) {
+            Transaction transaction = new Transaction(
+                    "transaction" + i,
+                    String.format("%d.%02d", i, i % 100),
+                    "EUR",
+                    "booked",
+                    date.plusDays(i % 365)
+            );
+            transaction.setBookingDate(date.plusDays(i % 365));
+            TransactionRemittanceInformation remittanceInformation = new TransactionRemittanceInformation();
+            remittanceInformation.unstructured = "Payment for order #" + i;
+            transaction.setRemittanceInformation(remittanceInformation);
+            TransactionExtra extra = new TransactionExtra();
+            extra.entryReference = "ref" + i;
+            extra.bankTransactionCode = "PMNT-RCDT-ESCT";
+            transaction.setExtra(extra);
+            result.add(transaction);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk;
+
+import com.saltedge.connector.sdk.api.controllers.AccountsV2Controller;
+import com.saltedge.connector.sdk.api.interceptors.TokenResolver;
+import com.saltedge.connector.sdk.api.models.err.ApiExceptionsHandler;
+import com.saltedge.connector.sdk.api.services.AccountsService;
+import com.saltedge.connector.sdk.callback.services.SessionsCallbackService;
+import com.saltedge.connector.sdk.config.ApplicationProperties;
+import com.saltedge.connector.sdk.metrics.SdkMetrics;
+import com.saltedge.connector.sdk.models.Token;
+import com.saltedge.connector.sdk.provider.ConnectorSDKCallbackService;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Configuration of Connector SDK for import in Application class:
+ * <pre>
+ * &#64;SpringBootApplication
+ * &#64;Import(ConnectorSdkConfiguration.class)
+ * &#64;EnableJpaRepositories(basePackages = "com.bank.application")
+ * &#64;EntityScan(basePackages = "com.bank.application")
+ * public class Application { ... }
+ * </pre>
+ * Scans only packages which contain SDK components, repositories and entities
+ * (api models, callback mapping and tools are not scanned), so application does not have to scan whole SDK package.
+ * SDK declares its own `@EntityScan` and `@EnableJpaRepositories`, which switch off default scanning of Spring Boot,
+ * so application has to declare them for its own packages (without SDK package).
+ *
+ * Class is not a `@Configuration`, so applications which still scan whole SDK package do not register it twice.
+ */
+@ComponentScan(basePackageClasses = {
+        AccountsV2Controller.class,
+        TokenResolver.class,
+        ApiExceptionsHandler.class,
+        AccountsService.class,
+        SessionsCallbackService.class,
+        ApplicationProperties.class,
+        SdkMetrics.class,
+        Token.class,
+        ConnectorSDKCallbackService.class
+})
+@EnableJpaRepositories(basePackageClasses = Token.class)
+@EntityScan(basePackageClasses = Token.class)
+public class ConnectorSdkConfiguration {
+}
@@ -25,10 +25,12 @@ import com.saltedge.connector.sdk.api.models.responses.AccountsResponse;
 import com.saltedge.connector.sdk.api.models.requests.DefaultRequest;
 import com.saltedge.connector.sdk.api.models.requests.TransactionsRequest;
 import com.saltedge.connector.sdk.api.models.responses.TransactionsResponse;
+import com.saltedge.connector.sdk.api.services.AccountsService;
+import com.saltedge.connector.sdk.api.services.TransactionsService;
 import com.saltedge.connector.sdk.models.Token;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpStatus;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -50,17 +52,24 @@ import javax.validation.constraints.NotNull;
 public class AccountsV2Controller extends BaseV2Controller {
     public final static String BASE_PATH = SDKConstants.API_BASE_PATH + "/accounts";
     private static Logger log = LoggerFactory.getLogger(AccountsV2Controller.class);
+    @Autowired
+    AccountsService accountsService;
+    @Autowired
+    TransactionsService transactionsService;
 
     /**
      * Fetch list of accounts belonging to a Customer (User) and all relevant information about them being Berlin Group compatible.
+     * Returns only accounts allowed by consents of token.
      *
      * @param token linked to Access-Token header
      * @param request request with sessionSecret
      * @return list of Account Data
      */
     @GetMapping
-    public ResponseEntity<AccountsResponse> accounts(@NotNull Token token, @Valid DefaultRequest request) {
-        return new ResponseEntity<>(new AccountsResponse(providerService.getAccountsOfUser(token.userId)), HttpStatus.OK);
+    public ResponseEntity<?> accounts(@NotNull Token token, @Valid DefaultRequest request) {
+        return createConditionalResponse(token, true, () -> new AccountsResponse(
+                token.getConsentIndex().filterAccounts(accountsService.getAccountsOfUser(token.userId))
+        ));
     }
 
     /**
@@ -72,13 +81,16 @@ public class AccountsV2Controller extends BaseV2Controller {
      * @return list of transactions data.
      */
     @GetMapping(path = "/{" + SDKConstants.KEY_ACCOUNT_ID + "}/transactions")
-    public ResponseEntity<TransactionsResponse> transactionsOfAccount(
+    public ResponseEntity<?> transactionsOfAccount(
             @NotNull Token token,
             @NotEmpty @PathVariable(name = SDKConstants.KEY_ACCOUNT_ID) String accountId,
             @Valid TransactionsRequest request
     ) {
-        return new ResponseEntity<>(new TransactionsResponse(
-                providerService.getTransactionsOfAccount(token.userId, accountId, request.fromDate, request.toDate)
-        ), HttpStatus.OK);
+        return createConditionalResponse(
+                token,
+                !transactionsService.isIncrementalSyncEnabled(),
+                () -> new TransactionsResponse(transactionsService.getTransactionsOfAccount(token, accountId, request.fromDate, request.toDate)),
+                accountId, request.fromDate, request.toDate
+        );
     }
 }
@@ -21,12 +21,24 @@
 package com.saltedge.connector.sdk.api.controllers;
 
 import com.saltedge.connector.sdk.api.models.EmptyJsonModel;
+import com.saltedge.connector.sdk.models.Token;
 import com.saltedge.connector.sdk.provider.ProviderServiceAbs;
+import com.saltedge.connector.sdk.tools.ETagTools;
+import com.saltedge.connector.sdk.tools.JsonTools;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.Supplier;
 
 /**
  * Base Connector v2 controller
@@ -40,4 +52,50 @@ abstract class BaseV2Controller {
     public ResponseEntity<EmptyJsonModel> createEmptyOkResponseEntity() {
         return new ResponseEntity<>(new EmptyJsonModel(), HttpStatus.OK);
     }
+
+    /**
+     * Creates response with ETag header or empty `304 Not Modified` response if If-None-Match header matches ETag.
+     * If provider supplies version of user data, ETag is calculated from version and request params,
+     * so unchanged data is not fetched and not serialized. Otherwise ETag is a hash of JSON body,
+     * which is serialized directly into digest (without buffering of serialized bytes),
+     * and body is written by message converter of SDK models.
+     *
+     * @param token linked to Access-Token header
+     * @param useDataVersion false if response depends on previous requests and can not be versioned by user data
+     * @param bodySupplier fetches response body
+     * @param requestParams which define content of response
+     * @return response entity with body object
+     */
+    ResponseEntity<?> createConditionalResponse(
+            @NotNull Token token,
+            boolean useDataVersion,
+            @NotNull Supplier<?> bodySupplier,
+            Object... requestParams
+    ) {
+        HttpServletRequest request = getCurrentRequest();
+        if (request == null) return new ResponseEntity<>(bodySupplier.get(), HttpStatus.OK);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+
+        String version = useDataVersion ? providerService.getUserDataVersion(token.userId) : null;
+        if (version != null) {
+            String eTag = ETagTools.createETag(version, token.id, token.userId, request.getRequestURI(), Arrays.asList(requestParams));
+            if (ETagTools.matches(ifNoneMatch, eTag)) return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            return ResponseEntity.ok().eTag(eTag).body(bodySupplier.get());
+        }
+
+        Object body = bodySupplier.get();
+        String eTag;
+        try {
+            eTag = ETagTools.createETagOfJson(JsonTools.getDefaultMapper(), body);
+        } catch (IOException e) {
+            return new ResponseEntity<>(body, HttpStatus.OK);
+        }
+        if (ETagTools.matches(ifNoneMatch, eTag)) return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        return ResponseEntity.ok().eTag(eTag).body(body);
+    }
+
+    private HttpServletRequest getCurrentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes ? ((ServletRequestAttributes) attributes).getRequest() : null;
+    }
 }
@@ -25,10 +25,12 @@ import com.saltedge.connector.sdk.api.models.requests.DefaultRequest;
 import com.saltedge.connector.sdk.api.models.requests.TransactionsRequest;
 import com.saltedge.connector.sdk.api.models.responses.CardAccountsResponse;
 import com.saltedge.connector.sdk.api.models.responses.CardTransactionsResponse;
+import com.saltedge.connector.sdk.api.services.AccountsService;
+import com.saltedge.connector.sdk.api.services.TransactionsService;
 import com.saltedge.connector.sdk.models.Token;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpStatus;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -52,17 +54,24 @@ import javax.validation.constraints.NotNull;
 public class CardAccountsV2Controller extends BaseV2Controller {
     public final static String BASE_PATH = SDKConstants.API_BASE_PATH + "/card_accounts";
     private static Logger log = LoggerFactory.getLogger(CardAccountsV2Controller.class);
+    @Autowired
+    AccountsService accountsService;
+    @Autowired
+    TransactionsService transactionsService;
 
     /**
      * Fetch list of card accounts belonging to a PSU (Bank Customer) and all relevant information about them.
+     * Returns only card accounts allowed by consents of token.
      *
      * @param token linked to Access-Token header
      * @param request request with sessionSecret
      * @return list of Card Account Data
      */
     @GetMapping
-    public ResponseEntity<CardAccountsResponse> cardAccounts(@NotNull Token token, @Valid DefaultRequest request) {
-        return new ResponseEntity<>(new CardAccountsResponse(providerService.getCardAccountsOfUser(token.userId)), HttpStatus.OK);
+    public ResponseEntity<?> cardAccounts(@NotNull Token token, @Valid DefaultRequest request) {
+        return createConditionalResponse(token, true, () -> new CardAccountsResponse(
+                token.getConsentIndex().filterCardAccounts(accountsService.getCardAccountsOfUser(token.userId))
+        ));
     }
 
     /**
@@ -74,13 +83,16 @@ public class CardAccountsV2Controller extends BaseV2Controller {
      * @return list of Card Transactions data.
      */
     @GetMapping(path = "/{" + SDKConstants.KEY_ACCOUNT_ID + "}/transactions")
-    public ResponseEntity<CardTransactionsResponse> transactionsOfCardAccount(
+    public ResponseEntity<?> transactionsOfCardAccount(
             @NotNull Token token,
             @NotEmpty @PathVariable(name = SDKConstants.KEY_ACCOUNT_ID) String accountId,
             @Valid TransactionsRequest request
     ) {
-        return new ResponseEntity<>(new CardTransactionsResponse(
-                providerService.getTransactionsOfCardAccount(token.userId, accountId, request.fromDate, request.toDate)
-        ), HttpStatus.OK);
+        return createConditionalResponse(
+                token,
+                !transactionsService.isIncrementalSyncEnabled(),
+                () -> new CardTransactionsResponse(transactionsService.getTransactionsOfCardAccount(token, accountId, request.fromDate, request.toDate)),
+                accountId, request.fromDate, request.toDate
+        );
     }
 }
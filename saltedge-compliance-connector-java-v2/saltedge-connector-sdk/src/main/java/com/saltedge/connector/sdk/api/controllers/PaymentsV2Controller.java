@@ -21,12 +21,15 @@
 package com.saltedge.connector.sdk.api.controllers;
 
 import com.saltedge.connector.sdk.SDKConstants;
+import com.saltedge.connector.sdk.api.models.err.ServiceUnavailable;
 import com.saltedge.connector.sdk.api.models.requests.CreatePaymentRequest;
 import com.saltedge.connector.sdk.api.models.EmptyJsonModel;
 import com.saltedge.connector.sdk.api.services.PaymentsService;
+import com.saltedge.connector.sdk.callback.services.SessionsCallbackService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -48,17 +51,25 @@ public class PaymentsV2Controller extends BaseV2Controller {
     private static Logger log = LoggerFactory.getLogger(PaymentsV2Controller.class);
     @Autowired
     PaymentsService paymentsService;
+    @Autowired
+    SessionsCallbackService callbackService;
 
     /**
      * Create a payment.
      * As a result, Connector will send a success, update or fail callback to Salt Edge PSD2 Compliance with result of the operation.
+     * If executor of payment flows is overloaded, fail callback is sent.
      *
      * @param request for token creation
      * @return empty JSON object
      */
     @PostMapping
     public ResponseEntity<EmptyJsonModel> create(@Valid CreatePaymentRequest request) {
-        paymentsService.createPayment(request);
+        try {
+            paymentsService.createPayment(request);
+        } catch (TaskRejectedException e) {
+            log.error("PaymentsV2Controller.create: payment flow is rejected by executor");
+            callbackService.sendFailCallback(request.sessionSecret, new ServiceUnavailable.ExecutorOverloaded());
+        }
         return super.createEmptyOkResponseEntity();
     }
 }
@@ -20,16 +20,19 @@
  */
 package com.saltedge.connector.sdk.api.controllers;
 
+import com.saltedge.connector.sdk.api.models.err.ServiceUnavailable;
 import com.saltedge.connector.sdk.api.models.requests.CreateTokenRequest;
 import com.saltedge.connector.sdk.api.models.EmptyJsonModel;
 import com.saltedge.connector.sdk.api.models.requests.RevokeTokenRequest;
 import com.saltedge.connector.sdk.api.services.tokens.CreateTokenService;
 import com.saltedge.connector.sdk.api.services.tokens.RevokeTokenService;
 import com.saltedge.connector.sdk.SDKConstants;
+import com.saltedge.connector.sdk.callback.services.SessionsCallbackService;
 import com.saltedge.connector.sdk.models.Token;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -54,18 +57,26 @@ public class TokensV2Controller extends BaseV2Controller {
     CreateTokenService createTokenService;
     @Autowired
     RevokeTokenService revokeService;
+    @Autowired
+    SessionsCallbackService callbackService;
 
     /**
      * Create an access token with a set of access rights, named scopes.
      * As a result, Connector will send an update or fail callback to Salt Edge PSD2 Compliance with result of the operation,
      * be it success, fail or request for additional steps.
+     * If executor of token flows is overloaded, fail callback is sent.
      *
      * @param request for token creation
      * @return empty JSON object
      */
     @PostMapping
     public ResponseEntity<EmptyJsonModel> create(@Valid CreateTokenRequest request) {
-        createTokenService.startAuthorization(request);
+        try {
+            createTokenService.startAuthorization(request);
+        } catch (TaskRejectedException e) {
+            log.error("TokensV2Controller.create: token flow is rejected by executor");
+            callbackService.sendFailCallback(request.sessionSecret, new ServiceUnavailable.ExecutorOverloaded());
+        }
         return super.createEmptyOkResponseEntity();
     }
 
@@ -75,10 +86,15 @@ public class TokensV2Controller extends BaseV2Controller {
      * @param token linked to Access-Token header
      * @param request with sessionSecret
      * @return empty JSON object
+     * @throws ServiceUnavailable.ExecutorOverloaded if executor of token flows is overloaded
      */
     @PatchMapping("/revoke")
     public ResponseEntity<EmptyJsonModel> revoke(Token token, @Valid RevokeTokenRequest request) {
-        revokeService.revokeTokenAsync(token);
+        try {
+            revokeService.revokeTokenAsync(token);
+        } catch (TaskRejectedException e) {
+            throw new ServiceUnavailable.ExecutorOverloaded();
+        }
         return super.createEmptyOkResponseEntity();
     }
 }
@@ -0,0 +1,118 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.api.interceptors;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.saltedge.connector.sdk.api.controllers.PaymentsV2Controller;
+import com.saltedge.connector.sdk.api.controllers.TokensV2Controller;
+import com.saltedge.connector.sdk.api.models.err.HttpErrorParams;
+import com.saltedge.connector.sdk.api.models.err.ServiceUnavailable;
+import com.saltedge.connector.sdk.api.models.responses.ErrorResponse;
+import com.saltedge.connector.sdk.config.AdmissionProperties;
+import com.saltedge.connector.sdk.metrics.SdkMetrics;
+import com.saltedge.connector.sdk.tools.AimdLimiter;
+import com.saltedge.connector.sdk.tools.JsonTools;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Rejects Connector API requests above adaptive concurrency limit with `503 Service Unavailable` and `Retry-After` header,
+ * before request is parsed and authorized. Body of rejection response is serialized once.
+ * Token and payment requests (sessions lane) and other requests (reads lane) have separate limits.
+ *
+ * @see AdmissionProperties
+ * @see AimdLimiter
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    public final static String LANE_READS = "reads";
+    public final static String LANE_SESSIONS = "sessions";
+    private final AimdLimiter readsLimiter;
+    private final AimdLimiter sessionsLimiter;
+    private final String retryAfter;
+    private final byte[] rejectionBody;
+    private final SdkMetrics sdkMetrics;
+
+    public AdmissionControlFilter(AdmissionProperties properties, SdkMetrics sdkMetrics) {
+        this.readsLimiter = new AimdLimiter(properties.getReads());
+        this.sessionsLimiter = new AimdLimiter(properties.getSessions());
+        this.retryAfter = String.valueOf(properties.getRetryAfterSeconds());
+        this.rejectionBody = createRejectionBody();
+        this.sdkMetrics = sdkMetrics;
+        sdkMetrics.registerAdmissionLane(LANE_READS, readsLimiter);
+        sdkMetrics.registerAdmissionLane(LANE_SESSIONS, sessionsLimiter);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        String lane = selectLane(request.getRequestURI().substring(request.getContextPath().length()));
+        AimdLimiter limiter = getLimiter(lane);
+        if (!limiter.tryAcquire()) {
+            sdkMetrics.recordAdmissionRejected(lane);
+            reject(response);
+            return;
+        }
+        long startTime = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            limiter.release(System.nanoTime() - startTime, failed);
+        }
+    }
+
+    AimdLimiter getLimiter(String lane) {
+        return LANE_SESSIONS.equals(lane) ? sessionsLimiter : readsLimiter;
+    }
+
+    static String selectLane(String path) {
+        boolean isSessionPath = path.startsWith(TokensV2Controller.BASE_PATH) || path.startsWith(PaymentsV2Controller.BASE_PATH);
+        return isSessionPath ? LANE_SESSIONS : LANE_READS;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(rejectionBody.length);
+        response.getOutputStream().write(rejectionBody);
+    }
+
+    private static byte[] createRejectionBody() {
+        try {
+            return JsonTools.getDefaultMapper().writeValueAsBytes(new ErrorResponse((HttpErrorParams) new ServiceUnavailable.ConnectorOverloaded()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.api.interceptors;
+
+import com.saltedge.connector.sdk.metrics.CorrelationId;
+import com.saltedge.connector.sdk.metrics.SdkMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Records duration of Connector API requests, tagged by endpoint, status, TPP name and error class.
+ * TPP name and error class are passed as request attributes by TokenResolver and ApiExceptionsHandler.
+ * Removes correlation id of request from MDC of request thread on completion of request.
+ *
+ * @see SdkMetrics#API_REQUESTS
+ */
+@Component
+public class ApiMetricsInterceptor implements HandlerInterceptor {
+    public final static String ATTRIBUTE_TPP_NAME = ApiMetricsInterceptor.class.getName() + ".tppName";
+    public final static String ATTRIBUTE_ERROR_CLASS = ApiMetricsInterceptor.class.getName() + ".errorClass";
+    private final static String ATTRIBUTE_START_TIME = ApiMetricsInterceptor.class.getName() + ".startTime";
+    @Autowired
+    SdkMetrics sdkMetrics;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (sdkMetrics.isEnabled()) request.setAttribute(ATTRIBUTE_START_TIME, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        CorrelationId.removeFromMdc();
+        Object startTime = request.getAttribute(ATTRIBUTE_START_TIME);
+        if (!(startTime instanceof Long)) return;
+        Object errorClass = request.getAttribute(ATTRIBUTE_ERROR_CLASS);
+        if (errorClass == null && ex != null) errorClass = ex.getClass().getSimpleName();
+        Object tppName = request.getAttribute(ATTRIBUTE_TPP_NAME);
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        sdkMetrics.recordApiRequest(
+                uri == null ? null : uri.toString(),
+                request.getMethod(),
+                response.getStatus(),
+                tppName == null ? null : tppName.toString(),
+                errorClass == null ? null : errorClass.toString(),
+                (Long) startTime
+        );
+    }
+}
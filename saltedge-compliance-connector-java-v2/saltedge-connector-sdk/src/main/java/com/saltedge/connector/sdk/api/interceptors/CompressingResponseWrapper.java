@@ -0,0 +1,324 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.api.interceptors;
+
+import com.saltedge.connector.sdk.tools.DeflaterPool;
+import org.springframework.http.HttpHeaders;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Response wrapper which buffers body until threshold is reached
+ * and after that compresses body with pooled deflater while it is written.
+ * Body written asynchronously or by non-blocking writer (WriteListener) is passed to response as is.
+ */
+class CompressingResponseWrapper extends HttpServletResponseWrapper {
+    private final static byte[] GZIP_HEADER = new byte[]{0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private final String encoding;
+    private final int minResponseSize;
+    private final DeflaterPool deflaterPool;
+    private final boolean gzip;
+    private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private CompressingOutputStream compressingStream;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private boolean finished = false;
+    private boolean passThrough = false;
+
+    CompressingResponseWrapper(HttpServletResponse response, String encoding, int minResponseSize, DeflaterPool deflaterPool) {
+        super(response);
+        this.encoding = encoding;
+        this.minResponseSize = minResponseSize;
+        this.deflaterPool = deflaterPool;
+        this.gzip = ResponseCompressionFilter.ENCODING_GZIP.equals(encoding);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) throw new IllegalStateException("getWriter() has already been called");
+        if (outputStream == null) outputStream = new WrapperOutputStream();
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws UnsupportedEncodingException {
+        if (outputStream != null && writer == null) throw new IllegalStateException("getOutputStream() has already been called");
+        if (writer == null) {
+            outputStream = new WrapperOutputStream();
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        if (passThrough) super.setContentLength(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (passThrough) super.setContentLengthLong(len);
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (passThrough || !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) super.setHeader(name, value);
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (passThrough || !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) super.addHeader(name, value);
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (passThrough || !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) super.setIntHeader(name, value);
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if (passThrough || !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) super.addIntHeader(name, value);
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) writer.flush();
+        if (compressingStream != null) {
+            compressingStream.flush();
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (compressingStream != null) throw new IllegalStateException("Response is already committed");
+        if (buffer != null) buffer.reset();
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        resetBuffer();
+        super.reset();
+    }
+
+    /**
+     * Writes buffered body as is or finishes compression
+     */
+    void finish() throws IOException {
+        if (finished) return;
+        finished = true;
+        if (writer != null) writer.flush();
+        if (passThrough) return;
+        if (compressingStream != null) {
+            compressingStream.finish();
+        } else if (buffer.size() > 0) {
+            getResponse().setContentLength(buffer.size());
+            buffer.writeTo(getResponse().getOutputStream());
+        }
+        buffer = null;
+    }
+
+    /**
+     * Releases resources if request processing is failed
+     */
+    void abort() {
+        if (finished) return;
+        finished = true;
+        if (compressingStream != null) compressingStream.releaseDeflater();
+        buffer = null;
+    }
+
+    /**
+     * Called if request processing is continued asynchronously after filter chain is completed.
+     * Started compression is finished on completion of async processing, otherwise body is passed as is.
+     *
+     * @param asyncContext of request
+     */
+    void onAsyncStarted(AsyncContext asyncContext) throws IOException {
+        if (compressingStream == null) {
+            startPassThrough();
+            return;
+        }
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) throws IOException {
+                finish();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                abort();
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+                event.getAsyncContext().addListener(this);
+            }
+        });
+    }
+
+    /**
+     * Writes buffered body as is and passes next writes directly to response
+     */
+    private void startPassThrough() throws IOException {
+        if (passThrough) return;
+        if (compressingStream != null) throw new IllegalStateException("Compression of response is already started");
+        passThrough = true;
+        if (buffer.size() > 0) buffer.writeTo(getResponse().getOutputStream());
+        buffer = null;
+    }
+
+    private void write(byte[] bytes, int offset, int length) throws IOException {
+        if (passThrough) {
+            getResponse().getOutputStream().write(bytes, offset, length);
+        } else if (finished) {
+            throw new IOException("Response is finished");
+        } else if (compressingStream != null) {
+            compressingStream.write(bytes, offset, length);
+        } else {
+            buffer.write(bytes, offset, length);
+            if (buffer.size() > minResponseSize && canBeCompressed()) startCompression();
+        }
+    }
+
+    private boolean canBeCompressed() {
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        int status = response.getStatus();
+        return !response.isCommitted()
+                && status != HttpServletResponse.SC_NO_CONTENT
+                && status != HttpServletResponse.SC_NOT_MODIFIED
+                && response.getHeader(HttpHeaders.CONTENT_ENCODING) == null;
+    }
+
+    private void startCompression() throws IOException {
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        compressingStream = new CompressingOutputStream(response.getOutputStream());
+        buffer.writeTo(compressingStream);
+        buffer.reset();
+    }
+
+    private class WrapperOutputStream extends ServletOutputStream {
+        @Override
+        public void write(int b) throws IOException {
+            CompressingResponseWrapper.this.write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            CompressingResponseWrapper.this.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (passThrough) getResponse().getOutputStream().flush();
+            else if (compressingStream != null) compressingStream.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (passThrough) getResponse().getOutputStream().close();
+            else finish();
+        }
+
+        @Override
+        public boolean isReady() {
+            if (!passThrough) return true;
+            try {
+                return getResponse().getOutputStream().isReady();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Non-blocking writer can not be served by blocking compression, so body is passed as is
+         */
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            try {
+                startPassThrough();
+                getResponse().getOutputStream().setWriteListener(writeListener);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Deflate stream with pooled deflater, which writes gzip header and trailer if gzip encoding is used
+     */
+    private class CompressingOutputStream extends DeflaterOutputStream {
+        private final CRC32 crc = new CRC32();
+
+        CompressingOutputStream(OutputStream out) throws IOException {
+            super(out, deflaterPool.borrow(gzip), 8192);
+            if (gzip) out.write(GZIP_HEADER);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            super.write(bytes, offset, length);
+            if (gzip) crc.update(bytes, offset, length);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            try {
+                super.finish();
+                if (gzip) {
+                    writeIntLE((int) crc.getValue());
+                    writeIntLE((int) def.getBytesRead());
+                }
+                out.flush();
+            } finally {
+                releaseDeflater();
+            }
+        }
+
+        void releaseDeflater() {
+            deflaterPool.release(def, gzip);
+        }
+
+        private void writeIntLE(int value) throws IOException {
+            out.write(value & 0xff);
+            out.write((value >> 8) & 0xff);
+            out.write((value >> 16) & 0xff);
+            out.write((value >> 24) & 0xff);
+        }
+    }
+}
@@ -26,6 +26,9 @@ import com.saltedge.connector.sdk.api.models.EmptyJsonModel;
 import com.saltedge.connector.sdk.api.models.err.BadRequest;
 import com.saltedge.connector.sdk.api.models.requests.*;
 import com.saltedge.connector.sdk.config.ApplicationProperties;
+import com.saltedge.connector.sdk.metrics.CorrelationId;
+import com.saltedge.connector.sdk.metrics.FlightRecorderEvents;
+import com.saltedge.connector.sdk.metrics.SdkMetrics;
 import com.saltedge.connector.sdk.tools.JsonTools;
 import io.jsonwebtoken.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -45,7 +48,9 @@ import java.util.Map;
 public class PrioraRequestResolver implements HandlerMethodArgumentResolver {
     @Autowired
     ApplicationProperties applicationProperties;
-    private ObjectMapper mapper = JsonTools.createDefaultMapper();
+    @Autowired
+    SdkMetrics sdkMetrics;
+    private ObjectMapper mapper = JsonTools.getDefaultMapper();
 
     @Override
     public boolean supportsParameter(MethodParameter parameter) {//TODO TRY TO USE ONLY PARENT CLASS
@@ -68,15 +73,22 @@ public class PrioraRequestResolver implements HandlerMethodArgumentResolver {
             WebDataBinderFactory binderFactory
     ) {
         String authorization = webRequest.getHeader(SDKConstants.HEADER_AUTHORIZATION);
-        return parsePayloadAndValidate(authorization, parameter.getParameterType());
+        Object result = parsePayloadAndValidate(authorization, parameter.getParameterType());
+        if (result instanceof PrioraBaseRequest && ((PrioraBaseRequest) result).sessionSecret != null) {
+            webRequest.setAttribute(
+                    FlightRecorderEvents.ATTRIBUTE_SESSION_SECRET,
+                    ((PrioraBaseRequest) result).sessionSecret,
+                    NativeWebRequest.SCOPE_REQUEST
+            );
+            CorrelationId.putToMdc(((PrioraBaseRequest) result).sessionSecret);
+        }
+        return result;
     }
 
     private <T> T parsePayloadAndValidate(String authorization, Class<T> clazz) throws BadRequest.JWTExpiredSignature, BadRequest.JWTDecodeError {
         try {
             String bearerToken = authorization.replace("Bearer ", "");
-            Jws<Claims> claims = Jwts.parser()
-                    .setSigningKey(applicationProperties.getPrioraPublicKey())
-                    .parseClaimsJws(bearerToken);
+            Jws<Claims> claims = verifyJwt(bearerToken);
             return mapper.convertValue(claims.getBody().get(SDKConstants.KEY_DATA, Map.class), clazz);
         } catch (ExpiredJwtException e) {
             throw new BadRequest.JWTExpiredSignature();
@@ -87,4 +99,21 @@ public class PrioraRequestResolver implements HandlerMethodArgumentResolver {
             throw new BadRequest.WrongRequestFormat(e.getMessage());
         }
     }
+
+    private Jws<Claims> verifyJwt(String bearerToken) {
+        long startTime = System.nanoTime();
+        FlightRecorderEvents.Stage stage = FlightRecorderEvents.begin(FlightRecorderEvents.STAGE_JWT_PARSE);
+        try {
+            Jws<Claims> result = Jwts.parser()
+                    .setSigningKey(applicationProperties.getPrioraPublicKey())
+                    .parseClaimsJws(bearerToken);
+            sdkMetrics.recordJwtVerify(null, startTime);
+            stage.end(null);
+            return result;
+        } catch (RuntimeException e) {
+            sdkMetrics.recordJwtVerify(e, startTime);
+            stage.end(e);
+            throw e;
+        }
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.api.interceptors;
+
+import com.saltedge.connector.sdk.config.CompressionProperties;
+import com.saltedge.connector.sdk.tools.DeflaterPool;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Compresses responses of Connector API with gzip or deflate (as requested by `Accept-Encoding` header)
+ * if size of response body exceeds threshold.
+ * Body is buffered until threshold is reached and after that is compressed while it is written.
+ *
+ * @see CompressionProperties
+ */
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+    public final static String ENCODING_GZIP = "gzip";
+    public final static String ENCODING_DEFLATE = "deflate";
+    private final int minResponseSize;
+    private final DeflaterPool deflaterPool;
+
+    public ResponseCompressionFilter(CompressionProperties properties) {
+        this.minResponseSize = properties.getMinResponseSize();
+        this.deflaterPool = new DeflaterPool(properties.getLevel(), properties.getPoolSize());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        String encoding = selectEncoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (encoding == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        CompressingResponseWrapper wrapper = new CompressingResponseWrapper(response, encoding, minResponseSize, deflaterPool);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, wrapper);
+            completed = true;
+        } finally {
+            if (!completed) wrapper.abort();
+            else if (request.isAsyncStarted()) wrapper.onAsyncStarted(request.getAsyncContext());
+            else wrapper.finish();
+        }
+    }
+
+    /**
+     * Selects supported encoding from `Accept-Encoding` header value. gzip is preferred.
+     *
+     * @param acceptEncoding header value
+     * @return `gzip`, `deflate` or null
+     */
+    static String selectEncoding(String acceptEncoding) {
+        if (StringUtils.isEmpty(acceptEncoding)) return null;
+        boolean deflateAccepted = false;
+        for (String item : acceptEncoding.split(",")) {
+            String[] parts = item.trim().split(";");
+            String coding = parts[0].trim().toLowerCase();
+            if (isRejected(parts)) continue;
+            if (ENCODING_GZIP.equals(coding) || "*".equals(coding)) return ENCODING_GZIP;
+            if (ENCODING_DEFLATE.equals(coding)) deflateAccepted = true;
+        }
+        return deflateAccepted ? ENCODING_DEFLATE : null;
+    }
+
+    private static boolean isRejected(String[] codingParts) {
+        for (int i = 1; i < codingParts.length; i++) {
+            String param = codingParts[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Float.parseFloat(param.substring(2)) <= 0f;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -24,7 +24,11 @@ import com.saltedge.connector.sdk.api.models.err.BadRequest;
 import com.saltedge.connector.sdk.api.models.err.NotFound;
 import com.saltedge.connector.sdk.api.models.err.Unauthorized;
 import com.saltedge.connector.sdk.SDKConstants;
+import com.saltedge.connector.sdk.api.services.TppQuotaService;
 import com.saltedge.connector.sdk.models.Token;
+import com.saltedge.connector.sdk.metrics.CorrelationId;
+import com.saltedge.connector.sdk.metrics.FlightRecorderEvents;
+import com.saltedge.connector.sdk.metrics.SdkMetrics;
 import com.saltedge.connector.sdk.models.TokensRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.MethodParameter;
@@ -38,11 +42,16 @@ import org.springframework.web.method.support.ModelAndViewContainer;
 /**
  * Access-Token header interceptor.
  * Search Token model by Access-Token string and checks if Token is expired
+ * and if requests quota of TPP of Token is not exceeded
  */
 @Component
 public class TokenResolver implements HandlerMethodArgumentResolver {
     @Autowired
     TokensRepository tokensRepository;
+    @Autowired
+    SdkMetrics sdkMetrics;
+    @Autowired
+    TppQuotaService tppQuotaService;
 
     @Override
     public boolean supportsParameter(MethodParameter parameter) {
@@ -57,9 +66,29 @@ public class TokenResolver implements HandlerMethodArgumentResolver {
         String accessToken = webRequest.getHeader(SDKConstants.HEADER_ACCESS_TOKEN);
         if (StringUtils.isEmpty(accessToken)) throw new BadRequest.AccessTokenMissing();
         else {
+            long startTime = System.nanoTime();
+            FlightRecorderEvents.Stage stage = FlightRecorderEvents.begin(FlightRecorderEvents.STAGE_TOKEN_LOOKUP);
             Token token = tokensRepository.findFirstByAccessToken(accessToken);
-            if (token == null) throw new NotFound.TokenNotFound();
-            if (token.isExpired()) throw new Unauthorized.TokenExpired(String.valueOf(token.tokenExpiresAt));
+            if (token == null) {
+                sdkMetrics.recordTokenLookup("not_found", startTime);
+                NotFound.TokenNotFound error = new NotFound.TokenNotFound();
+                stage.end(error);
+                throw error;
+            }
+            webRequest.setAttribute(ApiMetricsInterceptor.ATTRIBUTE_TPP_NAME, token.tppName, NativeWebRequest.SCOPE_REQUEST);
+            if (token.sessionSecret != null) {
+                webRequest.setAttribute(FlightRecorderEvents.ATTRIBUTE_SESSION_SECRET, token.sessionSecret, NativeWebRequest.SCOPE_REQUEST);
+                CorrelationId.putToMdc(token.sessionSecret);
+            }
+            if (token.isExpired()) {
+                sdkMetrics.recordTokenLookup("expired", startTime);
+                Unauthorized.TokenExpired error = new Unauthorized.TokenExpired(String.valueOf(token.tokenExpiresAt));
+                stage.end(error);
+                throw error;
+            }
+            sdkMetrics.recordTokenLookup("found", startTime);
+            stage.end(null);
+            tppQuotaService.checkQuota(token.tppName);
             return token;
         }
     }
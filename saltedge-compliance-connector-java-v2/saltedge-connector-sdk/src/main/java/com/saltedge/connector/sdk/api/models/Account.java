@@ -28,6 +28,7 @@ import org.springframework.util.StringUtils;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -152,6 +153,24 @@ public class Account {
                 .orElse(null);
     }
 
+    /**
+     * Creates copy of account with empty list of balances.
+     * Used if user has given consent only for transactions of account.
+     *
+     * @return new Account object
+     */
+    public Account copyWithoutBalances() {
+        Account result = new Account(id, name, new ArrayList<>(), cashAccountType, currencyCode);
+        result.bban = bban;
+        result.bic = bic;
+        result.iban = iban;
+        result.msisdn = msisdn;
+        result.product = product;
+        result.status = status;
+        result.extra = extra;
+        return result;
+    }
+
     public String getId() {
         return id;
     }
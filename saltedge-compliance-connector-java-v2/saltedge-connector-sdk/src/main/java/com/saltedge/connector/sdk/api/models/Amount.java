@@ -26,6 +26,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.saltedge.connector.sdk.SDKConstants;
 
 import javax.validation.constraints.NotEmpty;
+import java.math.RoundingMode;
 
 /**
  * Amount information
@@ -54,4 +55,14 @@ public class Amount {
         this.amount = amount;
         this.currency = currency;
     }
+
+    /**
+     * Parses amount to fixed-point money value
+     *
+     * @param rounding mode of rounding of fraction digits not supported by currency
+     * @return money value or null if amount or currency is invalid
+     */
+    public Money toMoney(RoundingMode rounding) {
+        return Money.parse(amount, currency, rounding);
+    }
 }
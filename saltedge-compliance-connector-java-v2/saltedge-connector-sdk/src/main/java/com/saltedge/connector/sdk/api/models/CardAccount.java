@@ -25,6 +25,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.saltedge.connector.sdk.SDKConstants;
 
 import javax.validation.constraints.NotBlank;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -118,6 +119,16 @@ public class CardAccount {
         this.extra = extra;
     }
 
+    /**
+     * Creates copy of card account with empty list of balances.
+     * Used if user has given consent only for transactions of card account.
+     *
+     * @return new CardAccount object
+     */
+    public CardAccount copyWithoutBalances() {
+        return new CardAccount(id, name, maskedPan, currencyCode, product, status, new ArrayList<>(), creditLimit, extra);
+    }
+
     public String getId() {
         return id;
     }
@@ -0,0 +1,167 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.api.models;
+
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+
+/**
+ * Precompiled index of account identifiers (IBAN, BBAN, MSISDN, masked PAN) allowed by ProviderConsents.
+ * Consents for balances and transactions are kept in separate hash sets,
+ * so each account is checked in constant time regardless of consents size.
+ *
+ * Only explicit consents for all accounts are compiled to unrestricted index: global consent
+ * and all accounts consent (empty lists, stored when provider does not require bank offered consent).
+ * Absent consents (e.g. stored data which can not be read) are compiled to empty index which allows nothing.
+ *
+ * @see ProviderConsents
+ */
+public final class ConsentIndex {
+    public final static ConsentIndex UNRESTRICTED = new ConsentIndex(null, null);
+    public final static ConsentIndex EMPTY = new ConsentIndex(Collections.emptySet(), Collections.emptySet());
+    private final Set<String> balancesIdentifiers;
+    private final Set<String> transactionsIdentifiers;
+
+    private ConsentIndex(Set<String> balancesIdentifiers, Set<String> transactionsIdentifiers) {
+        this.balancesIdentifiers = balancesIdentifiers;
+        this.transactionsIdentifiers = transactionsIdentifiers;
+    }
+
+    /**
+     * Compiles consents to index
+     *
+     * @param consents offered by provider and confirmed by user
+     * @return ConsentIndex object
+     */
+    public static ConsentIndex compile(ProviderConsents consents) {
+        if (consents == null) return EMPTY;
+        if (consents.hasGlobalConsent() || isAllAccountsConsent(consents)) return UNRESTRICTED;
+        return new ConsentIndex(collectIdentifiers(consents.balances), collectIdentifiers(consents.transactions));
+    }
+
+    /**
+     * @return true if index allows balances and transactions of all accounts
+     */
+    public boolean isUnrestricted() {
+        return balancesIdentifiers == null;
+    }
+
+    /**
+     * @return true if index allows transactions of at least one account
+     */
+    public boolean allowsAnyTransactions() {
+        return isUnrestricted() || !transactionsIdentifiers.isEmpty();
+    }
+
+    public boolean allowsBalancesOf(Account account) {
+        return isUnrestricted() || containsAccount(balancesIdentifiers, account);
+    }
+
+    public boolean allowsTransactionsOf(Account account) {
+        return isUnrestricted() || containsAccount(transactionsIdentifiers, account);
+    }
+
+    public boolean allowsBalancesOf(CardAccount account) {
+        return isUnrestricted() || containsCardAccount(balancesIdentifiers, account);
+    }
+
+    public boolean allowsTransactionsOf(CardAccount account) {
+        return isUnrestricted() || containsCardAccount(transactionsIdentifiers, account);
+    }
+
+    /**
+     * Leaves accounts allowed for balances or transactions.
+     * Accounts allowed only for transactions are copied without balances.
+     * Source list is not modified.
+     *
+     * @param accounts list of user's accounts
+     * @return source list if index is unrestricted, otherwise new list of consented accounts
+     */
+    public List<Account> filterAccounts(List<Account> accounts) {
+        if (isUnrestricted() || accounts == null) return accounts;
+        List<Account> result = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            if (allowsBalancesOf(account)) result.add(account);
+            else if (allowsTransactionsOf(account)) result.add(account.copyWithoutBalances());
+        }
+        return result;
+    }
+
+    /**
+     * Leaves card accounts allowed for balances or transactions.
+     * Card accounts allowed only for transactions are copied without balances.
+     * Source list is not modified.
+     *
+     * @param accounts list of user's card accounts
+     * @return source list if index is unrestricted, otherwise new list of consented card accounts
+     */
+    public List<CardAccount> filterCardAccounts(List<CardAccount> accounts) {
+        if (isUnrestricted() || accounts == null) return accounts;
+        List<CardAccount> result = new ArrayList<>(accounts.size());
+        for (CardAccount account : accounts) {
+            if (allowsBalancesOf(account)) result.add(account);
+            else if (allowsTransactionsOf(account)) result.add(account.copyWithoutBalances());
+        }
+        return result;
+    }
+
+    private static boolean containsAccount(Set<String> identifiers, Account account) {
+        if (account == null || identifiers.isEmpty()) return false;
+        return containsIdentifier(identifiers, account.getIban())
+                || containsIdentifier(identifiers, account.getBban())
+                || containsIdentifier(identifiers, account.getMsisdn());
+    }
+
+    private static boolean containsCardAccount(Set<String> identifiers, CardAccount account) {
+        return account != null && containsIdentifier(identifiers, account.getMaskedPan());
+    }
+
+    private static boolean containsIdentifier(Set<String> identifiers, String identifier) {
+        return identifier != null && identifiers.contains(identifier);
+    }
+
+    private static Set<String> collectIdentifiers(List<ProviderOfferedConsent> consents) {
+        if (isEmpty(consents)) return Collections.emptySet();
+        Set<String> result = new HashSet<>();
+        for (ProviderOfferedConsent consent : consents) {
+            if (consent == null) continue;
+            addIdentifier(result, consent.iban);
+            addIdentifier(result, consent.bban);
+            addIdentifier(result, consent.msisdn);
+            addIdentifier(result, consent.maskedPan);
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+    private static void addIdentifier(Set<String> identifiers, String identifier) {
+        if (!StringUtils.isEmpty(identifier)) identifiers.add(identifier);
+    }
+
+    private static boolean isAllAccountsConsent(ProviderConsents consents) {
+        return consents.balances != null && consents.balances.isEmpty()
+                && consents.transactions != null && consents.transactions.isEmpty();
+    }
+
+    private static boolean isEmpty(List<?> list) {
+        return list == null || list.isEmpty();
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.api.models;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable fixed-point money value, stored as count of minor units of currency (e.g. cents).
+ * Count of fraction digits (scale) is defined by ISO 4217 currency, non ISO currencies have scale of 8.
+ * Parsing and formatting of amount strings do not create intermediate objects.
+ * Used for calculations only, models keep amounts as strings in JSON.
+ */
+public final class Money implements Comparable<Money> {
+    public static final int DEFAULT_SCALE = 2;
+    public static final int NON_ISO_CURRENCY_SCALE = 8;
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+            10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+            1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+    private static final Map<String, Integer> SCALES = new ConcurrentHashMap<>();
+
+    private final long minorUnits;
+    private final String currency;
+    private final int scale;
+
+    private Money(long minorUnits, String currency, int scale) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+        this.scale = scale;
+    }
+
+    /**
+     * Creates money value from count of minor units
+     *
+     * @param minorUnits count of minor units (e.g. 1050 for 10.50 EUR)
+     * @param currency code (ISO 4217)
+     * @return money value
+     */
+    public static Money ofMinorUnits(long minorUnits, @NotNull String currency) {
+        if (minorUnits == Long.MIN_VALUE) throw new IllegalArgumentException("Minor units are out of range");
+        return new Money(minorUnits, currency, getCurrencyScale(currency));
+    }
+
+    /**
+     * Parses amount string (e.g. "-1050.5"). Amount can not have more significant fraction digits than currency.
+     *
+     * @param amount decimal string with optional sign and dot as decimal separator
+     * @param currency code (ISO 4217)
+     * @return money value or null if amount or currency is invalid
+     */
+    public static Money parse(CharSequence amount, String currency) {
+        return parse(amount, currency, RoundingMode.UNNECESSARY);
+    }
+
+    /**
+     * Parses amount string (e.g. "-1050.505") and rounds it to scale of currency.
+     *
+     * @param amount decimal string with optional sign and dot as decimal separator
+     * @param currency code (ISO 4217)
+     * @param rounding mode of rounding of extra fraction digits, UNNECESSARY rejects amounts with extra fraction digits
+     * @return money value or null if amount or currency is invalid
+     */
+    public static Money parse(CharSequence amount, String currency, @NotNull RoundingMode rounding) {
+        if (amount == null || currency == null || currency.isEmpty()) return null;
+        int length = amount.length();
+        int index = 0;
+        boolean negative = false;
+        if (length > 0 && (amount.charAt(0) == '-' || amount.charAt(0) == '+')) {
+            negative = amount.charAt(0) == '-';
+            index++;
+        }
+        int scale = getCurrencyScale(currency);
+        long value = 0L;
+        int digits = 0;
+        int fractionDigits = -1;
+        int firstDroppedDigit = -1;
+        boolean droppedNonZero = false;
+        for (; index < length; index++) {
+            char c = amount.charAt(index);
+            if (c == '.') {
+                if (fractionDigits >= 0) return null;
+                fractionDigits = 0;
+                continue;
+            }
+            if (c < '0' || c > '9') return null;
+            int digit = c - '0';
+            digits++;
+            if (fractionDigits >= 0) {
+                if (fractionDigits == scale) {
+                    if (firstDroppedDigit < 0) firstDroppedDigit = digit;
+                    else if (digit != 0) droppedNonZero = true;
+                    continue;
+                }
+                fractionDigits++;
+            }
+            if (value > (Long.MAX_VALUE - digit) / 10) return null;
+            value = value * 10 + digit;
+        }
+        if (digits == 0) return null;
+        for (int i = Math.max(fractionDigits, 0); i < scale; i++) {
+            if (value > Long.MAX_VALUE / 10) return null;
+            value *= 10;
+        }
+        if (firstDroppedDigit > 0 || droppedNonZero) {
+            if (rounding == RoundingMode.UNNECESSARY) return null;
+            if (isRoundedAwayFromZero(rounding, negative, value % 2 != 0, firstDroppedDigit, droppedNonZero)) {
+                if (value == Long.MAX_VALUE) return null;
+                value++;
+            }
+        }
+        return new Money(negative ? -value : value, currency, scale);
+    }
+
+    /**
+     * Provides count of fraction digits of currency
+     *
+     * @param currency code (ISO 4217)
+     * @return default fraction digits of ISO 4217 currency, DEFAULT_SCALE for pseudo currencies
+     * and NON_ISO_CURRENCY_SCALE for unknown currencies
+     */
+    public static int getCurrencyScale(@NotNull String currency) {
+        Integer scale = SCALES.get(currency);
+        if (scale == null) {
+            scale = SCALES.computeIfAbsent(currency, code -> {
+                try {
+                    int digits = Currency.getInstance(code).getDefaultFractionDigits();
+                    return digits < 0 ? DEFAULT_SCALE : digits;
+                } catch (IllegalArgumentException e) {
+                    return NON_ISO_CURRENCY_SCALE;
+                }
+            });
+        }
+        return scale;
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public Money abs() {
+        return minorUnits >= 0 ? this : new Money(-minorUnits, currency, scale);
+    }
+
+    public Money add(@NotNull Money other) {
+        checkSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency, scale);
+    }
+
+    public Money subtract(@NotNull Money other) {
+        checkSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency, scale);
+    }
+
+    /**
+     * Converts value to another currency
+     *
+     * @param targetCurrency code (ISO 4217)
+     * @param rate count of target currency units for one unit of this currency
+     * @param rounding mode of rounding to scale of target currency
+     * @return money value in target currency
+     * @throws ArithmeticException if result is out of range
+     */
+    public Money convert(@NotNull String targetCurrency, @NotNull BigDecimal rate, @NotNull RoundingMode rounding) {
+        if (targetCurrency.equals(currency)) return this;
+        int targetScale = getCurrencyScale(targetCurrency);
+        long value = BigDecimal.valueOf(minorUnits, scale)
+                .multiply(rate)
+                .setScale(targetScale, rounding)
+                .unscaledValue()
+                .longValueExact();
+        return ofMinorUnits(value, targetCurrency);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+
+    public Amount toAmount() {
+        return new Amount(formatAmount(), currency);
+    }
+
+    /**
+     * Formats amount with all fraction digits of currency (e.g. "-1050.50")
+     *
+     * @return amount string
+     */
+    public String formatAmount() {
+        return appendAmount(new StringBuilder(24)).toString();
+    }
+
+    /**
+     * Appends formatted amount (e.g. "-1050.50") to builder
+     *
+     * @param builder destination
+     * @return builder
+     */
+    public StringBuilder appendAmount(@NotNull StringBuilder builder) {
+        if (minorUnits < 0) builder.append('-');
+        long value = Math.abs(minorUnits);
+        if (scale == 0) return builder.append(value);
+        long divider = POWERS_OF_TEN[scale];
+        long fraction = value % divider;
+        builder.append(value / divider).append('.');
+        for (int i = scale - 1; i > 0 && fraction < POWERS_OF_TEN[i]; i--) builder.append('0');
+        return builder.append(fraction);
+    }
+
+    /**
+     * Compares values of the same currency
+     *
+     * @param other value
+     * @return comparison result
+     * @throws IllegalArgumentException if currencies are different
+     */
+    @Override
+    public int compareTo(@NotNull Money other) {
+        checkSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Money money = (Money) o;
+        return minorUnits == money.minorUnits && currency.equals(money.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(minorUnits, currency);
+    }
+
+    @Override
+    public String toString() {
+        return appendAmount(new StringBuilder(28)).append(' ').append(currency).toString();
+    }
+
+    private void checkSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+    }
+
+    private static boolean isRoundedAwayFromZero(
+            RoundingMode rounding,
+            boolean negative,
+            boolean odd,
+            int firstDroppedDigit,
+            boolean droppedNonZero
+    ) {
+        switch (rounding) {
+            case UP:
+                return true;
+            case DOWN:
+                return false;
+            case CEILING:
+                return !negative;
+            case FLOOR:
+                return negative;
+            case HALF_UP:
+                return firstDroppedDigit >= 5;
+            case HALF_DOWN:
+                return firstDroppedDigit > 5 || (firstDroppedDigit == 5 && droppedNonZero);
+            case HALF_EVEN:
+                return firstDroppedDigit > 5 || (firstDroppedDigit == 5 && (droppedNonZero || odd));
+            default:
+                throw new IllegalArgumentException("Unsupported rounding mode: " + rounding);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.api.models;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * High-water mark of transactions already delivered to TPP for an account and period (by the same Access Token).
+ * Passed to provider as "changed since" hint in incremental transactions sync mode.
+ *
+ * @see com.saltedge.connector.sdk.provider.ProviderServiceAbs#getTransactionsOfAccount(String, String, LocalDate, LocalDate, TransactionsSyncMark)
+ */
+public class TransactionsSyncMark {
+    /**
+     * Identifier of the latest delivered transaction
+     */
+    private final String transactionId;
+
+    /**
+     * Booking date (or value date if booking date is absent) of the latest delivered transaction
+     */
+    private final LocalDate bookingDate;
+
+    public TransactionsSyncMark(String transactionId, LocalDate bookingDate) {
+        this.transactionId = transactionId;
+        this.bookingDate = bookingDate;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public LocalDate getBookingDate() {
+        return bookingDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TransactionsSyncMark that = (TransactionsSyncMark) o;
+        return Objects.equals(transactionId, that.transactionId) && Objects.equals(bookingDate, that.bookingDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(transactionId, bookingDate);
+    }
+}
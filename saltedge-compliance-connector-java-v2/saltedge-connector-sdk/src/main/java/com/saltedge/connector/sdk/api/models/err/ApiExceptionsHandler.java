@@ -20,9 +20,13 @@
  */
 package com.saltedge.connector.sdk.api.models.err;
 
+import com.saltedge.connector.sdk.api.interceptors.ApiMetricsInterceptor;
 import com.saltedge.connector.sdk.api.models.responses.ErrorResponse;
+import com.saltedge.connector.sdk.config.ApplicationProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -39,26 +43,38 @@ import javax.validation.ConstraintViolationException;
 @ControllerAdvice
 public class ApiExceptionsHandler extends ResponseEntityExceptionHandler {
     private static Logger log = LoggerFactory.getLogger(ApiExceptionsHandler.class);
+    @Autowired
+    private ApplicationProperties applicationProperties;
 
     @ExceptionHandler({
             BadRequest.class,
             NotFound.TokenNotFound.class,
-            Unauthorized.class
+            Unauthorized.class,
+            ServiceUnavailable.class,
+            TooManyRequests.class
     })
     public ResponseEntity<ErrorResponse> handleCustomException(Exception ex, WebRequest request) {
         System.out.println("ApiExceptionsHandler:handleCustomException:" + ex.getLocalizedMessage());
         HttpStatus errorStatus = ex instanceof HttpErrorParams ? ((HttpErrorParams) ex).getErrorStatus() : HttpStatus.BAD_REQUEST;
         ErrorResponse error = new ErrorResponse(ex);
+        request.setAttribute(ApiMetricsInterceptor.ATTRIBUTE_ERROR_CLASS, error.errorClass, WebRequest.SCOPE_REQUEST);
         log.error(error.toString());
         ex.printStackTrace();
-        return ResponseEntity.status(errorStatus).body(error);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(errorStatus);
+        if (ex instanceof ServiceUnavailable) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(applicationProperties.getRetryAfterSeconds()));
+        } else if (ex instanceof TooManyRequests) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(applicationProperties.getTppQuotas().getRetryAfterSeconds()));
+        }
+        return response.body(error);
     }
 
     @ExceptionHandler(ConstraintViolationException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
-    ResponseEntity<ErrorResponse> handleConstraintViolationException(ConstraintViolationException ex) {
+    ResponseEntity<ErrorResponse> handleConstraintViolationException(ConstraintViolationException ex, WebRequest request) {
         System.out.println("ApiExceptionsHandler:handleConstraintViolationException:" + ex.getLocalizedMessage());
         ErrorResponse error = new ErrorResponse("WrongRequestFormat", ex.getMessage());
+        request.setAttribute(ApiMetricsInterceptor.ATTRIBUTE_ERROR_CLASS, error.errorClass, WebRequest.SCOPE_REQUEST);
         log.error(ex.toString());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
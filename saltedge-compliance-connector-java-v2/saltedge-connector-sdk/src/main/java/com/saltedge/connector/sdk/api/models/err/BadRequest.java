@@ -108,6 +108,19 @@ public abstract class BadRequest extends RuntimeException implements HttpErrorPa
         }
     }
 
+    public static class ExchangeRateNotFound extends BadRequest {
+        private String currencyCode;
+
+        public ExchangeRateNotFound(String currencyCode) {
+            this.currencyCode = currencyCode;
+        }
+
+        @Override
+        public String getErrorMessage() {
+            return "Exchange rate not found: " + currencyCode;
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,109 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.api.services;
+
+import com.saltedge.connector.sdk.api.models.Account;
+import com.saltedge.connector.sdk.api.models.CardAccount;
+import com.saltedge.connector.sdk.config.AccountsCacheProperties;
+import com.saltedge.connector.sdk.config.ApplicationProperties;
+import com.saltedge.connector.sdk.tools.InFlightRequests;
+import com.saltedge.connector.sdk.tools.SnapshotCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Service for fetching accounts and card accounts of user.
+ * Identical concurrent requests share one provider call.
+ * If `connector.accounts_cache` is configured, accounts are kept in memory until TTL expires
+ * or until provider notifies about changes of user's accounts.
+ *
+ * @see com.saltedge.connector.sdk.provider.ConnectorCallbackAbs#onAccountsOfUserChanged(String)
+ */
+@Service
+public class AccountsService extends BaseService {
+    private final InFlightRequests inFlightRequests = new InFlightRequests();
+    @Autowired
+    private ApplicationProperties applicationProperties;
+    private SnapshotCache<String, List<Account>> accountsCache;
+    private SnapshotCache<String, List<CardAccount>> cardAccountsCache;
+
+    @PostConstruct
+    public void init() {
+        AccountsCacheProperties properties = applicationProperties.getAccountsCache();
+        accountsCache = new SnapshotCache<>(properties.getMaxSize(), properties.getTtlSeconds());
+        cardAccountsCache = new SnapshotCache<>(properties.getMaxSize(), properties.getTtlSeconds());
+    }
+
+    public List<Account> getAccountsOfUser(@NotEmpty String userId) {
+        return getCachedOrFetch(
+                accountsCache,
+                userId,
+                "getAccountsOfUser",
+                () -> providerService.getAccountsOfUser(userId)
+        );
+    }
+
+    public List<CardAccount> getCardAccountsOfUser(@NotEmpty String userId) {
+        return getCachedOrFetch(
+                cardAccountsCache,
+                userId,
+                "getCardAccountsOfUser",
+                () -> providerService.getCardAccountsOfUser(userId)
+        );
+    }
+
+    /**
+     * Removes cached accounts and card accounts of user
+     *
+     * @param userId User identifier on Provider side
+     */
+    public void invalidateAccountsOfUser(@NotEmpty String userId) {
+        accountsCache.invalidate(userId);
+        cardAccountsCache.invalidate(userId);
+    }
+
+    int getWaitingCallsCount() {
+        return inFlightRequests.getWaitingCount();
+    }
+
+    private <T> List<T> getCachedOrFetch(
+            SnapshotCache<String, List<T>> cache,
+            String userId,
+            String method,
+            Supplier<List<T>> providerCall
+    ) {
+        if (!cache.isEnabled()) return inFlightRequests.execute(InFlightRequests.createKey(method, userId), providerCall);
+
+        List<T> result = cache.get(userId);
+        if (result != null) return result;
+        return inFlightRequests.execute(InFlightRequests.createKey(method, userId), () -> {
+            long stamp = cache.stamp();
+            List<T> data = providerCall.get();
+            cache.put(userId, data, stamp);
+            return data;
+        });
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.api.services;
+
+import com.saltedge.connector.sdk.api.models.ExchangeRate;
+import com.saltedge.connector.sdk.api.models.err.BadRequest;
+import com.saltedge.connector.sdk.config.ApplicationProperties;
+import com.saltedge.connector.sdk.tools.ExchangeRatesMatrix;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.validation.constraints.NotEmpty;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Service for conversion of amounts between currencies.
+ * Keeps matrix of cross rates, which is rebuilt when provider's exchange rates are refreshed
+ * (each `connector.exchange_rates.refresh_seconds` or after provider notifies about changes of rates)
+ * and replaced atomically, so readers always use consistent set of rates.
+ *
+ * @see com.saltedge.connector.sdk.provider.ConnectorCallbackAbs#onExchangeRatesChanged()
+ */
+@Service
+public class ExchangeRatesService extends BaseService {
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    /**
+     * Provides cross rate of currencies
+     *
+     * @param fromCurrency source currency code
+     * @param toCurrency target currency code
+     * @return count of target currency units for one unit of source currency
+     * @throws BadRequest.ExchangeRateNotFound if provider has no exchange rate of one of currencies
+     */
+    public BigDecimal getRate(@NotEmpty String fromCurrency, @NotEmpty String toCurrency) {
+        ExchangeRatesMatrix matrix = getMatrix();
+        int from = matrix.getOrdinal(fromCurrency);
+        if (from < 0) throw new BadRequest.ExchangeRateNotFound(fromCurrency);
+        int to = matrix.getOrdinal(toCurrency);
+        if (to < 0) throw new BadRequest.ExchangeRateNotFound(toCurrency);
+        return matrix.getRate(from, to);
+    }
+
+    /**
+     * Provides current matrix of cross rates, requests rates from provider if matrix is outdated
+     *
+     * @return matrix of cross rates
+     */
+    public ExchangeRatesMatrix getMatrix() {
+        Snapshot current = snapshot.get();
+        long now = System.nanoTime();
+        if (current != null && now - current.expiresAt < 0) return current.matrix;
+
+        List<ExchangeRate> rates = providerService.getExchangeRates();
+        ExchangeRatesMatrix matrix = current != null && current.matrix.hasSameRates(rates)
+                ? current.matrix
+                : ExchangeRatesMatrix.create(rates);
+        Snapshot next = new Snapshot(matrix, now + TimeUnit.SECONDS.toNanos(applicationProperties.getExchangeRates().getRefreshSeconds()));
+        // not stored if rates were invalidated during request to provider
+        snapshot.compareAndSet(current, next);
+        return matrix;
+    }
+
+    /**
+     * Marks current rates as outdated, so they will be requested from provider on next conversion
+     */
+    public void invalidate() {
+        Snapshot current;
+        do {
+            current = snapshot.get();
+        } while (!snapshot.compareAndSet(current, new Snapshot(
+                current == null ? ExchangeRatesMatrix.create(null) : current.matrix,
+                System.nanoTime()
+        )));
+    }
+
+    private static class Snapshot {
+        private final ExchangeRatesMatrix matrix;
+        private final long expiresAt;
+
+        private Snapshot(ExchangeRatesMatrix matrix, long expiresAt) {
+            this.matrix = matrix;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
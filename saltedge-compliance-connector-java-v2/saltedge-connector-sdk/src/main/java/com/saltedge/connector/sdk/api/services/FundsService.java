@@ -20,54 +20,54 @@
  */
 package com.saltedge.connector.sdk.api.services;
 
-import com.saltedge.connector.sdk.api.models.Account;
-import com.saltedge.connector.sdk.api.models.ExchangeRate;
+import com.saltedge.connector.sdk.api.models.Amount;
+import com.saltedge.connector.sdk.api.models.Money;
 import com.saltedge.connector.sdk.api.models.err.BadRequest;
 import com.saltedge.connector.sdk.api.models.requests.FundsConfirmationRequest;
 import com.saltedge.connector.sdk.models.Token;
-import com.saltedge.connector.sdk.tools.TypeTools;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
-import java.util.List;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 @Service
 public class FundsService extends BaseService {
     private static Logger log = LoggerFactory.getLogger(FundsService.class);
+    @Autowired
+    private ExchangeRatesService exchangeRatesService;
 
     public boolean confirmFunds(@NotNull Token token, @NotNull FundsConfirmationRequest request) {
         try {
-            List<ExchangeRate> rates = providerService.getExchangeRates();
-            Account account = providerService.getAccountsOfUser(token.userId).stream()
-                    .filter(model -> model.containsAccountIdentifier(request.getAccountIdentifier()))
-                    .findFirst()
-                    .orElse(null);
-            ExchangeRate requestCurrency = findExchangeRateByCode(rates, request.instructedAmount.currency);
-            Float requestAmount = TypeTools.safeParseFloat(request.instructedAmount.amount, null);
+            String accountIdentifier = request.getAccountIdentifier();
+            Amount balance = StringUtils.isEmpty(accountIdentifier)
+                    ? null
+                    : providerService.getAvailableBalanceOfAccount(token.userId, accountIdentifier);
+            Money requestAmount = request.instructedAmount.toMoney(RoundingMode.UP);
 
-            if (requestCurrency == null || requestAmount == null) {
+            if (requestAmount == null) {
                 throw new BadRequest.InvalidAttributeValue("FundsConfirmationRequest.currency_code");
-            } else if (account == null) {
+            } else if (balance == null) {
                 throw new BadRequest.InvalidAttributeValue("FundsConfirmationRequest.account");
             } else {
-                float balanceAmount = TypeTools.safeParseFloat(account.getBalance("openingBooked").amount, 0f);
-                float accountExchangeRate = findExchangeRateByCode(rates, account.getCurrencyCode()).exchangeRate;
-                return Math.abs(balanceAmount) * accountExchangeRate >= Math.abs(requestAmount) * requestCurrency.exchangeRate;
+                Money balanceAmount = balance.toMoney(RoundingMode.DOWN);
+                if (balanceAmount == null) return false;
+                Money requiredAmount = requestAmount.abs();
+                if (!requiredAmount.getCurrency().equals(balanceAmount.getCurrency())) {
+                    BigDecimal rate = exchangeRatesService.getRate(requestAmount.getCurrency(), balanceAmount.getCurrency());
+                    requiredAmount = requiredAmount.convert(balanceAmount.getCurrency(), rate, RoundingMode.UP);
+                }
+                return balanceAmount.compareTo(requiredAmount) >= 0;
             }
+        } catch (BadRequest.ExchangeRateNotFound e) {
+            throw e;
         } catch (Exception e) {
             log.error("CheckFundsService.checkFunds:", e);
             return false;
         }
     }
-
-    private ExchangeRate findExchangeRateByCode(List<ExchangeRate> rates, String code) {
-        if (rates == null || StringUtils.isEmpty(code)) return null;
-        return rates.stream()
-                .filter(model -> code.equals(model.currencyCode))
-                .findFirst()
-                .orElse(null);
-    }
 }
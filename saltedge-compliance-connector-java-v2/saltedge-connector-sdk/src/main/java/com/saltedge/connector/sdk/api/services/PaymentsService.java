@@ -25,6 +25,7 @@ import com.saltedge.connector.sdk.api.models.err.HttpErrorParams;
 import com.saltedge.connector.sdk.api.models.err.NotFound;
 import com.saltedge.connector.sdk.api.models.requests.CreatePaymentRequest;
 import com.saltedge.connector.sdk.callback.mapping.SessionUpdateCallbackRequest;
+import com.saltedge.connector.sdk.config.AsyncConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
@@ -43,7 +44,7 @@ import java.util.Map;
 public class PaymentsService extends BaseService {
     private static Logger log = LoggerFactory.getLogger(PaymentsService.class);
 
-    @Async
+    @Async(AsyncConfig.PAYMENTS_EXECUTOR)
     public void createPayment(@NotNull CreatePaymentRequest paymentRequest) {
         try {
             String paymentId = providerService.createPayment(
@@ -0,0 +1,129 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.api.services;
+
+import com.saltedge.connector.sdk.api.models.err.ServiceUnavailable;
+import com.saltedge.connector.sdk.api.models.err.TooManyRequests;
+import com.saltedge.connector.sdk.config.ApplicationProperties;
+import com.saltedge.connector.sdk.config.TppQuotaProperties;
+import com.saltedge.connector.sdk.config.TppQuotasProperties;
+import com.saltedge.connector.sdk.metrics.SdkMetrics;
+import com.saltedge.connector.sdk.tools.TokenBucket;
+import com.saltedge.connector.sdk.tools.WeightedFairScheduler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-TPP quotas of Connector API requests (token buckets)
+ * and weighted fair queue of provider calls of Connector API requests.
+ *
+ * @see TppQuotasProperties
+ */
+@Service
+public class TppQuotaService {
+    public final static String RESULT_ADMITTED = "admitted";
+    public final static String RESULT_QUOTA_EXCEEDED = "quota_exceeded";
+    public final static String RESULT_QUEUE_TIMEOUT = "queue_timeout";
+    @Autowired
+    private ApplicationProperties applicationProperties;
+    @Autowired
+    private SdkMetrics sdkMetrics;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private TppQuotasProperties properties;
+    private WeightedFairScheduler scheduler;
+
+    public TppQuotaService() {
+    }
+
+    public TppQuotaService(TppQuotasProperties properties, SdkMetrics sdkMetrics) {
+        this.sdkMetrics = sdkMetrics;
+        init(properties);
+    }
+
+    @PostConstruct
+    public void init() {
+        init(applicationProperties.getTppQuotas());
+    }
+
+    private void init(TppQuotasProperties properties) {
+        this.properties = properties;
+        if (properties.isEnabled() && properties.getMaxConcurrentProviderCalls() > 0) {
+            scheduler = new WeightedFairScheduler(properties.getMaxConcurrentProviderCalls());
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Takes one request from quota of TPP
+     *
+     * @param tppName name of TPP of Access Token
+     * @throws TooManyRequests.TppQuotaExceeded if quota of TPP is exceeded
+     */
+    public void checkQuota(String tppName) throws TooManyRequests.TppQuotaExceeded {
+        if (!properties.isEnabled() || tppName == null) return;
+        TokenBucket bucket = buckets.computeIfAbsent(tppName, key -> {
+            TppQuotaProperties quota = properties.getQuota(key);
+            return new TokenBucket(quota.getRequestsPerSecond(), quota.getBurst());
+        });
+        if (bucket.tryConsume()) {
+            sdkMetrics.recordTppRequest(tppName, RESULT_ADMITTED);
+        } else {
+            sdkMetrics.recordTppRequest(tppName, RESULT_QUOTA_EXCEEDED);
+            throw new TooManyRequests.TppQuotaExceeded();
+        }
+    }
+
+    /**
+     * Executes provider call when TPP gets its turn in queue of provider calls
+     *
+     * @param tppName name of TPP of Access Token or null if call is not made for TPP request
+     * @param call provider call
+     * @return result of call
+     * @throws ServiceUnavailable.ConnectorOverloaded if call is not started during queue timeout
+     * @throws Throwable exception of call
+     */
+    public Object executeProviderCall(String tppName, ProviderCall call) throws Throwable {
+        if (scheduler == null || tppName == null) return call.proceed();
+        long startTime = System.nanoTime();
+        double weight = properties.getQuota(tppName).getWeight();
+        if (!scheduler.acquire(tppName, weight, TimeUnit.MILLISECONDS.toNanos(properties.getQueueTimeoutMillis()))) {
+            sdkMetrics.recordTppRequest(tppName, RESULT_QUEUE_TIMEOUT);
+            throw new ServiceUnavailable.ConnectorOverloaded();
+        }
+        sdkMetrics.recordTppQueueWait(tppName, startTime);
+        try {
+            return call.proceed();
+        } finally {
+            scheduler.release();
+        }
+    }
+
+    public interface ProviderCall {
+        Object proceed() throws Throwable;
+    }
+}
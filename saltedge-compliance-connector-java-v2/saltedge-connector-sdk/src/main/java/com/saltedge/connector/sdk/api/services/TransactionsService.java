@@ -0,0 +1,354 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saltedge.connector.sdk.api.models.Account;
+import com.saltedge.connector.sdk.api.models.CardAccount;
+import com.saltedge.connector.sdk.api.models.CardTransaction;
+import com.saltedge.connector.sdk.api.models.ConsentIndex;
+import com.saltedge.connector.sdk.api.models.Transaction;
+import com.saltedge.connector.sdk.api.models.TransactionsSyncMark;
+import com.saltedge.connector.sdk.api.models.err.Unauthorized;
+import com.saltedge.connector.sdk.config.ApplicationProperties;
+import com.saltedge.connector.sdk.config.TransactionsProperties;
+import com.saltedge.connector.sdk.models.Token;
+import com.saltedge.connector.sdk.tools.JsonTools;
+import com.saltedge.connector.sdk.tools.PreSerializedList;
+import com.saltedge.connector.sdk.tools.SerializedPagesStore;
+import com.saltedge.connector.sdk.tools.SnapshotCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Service for fetching transactions of accounts and card accounts.
+ * If `connector.transactions.incremental_sync` is enabled, remembers the latest transaction
+ * delivered for each Access Token, account and period and passes it to provider as "changed since" hint.
+ * The mark is advanced only after response with transactions is successfully written (see SyncMarksInterceptor).
+ * Otherwise, if `connector.transactions.pages_cache_max_bytes` is set, keeps serialized transactions
+ * of closed months and requests from provider only periods which are not cached.
+ * Transactions are fetched only for accounts allowed by consents of Access Token.
+ */
+@Service
+public class TransactionsService extends BaseService {
+    private final static long SYNC_MARKS_TTL_SECONDS = TimeUnit.DAYS.toSeconds(1);
+    private final static String ATTRIBUTE_PENDING_SYNC_MARKS = TransactionsService.class.getName() + ".pendingSyncMarks";
+    private final static int CONSENTED_ACCOUNTS_MAX_SIZE = 10_000;
+    private final static long CONSENTED_ACCOUNTS_TTL_SECONDS = TimeUnit.HOURS.toSeconds(1);
+    @Autowired
+    private ApplicationProperties applicationProperties;
+    @Autowired
+    private AccountsService accountsService;
+    private final ObjectMapper objectMapper = JsonTools.getDefaultMapper();
+    private SnapshotCache<String, TransactionsSyncMark> syncMarks;
+    private SerializedPagesStore pagesStore;
+    private final SnapshotCache<String, Boolean> consentedAccounts =
+            new SnapshotCache<>(CONSENTED_ACCOUNTS_MAX_SIZE, CONSENTED_ACCOUNTS_TTL_SECONDS);
+
+    @PostConstruct
+    public void init() {
+        TransactionsProperties properties = applicationProperties.getTransactions();
+        int marksMaxSize = properties.isIncrementalSync() ? properties.getSyncMarksMaxSize() : 0;
+        syncMarks = new SnapshotCache<>(marksMaxSize, SYNC_MARKS_TTL_SECONDS);
+        pagesStore = new SerializedPagesStore(properties.isIncrementalSync() ? 0L : properties.getPagesCacheMaxBytes());
+    }
+
+    /**
+     * @return true if transactions are delivered as changes since the previous request of the same Access Token
+     */
+    public boolean isIncrementalSyncEnabled() {
+        return syncMarks.isEnabled();
+    }
+
+    public List<Transaction> getTransactionsOfAccount(
+            @NotNull Token token,
+            @NotEmpty String accountId,
+            LocalDate fromDate,
+            LocalDate toDate
+    ) {
+        checkAccountConsent(token, accountId);
+        if (pagesStore.isEnabled()) {
+            return getTransactionsWithPagesCache(
+                    createPagesKey(token, "accounts", accountId),
+                    Transaction.class,
+                    fromDate,
+                    toDate,
+                    this::getTransactionDate,
+                    (from, to) -> providerService.getTransactionsOfAccount(token.userId, accountId, from, to)
+            );
+        }
+        if (!syncMarks.isEnabled()) {
+            return providerService.getTransactionsOfAccount(token.userId, accountId, fromDate, toDate);
+        }
+        String markKey = createSyncMarkKey(token, "accounts", accountId, fromDate, toDate);
+        TransactionsSyncMark mark = syncMarks.get(markKey);
+        List<Transaction> result = providerService.getTransactionsOfAccount(token.userId, accountId, fromDate, toDate, mark);
+        addPendingSyncMark(markKey, mark, result, Transaction::getId, this::getTransactionDate);
+        return result;
+    }
+
+    public List<CardTransaction> getTransactionsOfCardAccount(
+            @NotNull Token token,
+            @NotEmpty String accountId,
+            LocalDate fromDate,
+            LocalDate toDate
+    ) {
+        checkCardAccountConsent(token, accountId);
+        if (pagesStore.isEnabled()) {
+            return getTransactionsWithPagesCache(
+                    createPagesKey(token, "card_accounts", accountId),
+                    CardTransaction.class,
+                    fromDate,
+                    toDate,
+                    this::getCardTransactionDate,
+                    (from, to) -> providerService.getTransactionsOfCardAccount(token.userId, accountId, from, to)
+            );
+        }
+        if (!syncMarks.isEnabled()) {
+            return providerService.getTransactionsOfCardAccount(token.userId, accountId, fromDate, toDate);
+        }
+        String markKey = createSyncMarkKey(token, "card_accounts", accountId, fromDate, toDate);
+        TransactionsSyncMark mark = syncMarks.get(markKey);
+        List<CardTransaction> result = providerService.getTransactionsOfCardAccount(token.userId, accountId, fromDate, toDate, mark);
+        addPendingSyncMark(markKey, mark, result, CardTransaction::getId, this::getCardTransactionDate);
+        return result;
+    }
+
+    /**
+     * Consents identify accounts by IBAN, BBAN, MSISDN or masked PAN, but transactions are requested by provider's account id.
+     * Unrestricted and empty indexes decide without account data. Otherwise account is resolved from user's accounts
+     * once per Access Token and account, allowed accounts are remembered, so next requests do not call provider.
+     */
+    private void checkAccountConsent(Token token, String accountId) {
+        checkConsent(token, "accounts", accountId, index -> {
+            List<Account> accounts = accountsService.getAccountsOfUser(token.userId);
+            if (accounts == null) return false;
+            return accounts.stream().anyMatch(account -> accountId.equals(account.getId()) && index.allowsTransactionsOf(account));
+        });
+    }
+
+    private void checkCardAccountConsent(Token token, String accountId) {
+        checkConsent(token, "card_accounts", accountId, index -> {
+            List<CardAccount> accounts = accountsService.getCardAccountsOfUser(token.userId);
+            if (accounts == null) return false;
+            return accounts.stream().anyMatch(account -> accountId.equals(account.getId()) && index.allowsTransactionsOf(account));
+        });
+    }
+
+    private void checkConsent(Token token, String accountType, String accountId, Predicate<ConsentIndex> accountResolver) {
+        ConsentIndex index = token.getConsentIndex();
+        if (index.isUnrestricted()) return;
+        if (!index.allowsAnyTransactions()) throw new Unauthorized.AccessDenied();
+        String key = (token.id == null) ? null : token.id + "/" + accountType + "/" + accountId;
+        if (key != null && consentedAccounts.get(key) != null) return;
+        if (!accountResolver.test(index)) throw new Unauthorized.AccessDenied();
+        if (key != null) consentedAccounts.put(key, Boolean.TRUE);
+    }
+
+    private String createSyncMarkKey(Token token, String accountType, String accountId, LocalDate fromDate, LocalDate toDate) {
+        return token.id + "/" + accountType + "/" + accountId + "/" + fromDate + "/" + toDate;
+    }
+
+    private String createPagesKey(Token token, String accountType, String accountId) {
+        return token.userId + "/" + accountType + "/" + accountId + "/";
+    }
+
+    /**
+     * Serves transactions of closed months from serialized pages and requests from provider only the rest of period.
+     * Transactions of closed months fetched from provider are serialized and stored as pages.
+     * Transactions are always ordered by date descending (transactions without date are the last),
+     * so result does not depend on state of cache.
+     */
+    private <T> List<T> getTransactionsWithPagesCache(
+            String pagesKeyPrefix,
+            Class<T> modelClass,
+            LocalDate fromDate,
+            LocalDate toDate,
+            Function<T, LocalDate> dateGetter,
+            BiFunction<LocalDate, LocalDate, List<T>> providerCall
+    ) {
+        if (fromDate == null || toDate == null || fromDate.isAfter(toDate)) return providerCall.apply(fromDate, toDate);
+
+        LocalDate closedMonthsEnd = LocalDate.now().minusDays(applicationProperties.getTransactions().getBookingCutoffDays());
+        List<YearMonth> cacheableMonths = new ArrayList<>();
+        Map<YearMonth, PreSerializedList.Page> cachedPages = new HashMap<>();
+        for (YearMonth month = YearMonth.from(fromDate); !month.isAfter(YearMonth.from(toDate)); month = month.plusMonths(1)) {
+            boolean insidePeriod = !month.atDay(1).isBefore(fromDate) && !month.atEndOfMonth().isAfter(toDate);
+            if (!insidePeriod || !month.atEndOfMonth().isBefore(closedMonthsEnd)) continue;
+            PreSerializedList.Page page = pagesStore.get(pagesKeyPrefix + month);
+            if (page == null) cacheableMonths.add(month);
+            else cachedPages.put(month, page);
+        }
+
+        if (cachedPages.isEmpty()) {
+            List<T> result = providerCall.apply(fromDate, toDate);
+            if (result == null) return null;
+            result = sortByDateDescending(result, dateGetter);
+            storePages(pagesKeyPrefix, cacheableMonths, groupByMonths(result, dateGetter));
+            return result;
+        }
+
+        LocalDate spanStart = fromDate;
+        while (!spanStart.isAfter(toDate) && cachedPages.containsKey(YearMonth.from(spanStart))) {
+            spanStart = YearMonth.from(spanStart).atEndOfMonth().plusDays(1);
+        }
+        LocalDate spanEnd = toDate;
+        while (!spanEnd.isBefore(spanStart) && cachedPages.containsKey(YearMonth.from(spanEnd))) {
+            spanEnd = YearMonth.from(spanEnd).atDay(1).minusDays(1);
+        }
+        List<T> fetchedTransactions = spanStart.isAfter(spanEnd)
+                ? Collections.emptyList()
+                : fetchPeriod(spanStart, spanEnd, cachedPages.keySet(), dateGetter, providerCall);
+
+        Map<YearMonth, List<T>> fetchedMonths = groupByMonths(sortByDateDescending(fetchedTransactions, dateGetter), dateGetter);
+        storePages(pagesKeyPrefix, cacheableMonths, fetchedMonths);
+
+        PreSerializedList<T> result = new PreSerializedList<>(objectMapper, modelClass);
+        for (YearMonth month = YearMonth.from(toDate); !month.isBefore(YearMonth.from(fromDate)); month = month.minusMonths(1)) {
+            PreSerializedList.Page page = cachedPages.get(month);
+            if (page != null) result.addPage(page);
+            else result.addModels(fetchedMonths.getOrDefault(month, Collections.emptyList()));
+        }
+        List<T> undatedTransactions = fetchedMonths.get(null);
+        if (undatedTransactions != null) result.addModels(undatedTransactions);
+        return result;
+    }
+
+    /**
+     * Fetches period by one provider call and leaves transactions which are inside of period and not in cached months
+     */
+    private <T> List<T> fetchPeriod(
+            LocalDate fromDate,
+            LocalDate toDate,
+            Set<YearMonth> cachedMonths,
+            Function<T, LocalDate> dateGetter,
+            BiFunction<LocalDate, LocalDate, List<T>> providerCall
+    ) {
+        List<T> transactions = providerCall.apply(fromDate, toDate);
+        if (transactions == null) return Collections.emptyList();
+        return transactions.stream().filter(item -> {
+            LocalDate date = dateGetter.apply(item);
+            return date == null
+                    || (!date.isBefore(fromDate) && !date.isAfter(toDate) && !cachedMonths.contains(YearMonth.from(date)));
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * Stable sort, so transactions of the same date keep order of provider
+     */
+    private <T> List<T> sortByDateDescending(List<T> transactions, Function<T, LocalDate> dateGetter) {
+        List<T> result = new ArrayList<>(transactions);
+        result.sort(Comparator.comparing(dateGetter, Comparator.nullsLast(Comparator.reverseOrder())));
+        return result;
+    }
+
+    private <T> Map<YearMonth, List<T>> groupByMonths(List<T> transactions, Function<T, LocalDate> dateGetter) {
+        Map<YearMonth, List<T>> result = new HashMap<>();
+        for (T transaction : transactions) {
+            LocalDate date = dateGetter.apply(transaction);
+            result.computeIfAbsent(date == null ? null : YearMonth.from(date), key -> new ArrayList<>()).add(transaction);
+        }
+        return result;
+    }
+
+    private <T> void storePages(String pagesKeyPrefix, List<YearMonth> months, Map<YearMonth, List<T>> transactionsByMonths) {
+        for (YearMonth month : months) {
+            List<T> transactions = transactionsByMonths.getOrDefault(month, Collections.emptyList());
+            pagesStore.put(pagesKeyPrefix + month, PreSerializedList.createPage(objectMapper, transactions));
+        }
+    }
+
+    /**
+     * Advances sync marks of transactions delivered by request.
+     * Should be called only after response of request is successfully written,
+     * so transactions of failed or dropped response are delivered again by the next request.
+     *
+     * @param request of Connector API
+     */
+    public void commitSyncMarks(HttpServletRequest request) {
+        Object pendingMarks = request.getAttribute(ATTRIBUTE_PENDING_SYNC_MARKS);
+        if (!(pendingMarks instanceof Map)) return;
+        request.removeAttribute(ATTRIBUTE_PENDING_SYNC_MARKS);
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) pendingMarks).entrySet()) {
+            String markKey = (String) entry.getKey();
+            TransactionsSyncMark mark = (TransactionsSyncMark) entry.getValue();
+            TransactionsSyncMark currentMark = syncMarks.get(markKey);
+            if (currentMark != null && mark.getBookingDate().isBefore(currentMark.getBookingDate())) continue;
+            syncMarks.put(markKey, mark);
+        }
+    }
+
+    /**
+     * Keeps mark of the latest delivered transaction in current request until response is written
+     */
+    private <T> void addPendingSyncMark(
+            String markKey,
+            TransactionsSyncMark previousMark,
+            List<T> transactions,
+            Function<T, String> idGetter,
+            Function<T, LocalDate> dateGetter
+    ) {
+        if (transactions == null || transactions.isEmpty()) return;
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) return;
+        T latest = null;
+        LocalDate latestDate = previousMark == null ? null : previousMark.getBookingDate();
+        for (T transaction : transactions) {
+            LocalDate date = dateGetter.apply(transaction);
+            if (date != null && (latestDate == null || !date.isBefore(latestDate))) {
+                latest = transaction;
+                latestDate = date;
+            }
+        }
+        if (latest == null) return;
+        @SuppressWarnings("unchecked")
+        Map<String, TransactionsSyncMark> pendingMarks =
+                (Map<String, TransactionsSyncMark>) attributes.getAttribute(ATTRIBUTE_PENDING_SYNC_MARKS, RequestAttributes.SCOPE_REQUEST);
+        if (pendingMarks == null) {
+            pendingMarks = new HashMap<>();
+            attributes.setAttribute(ATTRIBUTE_PENDING_SYNC_MARKS, pendingMarks, RequestAttributes.SCOPE_REQUEST);
+        }
+        pendingMarks.put(markKey, new TransactionsSyncMark(idGetter.apply(latest), latestDate));
+    }
+
+    private LocalDate getTransactionDate(Transaction transaction) {
+        return transaction.getBookingDate() == null ? transaction.getValueDate() : transaction.getBookingDate();
+    }
+
+    private LocalDate getCardTransactionDate(CardTransaction transaction) {
+        return transaction.getBookingDate() == null ? transaction.getTransactionDate() : transaction.getBookingDate();
+    }
+}
@@ -22,6 +22,7 @@ package com.saltedge.connector.sdk.api.services.tokens;
 
 import com.saltedge.connector.sdk.SDKConstants;
 import com.saltedge.connector.sdk.api.models.ProviderConsents;
+import com.saltedge.connector.sdk.api.models.err.Unauthorized;
 import com.saltedge.connector.sdk.callback.mapping.SessionSuccessCallbackRequest;
 import com.saltedge.connector.sdk.models.Token;
 import org.slf4j.Logger;
@@ -34,6 +35,7 @@ import org.springframework.validation.annotation.Validated;
 import javax.validation.constraints.NotEmpty;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Date;
 
 @Service
 @Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
@@ -50,19 +52,25 @@ public class ConfirmTokenService extends TokensBaseService {
         Token token = findTokenBySessionSecret(sessionSecret);
         if (token != null) {
             try {
-                token.userId = userId;
-                token.status = Token.Status.CONFIRMED;
-                token.accessToken = accessToken;
-                if (token.tokenExpiresAt == null) {
-                    token.tokenExpiresAt = Instant.now().plus(SDKConstants.CONSENT_MAX_PERIOD, ChronoUnit.DAYS);
-                }
+                Instant tokenExpiresAt = (token.tokenExpiresAt == null)
+                        ? Instant.now().plus(SDKConstants.CONSENT_MAX_PERIOD, ChronoUnit.DAYS) : token.tokenExpiresAt;
+                ProviderConsents consents = token.providerOfferedConsents;
                 if (token.notGlobalConsent()) {
-                    token.providerOfferedConsents = (providerOfferedConsents == null)
-                            ? ProviderConsents.buildAllAccountsConsent() : providerOfferedConsents;
+                    consents = (providerOfferedConsents == null) ? ProviderConsents.buildAllAccountsConsent() : providerOfferedConsents;
+                }
+                boolean confirmed = saveConfirmedToken(token.id, userId, accessToken, tokenExpiresAt, consents);
+                detachToken(token);
+                if (confirmed) {
+                    token.userId = userId;
+                    token.status = Token.Status.CONFIRMED;
+                    token.accessToken = accessToken;
+                    token.tokenExpiresAt = tokenExpiresAt;
+                    token.providerOfferedConsents = consents;
+                    token.version++;
+                    sendSessionSuccess(token);
+                } else {
+                    token = onConfirmConflict(token);
                 }
-                tokensRepository.save(token);
-
-                sendSessionSuccess(token);
             } catch (Exception e) {
                 log.error("initConfirmedTokenAndSendSessionSuccess: ", e);
                 callbackService.sendFailCallback(token.sessionSecret, e);
@@ -71,6 +79,40 @@ public class ConfirmTokenService extends TokensBaseService {
         return token;
     }
 
+    /**
+     * Token is changed only if it is still unconfirmed,
+     * so confirmation can not resurrect token revoked concurrently.
+     * Loaded token is not modified before update, otherwise flush of it would bypass the status check.
+     */
+    private boolean saveConfirmedToken(
+            Long tokenId,
+            String userId,
+            String accessToken,
+            Instant tokenExpiresAt,
+            ProviderConsents consents
+    ) {
+        return tokensRepository.confirmToken(
+                tokenId,
+                userId,
+                accessToken,
+                tokenExpiresAt,
+                consents,
+                new Date(),
+                Token.Status.CONFIRMED,
+                Token.Status.UNCONFIRMED
+        ) > 0;
+    }
+
+    private Token onConfirmConflict(Token token) {
+        Token storedToken = findTokenBySessionSecret(token.sessionSecret);
+        if (storedToken == null) return token;
+        if (storedToken.status == Token.Status.REVOKED) {
+            log.warn("Token is revoked before confirmation (id: " + storedToken.id + ")");
+            callbackService.sendFailCallback(storedToken.sessionSecret, new Unauthorized.AccessDenied());
+        }
+        return storedToken;
+    }
+
     private void sendSessionSuccess(Token token) {
         SessionSuccessCallbackRequest params = new SessionSuccessCallbackRequest(
                 token.providerOfferedConsents,
@@ -28,6 +28,7 @@ import com.saltedge.connector.sdk.api.models.err.HttpErrorParams;
 import com.saltedge.connector.sdk.api.models.err.NotFound;
 import com.saltedge.connector.sdk.api.models.requests.CreateTokenRequest;
 import com.saltedge.connector.sdk.callback.mapping.SessionUpdateCallbackRequest;
+import com.saltedge.connector.sdk.config.AsyncConfig;
 import com.saltedge.connector.sdk.models.Token;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,7 +51,7 @@ import java.time.temporal.ChronoUnit;
 public class CreateTokenService extends TokensBaseService {
     private static Logger log = LoggerFactory.getLogger(CreateTokenService.class);
 
-    @Async
+    @Async(AsyncConfig.TOKENS_EXECUTOR)
     public void startAuthorization(CreateTokenRequest params) {
         try {
             AuthorizationType type = getAuthorizationTypeByCode(params.authorizationType);
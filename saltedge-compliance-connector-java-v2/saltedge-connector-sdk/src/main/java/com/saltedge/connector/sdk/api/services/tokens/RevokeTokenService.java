@@ -21,6 +21,7 @@
 package com.saltedge.connector.sdk.api.services.tokens;
 
 import com.saltedge.connector.sdk.api.models.err.NotFound;
+import com.saltedge.connector.sdk.config.AsyncConfig;
 import com.saltedge.connector.sdk.models.Token;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
@@ -28,10 +29,12 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.util.Date;
+
 @Service
 @Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 public class RevokeTokenService extends TokensBaseService {
-    @Async
+    @Async(AsyncConfig.TOKENS_EXECUTOR)
     public void revokeTokenAsync(Token token) {
         revokeToken(token);
     }
@@ -48,8 +51,15 @@ public class RevokeTokenService extends TokensBaseService {
         return revokeToken(token);
     }
 
+    /**
+     * Status is changed by one conditional statement without reading of token state,
+     * so revoke is not lost if token is confirmed concurrently. Revoke of revoked token changes nothing.
+     */
     private Token revokeToken(@NotNull Token token) {
+        boolean revoked = tokensRepository.revokeToken(token.id, new Date(), Token.Status.REVOKED) > 0;
+        detachToken(token);
+        if (revoked) token.version++;
         token.status = Token.Status.REVOKED;
-        return tokensRepository.save(token);
+        return token;
     }
 }
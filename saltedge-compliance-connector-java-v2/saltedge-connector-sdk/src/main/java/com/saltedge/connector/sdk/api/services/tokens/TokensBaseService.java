@@ -27,12 +27,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
 abstract class TokensBaseService extends BaseService {
     private static Logger log = LoggerFactory.getLogger(TokensBaseService.class);
     @Autowired
     protected TokensRepository tokensRepository;
+    @PersistenceContext
+    private EntityManager entityManager;
 
     public Token findTokenBySessionSecret(String sessionSecret) {
         return tokensRepository.findFirstBySessionSecret(sessionSecret);
     }
+
+    /**
+     * Detaches token changed by conditional update from current persistence context (if it is managed there),
+     * so state loaded before update is neither flushed over it nor returned by next queries.
+     * Other entities of persistence context are not touched.
+     */
+    protected void detachToken(Token token) {
+        if (entityManager.contains(token)) entityManager.detach(token);
+    }
 }
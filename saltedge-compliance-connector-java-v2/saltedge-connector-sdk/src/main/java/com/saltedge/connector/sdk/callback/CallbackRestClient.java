@@ -24,6 +24,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.saltedge.connector.sdk.SDKConstants;
 import com.saltedge.connector.sdk.config.ApplicationProperties;
 import com.saltedge.connector.sdk.config.PrioraProperties;
+import com.saltedge.connector.sdk.callback.mapping.BaseCallbackRequest;
+import com.saltedge.connector.sdk.metrics.FlightRecorderEvents;
+import com.saltedge.connector.sdk.metrics.SdkMetrics;
 import com.saltedge.connector.sdk.tools.JsonTools;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,6 +37,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.StringUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
@@ -51,8 +55,10 @@ public abstract class CallbackRestClient {
     @Autowired
     @Qualifier("saltEdgeRestTemplate")
     public RestTemplate restTemplate;
+    @Autowired
+    public SdkMetrics sdkMetrics = SdkMetrics.DISABLED;
 
-    protected ObjectMapper mapper = JsonTools.createDefaultMapper();
+    protected ObjectMapper mapper = JsonTools.getDefaultMapper();
 
     protected abstract Logger getLogger();
 
@@ -74,30 +80,63 @@ public abstract class CallbackRestClient {
         headersMap.add("App-id", applicationProperties.getPrioraAppId());
         headersMap.add("App-secret", applicationProperties.getPrioraAppSecret());
         if (requestData != null) {
+            FlightRecorderEvents.Stage stage = FlightRecorderEvents.begin(FlightRecorderEvents.STAGE_CALLBACK_SIGNING);
             headersMap.add(
                     SDKConstants.HEADER_AUTHORIZATION,
                     JsonTools.createAuthorizationHeaderValue(requestData, applicationProperties.getConnectorPrivateKey())
             );
+            String sessionSecret = requestData instanceof BaseCallbackRequest ? ((BaseCallbackRequest) requestData).sessionSecret : null;
+            stage.end("callbacks", sessionSecret, null);
         }
         return headersMap;
     }
 
     public void doCallbackRequest(String url, LinkedMultiValueMap<String, String> headers) {
+        long startTime = System.nanoTime();
+        int status = 0;
+        RuntimeException error = null;
         try {
             headers.add("X-HTTP-Method-Override", "PATCH");
             ResponseEntity<Object> response = restTemplate.exchange(url, HttpMethod.POST, new HttpEntity<>(headers), Object.class);
+            if (response != null) status = response.getStatusCodeValue();
         } catch (HttpClientErrorException e) {
+            status = e.getRawStatusCode();
+            error = e;
             e.printStackTrace();
             getLogger().error("HttpClientErrorException:", e);
         } catch (HttpServerErrorException e) {
+            status = e.getRawStatusCode();
+            error = e;
             e.printStackTrace();
             getLogger().error("HttpServerErrorException:", e);
         } catch (UnknownHttpStatusCodeException e) {
+            status = e.getRawStatusCode();
+            error = e;
             e.printStackTrace();
             getLogger().error("UnknownHttpStatusCodeException:", e);
+        } catch (RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            sdkMetrics.recordCallback(createCallbackRoute(url), status, error, startTime);
         }
     }
 
+    /**
+     * Creates low cardinality name of callback for metrics, e.g. `sessions/update` or `tokens/revoke`
+     *
+     * @param url of callback
+     * @return first and last segments of callback path
+     */
+    public static String createCallbackRoute(String url) {
+        if (url == null) return null;
+        int start = url.indexOf(SDKConstants.CALLBACK_BASE_PATH);
+        String path = start < 0 ? url : url.substring(start + SDKConstants.CALLBACK_BASE_PATH.length());
+        String[] segments = StringUtils.tokenizeToStringArray(path, "/");
+        if (segments.length == 0) return null;
+        return segments.length == 1 ? segments[0] : segments[0] + "/" + segments[segments.length - 1];
+    }
+
     public void printPayload(String url, LinkedMultiValueMap<String, String> headers, Object params) {
         try {
             getLogger().info("CallbackRequest:"
@@ -25,6 +25,8 @@ import com.saltedge.connector.sdk.callback.CallbackRestClient;
 import com.saltedge.connector.sdk.callback.mapping.BaseCallbackRequest;
 import com.saltedge.connector.sdk.SDKConstants;
 import com.saltedge.connector.sdk.callback.mapping.BaseFailRequest;
+import com.saltedge.connector.sdk.config.AsyncConfig;
+import com.saltedge.connector.sdk.metrics.CorrelationId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Async;
@@ -38,19 +40,19 @@ import org.springframework.util.LinkedMultiValueMap;
 public class SessionsCallbackService extends CallbackRestClient {
     private static Logger log = LoggerFactory.getLogger(SessionsCallbackService.class);
 
-    @Async
+    @Async(AsyncConfig.CALLBACKS_EXECUTOR)
     public void sendUpdateCallback(String sessionSecret, BaseCallbackRequest params) {
         String url = createCallbackRequestUrl(createSessionPath(sessionSecret) + "/update");
         sendSessionCallback(url, sessionSecret, params);
     }
 
-    @Async
+    @Async(AsyncConfig.CALLBACKS_EXECUTOR)
     public void sendSuccessCallback(String sessionSecret, BaseCallbackRequest params) {
         String url = createCallbackRequestUrl(createSessionPath(sessionSecret) + "/success");
         sendSessionCallback(url, sessionSecret, params);
     }
 
-    @Async
+    @Async(AsyncConfig.CALLBACKS_EXECUTOR)
     public void sendFailCallback(String sessionSecret, Exception exception) {
         BaseFailRequest params = new BaseFailRequest();
         if (exception instanceof HttpErrorParams) {
@@ -63,7 +65,7 @@ public class SessionsCallbackService extends CallbackRestClient {
         sendFailCallback(sessionSecret, params);
     }
 
-    @Async
+    @Async(AsyncConfig.CALLBACKS_EXECUTOR)
     public void sendFailCallback(String sessionSecret, BaseFailRequest params) {
         String url = createCallbackRequestUrl(createSessionPath(sessionSecret) + "/fail");
         sendSessionCallback(url, sessionSecret, params);
@@ -80,6 +82,7 @@ public class SessionsCallbackService extends CallbackRestClient {
 
     public void sendSessionCallback(String url, String sessionSecret, BaseCallbackRequest params) {
         params.sessionSecret = sessionSecret;
+        CorrelationId.putToMdc(sessionSecret);
         LinkedMultiValueMap<String, String> headers = createCallbackRequestHeaders(params);
         printPayload(url, headers, params);
         doCallbackRequest(url, headers);
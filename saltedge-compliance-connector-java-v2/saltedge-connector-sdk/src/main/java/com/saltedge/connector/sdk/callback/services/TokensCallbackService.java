@@ -25,6 +25,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.saltedge.connector.sdk.SDKConstants;
 import com.saltedge.connector.sdk.callback.CallbackRestClient;
 import com.saltedge.connector.sdk.callback.mapping.BaseCallbackRequest;
+import com.saltedge.connector.sdk.config.AsyncConfig;
 import com.saltedge.connector.sdk.tools.JsonTools;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,7 +59,7 @@ public class TokensCallbackService extends CallbackRestClient {
      *
      * @param accessToken unique token of current consent
      */
-    @Async
+    @Async(AsyncConfig.CALLBACKS_EXECUTOR)
     public void sendRevokeTokenCallback(@NotEmpty String accessToken) {
         String url = createCallbackRequestUrl(SDKConstants.CALLBACK_BASE_PATH + "/tokens/revoke");
         LinkedMultiValueMap<String, String> headers = createCallbackRequestHeaders(null);
@@ -0,0 +1,99 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.config;
+
+/**
+ * Admission control of Connector API requests properties from application.yml.
+ * Requests above adaptive concurrency limit are rejected with `503 Service Unavailable` and `Retry-After` header.
+ * Token and payment requests (sessions lane) are limited separately from accounts,
+ * transactions and funds confirmation requests (reads lane), so slow reads do not block new sessions.
+ *
+ * Example of application.yml
+ * connector:
+ *   admission:
+ *     enabled: true
+ *     retry_after_seconds: 1
+ *     reads:
+ *       initial_limit: 50
+ *       min_limit: 10
+ *       max_limit: 500
+ *       latency_threshold_millis: 2000
+ *     sessions:
+ *       initial_limit: 20
+ *       min_limit: 5
+ *       max_limit: 200
+ *       latency_threshold_millis: 2000
+ *
+ * @see AdmissionControlConfig
+ */
+public class AdmissionProperties {
+    /**
+     * If true, Connector API requests above concurrency limit are rejected
+     */
+    private boolean enabled = false;
+
+    /**
+     * Value of `Retry-After` header of rejected requests
+     */
+    private int retryAfterSeconds = 1;
+
+    /**
+     * Limit of accounts, card accounts, transactions and funds confirmation requests
+     */
+    private AdmissionLaneProperties reads = new AdmissionLaneProperties(50, 10, 500);
+
+    /**
+     * Limit of tokens and payments requests
+     */
+    private AdmissionLaneProperties sessions = new AdmissionLaneProperties(20, 5, 200);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void setRetryAfterSeconds(int retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public AdmissionLaneProperties getReads() {
+        return reads;
+    }
+
+    public void setReads(AdmissionLaneProperties reads) {
+        this.reads = reads;
+    }
+
+    public AdmissionLaneProperties getSessions() {
+        return sessions;
+    }
+
+    public void setSessions(AdmissionLaneProperties sessions) {
+        this.sessions = sessions;
+    }
+}
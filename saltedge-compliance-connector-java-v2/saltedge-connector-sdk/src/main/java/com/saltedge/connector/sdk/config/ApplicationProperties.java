@@ -27,6 +27,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Configuration;
 import org.springframework.util.StringUtils;
 
+import javax.annotation.PostConstruct;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import java.security.PrivateKey;
@@ -38,15 +39,51 @@ import java.security.PublicKey;
  * Example of application.yml
  * connector:
  *   private_key_name: connector_private_prod.pem
+ *   virtual_threads: false
+ *   retry_after_seconds: 1
  *   priora:
  *     app_code: spring_connector_example
  *     app_id: xxxxxxxxx
  *     app_secret: xxxxxxxxx
  *     base_url: https://priora.saltedge.com/
  *     public_key_name: priora_public_prod.pem
+ *   accounts_cache:
+ *     max_size: 10000
+ *     ttl_seconds: 60
+ *   transactions:
+ *     incremental_sync: false
+ *   compression:
+ *     enabled: false
+ *   exchange_rates:
+ *     refresh_seconds: 60
+ *   metrics:
+ *     enabled: true
+ *   async:
+ *     tokens:
+ *       core_pool_size: 4
+ *       max_pool_size: 16
+ *       queue_capacity: 200
+ *     payments:
+ *       core_pool_size: 4
+ *       max_pool_size: 16
+ *       queue_capacity: 200
+ *     callbacks:
+ *       core_pool_size: 4
+ *       max_pool_size: 16
+ *       queue_capacity: 1000
+ *   admission:
+ *     enabled: false
+ *   tpp_quotas:
+ *     enabled: false
+ *   warm_up:
+ *     enabled: false
+ *   consents_migration:
+ *     enabled: false
+ *
+ * Keys are loaded and validated on start of application context.
  */
 @Configuration
-@EnableConfigurationProperties(ApplicationProperties.class)
+@EnableConfigurationProperties
 @ConfigurationProperties("connector")
 public class ApplicationProperties {
     /**
@@ -59,6 +96,18 @@ public class ApplicationProperties {
      */
     private String privateKey = "";
 
+    /**
+     * Run Tomcat requests and SDK executors on virtual threads (requires JDK 21+)
+     * @see VirtualThreadsConfig
+     */
+    private boolean virtualThreads = false;
+
+    /**
+     * Value of `Retry-After` header of `503 Service Unavailable` error responses (e.g. overloaded SDK executors).
+     * Requests rejected by admission control and TPP quotas use `retry_after_seconds` of their settings.
+     */
+    private int retryAfterSeconds = 1;
+
     /**
      * Salt Edge Compliance related params
      * @see PrioraProperties
@@ -66,7 +115,82 @@ public class ApplicationProperties {
     @NotNull
     private PrioraProperties priora;
 
-    private PrivateKey connectorPrivateKey;
+    /**
+     * Accounts cache related params
+     * @see AccountsCacheProperties
+     */
+    private AccountsCacheProperties accountsCache = new AccountsCacheProperties();
+
+    /**
+     * Transactions related params
+     * @see TransactionsProperties
+     */
+    private TransactionsProperties transactions = new TransactionsProperties();
+
+    /**
+     * Compression of responses related params
+     * @see CompressionProperties
+     */
+    private CompressionProperties compression = new CompressionProperties();
+
+    /**
+     * Exchange rates related params
+     * @see ExchangeRatesProperties
+     */
+    private ExchangeRatesProperties exchangeRates = new ExchangeRatesProperties();
+
+    /**
+     * Metrics related params
+     * @see MetricsProperties
+     */
+    private MetricsProperties metrics = new MetricsProperties();
+
+    /**
+     * SDK executors properties
+     * @see AsyncProperties
+     */
+    private AsyncProperties async = new AsyncProperties();
+
+    /**
+     * Admission control of Connector API requests
+     * @see AdmissionProperties
+     */
+    private AdmissionProperties admission = new AdmissionProperties();
+
+    /**
+     * Per-TPP quotas of Connector API requests
+     * @see TppQuotasProperties
+     */
+    private TppQuotasProperties tppQuotas = new TppQuotasProperties();
+
+    /**
+     * Warm-up of SDK on start of application
+     * @see WarmUpProperties
+     */
+    private WarmUpProperties warmUp = new WarmUpProperties();
+
+    /**
+     * Conversion of consents stored as JSON by previous versions of SDK
+     * @see ConsentsMigrationProperties
+     */
+    private ConsentsMigrationProperties consentsMigration = new ConsentsMigrationProperties();
+
+    private volatile PrivateKey connectorPrivateKey;
+
+    /**
+     * Loads Connector's private key and Salt Edge Compliance public key,
+     * so invalid or missing keys fail start of application instead of first request.
+     *
+     * @throws IllegalStateException if key is missing or invalid
+     */
+    @PostConstruct
+    public void loadKeys() {
+        connectorPrivateKey = loadConnectorPrivateKey();
+        if (connectorPrivateKey == null) {
+            throw new IllegalStateException("Connector private key is missing or invalid (private_key_name: " + privateKeyName + ")");
+        }
+        if (priora != null) priora.loadKeys();
+    }
 
     public String getPrioraAppCode() {
         return priora.getAppCode();
@@ -85,14 +209,20 @@ public class ApplicationProperties {
     }
 
     public PrivateKey getConnectorPrivateKey() {
-        if (connectorPrivateKey == null) {
-            if (StringUtils.isEmpty(privateKey)) {
-                connectorPrivateKey = KeyTools.convertPemStringToPrivateKey(ResourceTools.readKeyFile(privateKeyName));
-            } else {
-                connectorPrivateKey = KeyTools.convertPemStringToPrivateKey(privateKey);
-            }
+        PrivateKey result = connectorPrivateKey;
+        if (result == null) {
+            result = loadConnectorPrivateKey();
+            connectorPrivateKey = result;
+        }
+        return result;
+    }
+
+    private PrivateKey loadConnectorPrivateKey() {
+        if (StringUtils.isEmpty(privateKey)) {
+            return KeyTools.convertPemStringToPrivateKey(ResourceTools.readKeyFile(privateKeyName));
+        } else {
+            return KeyTools.convertPemStringToPrivateKey(privateKey);
         }
-        return connectorPrivateKey;
     }
 
     public String getPrivateKeyName() {
@@ -111,6 +241,86 @@ public class ApplicationProperties {
         this.priora = priora;
     }
 
+    public AccountsCacheProperties getAccountsCache() {
+        return accountsCache;
+    }
+
+    public void setAccountsCache(AccountsCacheProperties accountsCache) {
+        this.accountsCache = accountsCache;
+    }
+
+    public TransactionsProperties getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(TransactionsProperties transactions) {
+        this.transactions = transactions;
+    }
+
+    public CompressionProperties getCompression() {
+        return compression;
+    }
+
+    public void setCompression(CompressionProperties compression) {
+        this.compression = compression;
+    }
+
+    public ExchangeRatesProperties getExchangeRates() {
+        return exchangeRates;
+    }
+
+    public void setExchangeRates(ExchangeRatesProperties exchangeRates) {
+        this.exchangeRates = exchangeRates;
+    }
+
+    public MetricsProperties getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(MetricsProperties metrics) {
+        this.metrics = metrics;
+    }
+
+    public AsyncProperties getAsync() {
+        return async;
+    }
+
+    public void setAsync(AsyncProperties async) {
+        this.async = async;
+    }
+
+    public AdmissionProperties getAdmission() {
+        return admission;
+    }
+
+    public void setAdmission(AdmissionProperties admission) {
+        this.admission = admission;
+    }
+
+    public TppQuotasProperties getTppQuotas() {
+        return tppQuotas;
+    }
+
+    public void setTppQuotas(TppQuotasProperties tppQuotas) {
+        this.tppQuotas = tppQuotas;
+    }
+
+    public WarmUpProperties getWarmUp() {
+        return warmUp;
+    }
+
+    public void setWarmUp(WarmUpProperties warmUp) {
+        this.warmUp = warmUp;
+    }
+
+    public ConsentsMigrationProperties getConsentsMigration() {
+        return consentsMigration;
+    }
+
+    public void setConsentsMigration(ConsentsMigrationProperties consentsMigration) {
+        this.consentsMigration = consentsMigration;
+    }
+
     public String getPrivateKey() {
         return privateKey;
     }
@@ -118,4 +328,20 @@ public class ApplicationProperties {
     public void setPrivateKey(final String privateKey) {
         this.privateKey = privateKey;
     }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void setRetryAfterSeconds(int retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
 }
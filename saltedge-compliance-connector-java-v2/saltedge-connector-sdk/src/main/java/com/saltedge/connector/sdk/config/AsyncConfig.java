@@ -0,0 +1,175 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.config;
+
+import com.saltedge.connector.sdk.metrics.SdkMetrics;
+import com.saltedge.connector.sdk.metrics.SdkTaskDecorator;
+import com.saltedge.connector.sdk.tools.VirtualThreads;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executors of SDK async tasks: token flows, payment flows and callbacks to Salt Edge Compliance.
+ * Executors have bounded queues, so memory and latency stay predictable under bursts of requests.
+ * Rejected token and payment flows are failed with fail callback by controllers,
+ * rejected callbacks are retried later by {@link RetryRejectedPolicy}, so request threads are never blocked by callbacks.
+ *
+ * If `connector.virtual_threads` is enabled and JVM supports virtual threads, executors start new virtual thread
+ * for each task (without pool and queue), count of running tasks is limited by max_pool_size + queue_capacity.
+ *
+ * SDK services are executed by these executors if application enables async execution (`@EnableAsync`).
+ * Spring Boot does not create its default executor if any other Executor bean exists,
+ * so it is registered here (`applicationTaskExecutor`, primary) for Spring MVC async requests
+ * and application's own `@Async` methods.
+ *
+ * @see AsyncProperties
+ */
+@Configuration
+public class AsyncConfig {
+    public final static String TOKENS_EXECUTOR = "connectorTokensExecutor";
+    public final static String PAYMENTS_EXECUTOR = "connectorPaymentsExecutor";
+    public final static String CALLBACKS_EXECUTOR = "connectorCallbacksExecutor";
+    final static int CALLBACK_RETRY_ATTEMPTS = 5;
+    final static long CALLBACK_RETRY_DELAY_MILLIS = 1000;
+
+    /**
+     * Default executor of Spring Boot, configured by `spring.task.execution.*` properties
+     */
+    @Lazy
+    @Primary
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ObjectProvider<TaskExecutorBuilder> taskExecutorBuilder) {
+        return taskExecutorBuilder.getIfAvailable(TaskExecutorBuilder::new).build();
+    }
+
+    @Bean(name = TOKENS_EXECUTOR)
+    public AsyncTaskExecutor connectorTokensExecutor(ApplicationProperties applicationProperties, SdkMetrics sdkMetrics) {
+        return createExecutor("tokens", applicationProperties.getAsync().getTokens(), null, 0, applicationProperties, sdkMetrics);
+    }
+
+    @Bean(name = PAYMENTS_EXECUTOR)
+    public AsyncTaskExecutor connectorPaymentsExecutor(ApplicationProperties applicationProperties, SdkMetrics sdkMetrics) {
+        return createExecutor("payments", applicationProperties.getAsync().getPayments(), null, 0, applicationProperties, sdkMetrics);
+    }
+
+    @Bean(name = CALLBACKS_EXECUTOR)
+    public AsyncTaskExecutor connectorCallbacksExecutor(ApplicationProperties applicationProperties, SdkMetrics sdkMetrics) {
+        ExecutorProperties properties = applicationProperties.getAsync().getCallbacks();
+        RetryRejectedPolicy retryPolicy = new RetryRejectedPolicy(
+                "callbacks",
+                CALLBACK_RETRY_ATTEMPTS,
+                CALLBACK_RETRY_DELAY_MILLIS,
+                properties.getQueueCapacity()
+        );
+        return createExecutor("callbacks", properties, retryPolicy, 30, applicationProperties, sdkMetrics);
+    }
+
+    /**
+     * Creates pool executor or, if virtual threads are enabled and supported, executor of virtual thread per task.
+     * Rejected tasks are retried by retry policy or rejected with TaskRejectedException if retry policy is null.
+     */
+    private static AsyncTaskExecutor createExecutor(
+            String name,
+            ExecutorProperties properties,
+            RetryRejectedPolicy retryPolicy,
+            int awaitTerminationSeconds,
+            ApplicationProperties applicationProperties,
+            SdkMetrics sdkMetrics
+    ) {
+        if (applicationProperties.isVirtualThreads() && VirtualThreads.isSupported()) {
+            ThreadPerTaskExecutor executor = createThreadPerTaskExecutor(
+                    name,
+                    properties,
+                    retryPolicy,
+                    VirtualThreads.newThreadFactory("connector-" + name + "-"),
+                    sdkMetrics
+            );
+            executor.setAwaitTerminationSeconds(awaitTerminationSeconds);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = createExecutor(
+                name,
+                properties,
+                retryPolicy == null ? new ThreadPoolExecutor.AbortPolicy() : retryPolicy,
+                sdkMetrics
+        );
+        if (awaitTerminationSeconds > 0) {
+            executor.setWaitForTasksToCompleteOnShutdown(true);
+            executor.setAwaitTerminationSeconds(awaitTerminationSeconds);
+        }
+        return executor;
+    }
+
+    static ThreadPoolTaskExecutor createExecutor(
+            String name,
+            ExecutorProperties properties,
+            RejectedExecutionHandler rejectionPolicy,
+            SdkMetrics sdkMetrics
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getCorePoolSize());
+        executor.setMaxPoolSize(Math.max(properties.getCorePoolSize(), properties.getMaxPoolSize()));
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("connector-" + name + "-");
+        executor.setTaskDecorator(new SdkTaskDecorator(sdkMetrics, name));
+        executor.setRejectedExecutionHandler((runnable, pool) -> {
+            sdkMetrics.recordRejectedTask(name);
+            rejectionPolicy.rejectedExecution(runnable, pool);
+        });
+        sdkMetrics.registerExecutor(name, executor);
+        return executor;
+    }
+
+    /**
+     * Thread per task executor has no pool and queue, count of running and waiting tasks of pool executor
+     * (max_pool_size + queue_capacity) becomes limit of running tasks.
+     */
+    static ThreadPerTaskExecutor createThreadPerTaskExecutor(
+            String name,
+            ExecutorProperties properties,
+            RetryRejectedPolicy retryPolicy,
+            ThreadFactory threadFactory,
+            SdkMetrics sdkMetrics
+    ) {
+        int maxTasks = Math.max(properties.getCorePoolSize(), properties.getMaxPoolSize()) + properties.getQueueCapacity();
+        ThreadPerTaskExecutor executor = new ThreadPerTaskExecutor(
+                name,
+                maxTasks,
+                threadFactory,
+                retryPolicy,
+                new SdkTaskDecorator(sdkMetrics, name),
+                sdkMetrics
+        );
+        sdkMetrics.registerExecutor(name, executor, ThreadPerTaskExecutor::getActiveCount);
+        return executor;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.config;
+
+/**
+ * Properties of SDK executors from application.yml.
+ * Token flows (create, revoke), payment flows and callbacks to Salt Edge Compliance
+ * are executed by separate executors with bounded queues.
+ *
+ * Example of application.yml
+ * connector:
+ *   async:
+ *     tokens:
+ *       core_pool_size: 4
+ *       max_pool_size: 16
+ *       queue_capacity: 200
+ *     payments:
+ *       core_pool_size: 4
+ *       max_pool_size: 16
+ *       queue_capacity: 200
+ *     callbacks:
+ *       core_pool_size: 4
+ *       max_pool_size: 16
+ *       queue_capacity: 1000
+ *
+ * @see AsyncConfig
+ */
+public class AsyncProperties {
+    /**
+     * Executor of token flows. Rejected flow is failed with fail callback.
+     */
+    private ExecutorProperties tokens = new ExecutorProperties(4, 16, 200);
+    /**
+     * Executor of payment flows. Rejected flow is failed with fail callback.
+     */
+    private ExecutorProperties payments = new ExecutorProperties(4, 16, 200);
+    /**
+     * Executor of callbacks. Rejected callback is retried later (up to 5 attempts, queue_capacity callbacks wait for retry at most).
+     */
+    private ExecutorProperties callbacks = new ExecutorProperties(4, 16, 1000);
+
+    public ExecutorProperties getTokens() {
+        return tokens;
+    }
+
+    public void setTokens(ExecutorProperties tokens) {
+        this.tokens = tokens;
+    }
+
+    public ExecutorProperties getPayments() {
+        return payments;
+    }
+
+    public void setPayments(ExecutorProperties payments) {
+        this.payments = payments;
+    }
+
+    public ExecutorProperties getCallbacks() {
+        return callbacks;
+    }
+
+    public void setCallbacks(ExecutorProperties callbacks) {
+        this.callbacks = callbacks;
+    }
+}
@@ -20,11 +20,15 @@
  */
 package com.saltedge.connector.sdk.config;
 
+import com.saltedge.connector.sdk.SDKConstants;
+import com.saltedge.connector.sdk.api.interceptors.ApiMetricsInterceptor;
 import com.saltedge.connector.sdk.api.interceptors.PrioraRequestResolver;
+import com.saltedge.connector.sdk.api.interceptors.SyncMarksInterceptor;
 import com.saltedge.connector.sdk.api.interceptors.TokenResolver;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.util.List;
@@ -38,10 +42,20 @@ public class InterceptorsAppConfig implements WebMvcConfigurer {
     PrioraRequestResolver prioraRequestResolver;
     @Autowired
     TokenResolver tokenResolver;
+    @Autowired
+    ApiMetricsInterceptor apiMetricsInterceptor;
+    @Autowired
+    SyncMarksInterceptor syncMarksInterceptor;
 
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
         resolvers.add(prioraRequestResolver);
         resolvers.add(tokenResolver);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(apiMetricsInterceptor).addPathPatterns(SDKConstants.API_BASE_PATH + "/**");
+        registry.addInterceptor(syncMarksInterceptor).addPathPatterns(SDKConstants.API_BASE_PATH + "/**");
+    }
 }
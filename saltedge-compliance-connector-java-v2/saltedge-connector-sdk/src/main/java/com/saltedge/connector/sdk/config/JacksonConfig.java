@@ -0,0 +1,88 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.config;
+
+import com.saltedge.connector.sdk.metrics.FlightRecorderEvents;
+import com.saltedge.connector.sdk.tools.JsonTools;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Configuration of JSON message converter for SDK models.
+ * SDK request and response models are converted by shared SDK mapper (see JsonTools.getDefaultMapper()),
+ * other models of application are converted by application's converters.
+ */
+@Configuration
+public class JacksonConfig implements WebMvcConfigurer {
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new SdkMessageConverter());
+    }
+
+    static class SdkMessageConverter extends MappingJackson2HttpMessageConverter {
+        private static final String SDK_PACKAGE = "com.saltedge.connector.sdk.";
+
+        SdkMessageConverter() {
+            super(JsonTools.getDefaultMapper());
+        }
+
+        @Override
+        public boolean canRead(Class<?> clazz, MediaType mediaType) {
+            return isSdkModel(clazz) && super.canRead(clazz, mediaType);
+        }
+
+        @Override
+        public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+            return type instanceof Class && isSdkModel((Class<?>) type) && super.canRead(type, contextClass, mediaType);
+        }
+
+        @Override
+        public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+            return isSdkModel(clazz) && super.canWrite(clazz, mediaType);
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                throws IOException, HttpMessageNotWritableException {
+            FlightRecorderEvents.Stage stage = FlightRecorderEvents.begin(FlightRecorderEvents.STAGE_SERIALIZATION);
+            try {
+                super.writeInternal(object, type, outputMessage);
+                stage.end(null);
+            } catch (IOException | RuntimeException e) {
+                stage.end(e);
+                throw e;
+            }
+        }
+
+        private static boolean isSdkModel(Class<?> clazz) {
+            return clazz != null && clazz.getName().startsWith(SDK_PACKAGE);
+        }
+    }
+}
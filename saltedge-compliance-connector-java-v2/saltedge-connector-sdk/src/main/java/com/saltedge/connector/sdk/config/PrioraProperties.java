@@ -46,7 +46,7 @@ import java.security.PublicKey;
 @Configuration
 public class PrioraProperties {
 
-    private PublicKey prioraPublicKey;
+    private volatile PublicKey prioraPublicKey;
 
     /**
      * Registered Connector code
@@ -97,14 +97,32 @@ public class PrioraProperties {
     }
 
     public PublicKey getPrioraPublicKey() {
+        PublicKey result = prioraPublicKey;
+        if (result == null) {
+            result = loadPrioraPublicKey();
+            prioraPublicKey = result;
+        }
+        return result;
+    }
+
+    /**
+     * Loads Salt Edge Compliance public key
+     *
+     * @throws IllegalStateException if key is missing or invalid
+     */
+    public void loadKeys() {
+        prioraPublicKey = loadPrioraPublicKey();
         if (prioraPublicKey == null) {
-            if (StringUtils.isEmpty(publicKey)) {
-                prioraPublicKey = KeyTools.convertPemStringToPublicKey(ResourceTools.readKeyFile(publicKeyName));
-            } else {
-                prioraPublicKey = KeyTools.convertPemStringToPublicKey(publicKey);
-            }
+            throw new IllegalStateException("Salt Edge Compliance public key is missing or invalid (public_key_name: " + publicKeyName + ")");
+        }
+    }
+
+    private PublicKey loadPrioraPublicKey() {
+        if (StringUtils.isEmpty(publicKey)) {
+            return KeyTools.convertPemStringToPublicKey(ResourceTools.readKeyFile(publicKeyName));
+        } else {
+            return KeyTools.convertPemStringToPublicKey(publicKey);
         }
-        return prioraPublicKey;
     }
 
     public String getAppCode() {
@@ -0,0 +1,107 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Rejection policy which retries rejected task later on its own scheduler thread,
+ * so blocking tasks (e.g. callbacks to Salt Edge Compliance) are never executed by calling (request) thread.
+ * Task is offered again to executor with growing delay (delay * attempt) up to max attempts,
+ * then it is dropped with error in log.
+ * Task is rejected at once if count of tasks waiting for retry reaches max pending tasks.
+ */
+class RetryRejectedPolicy implements RejectedExecutionHandler {
+    private static Logger log = LoggerFactory.getLogger(RetryRejectedPolicy.class);
+    private final String name;
+    private final int maxAttempts;
+    private final long delayMillis;
+    private final int maxPendingTasks;
+    private final AtomicInteger pendingTasks = new AtomicInteger();
+    private final ScheduledExecutorService scheduler;
+
+    RetryRejectedPolicy(String name, int maxAttempts, long delayMillis, int maxPendingTasks) {
+        this.name = name;
+        this.maxAttempts = maxAttempts;
+        this.delayMillis = delayMillis;
+        this.maxPendingTasks = maxPendingTasks;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connector-" + name + "-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor pool) {
+        retry(task, pool.getQueue()::offer, pool::isShutdown);
+    }
+
+    /**
+     * Schedules retry of rejected task
+     *
+     * @param task rejected task
+     * @param resubmit offers task to executor again, returns false if task is rejected again
+     * @param shutdown returns true if executor is shut down
+     * @throws RejectedExecutionException if executor is shut down or too many tasks are waiting for retry
+     */
+    void retry(Runnable task, Predicate<Runnable> resubmit, BooleanSupplier shutdown) {
+        if (shutdown.getAsBoolean()) throw new RejectedExecutionException("Executor " + name + " is shut down");
+        if (pendingTasks.incrementAndGet() > maxPendingTasks) {
+            pendingTasks.decrementAndGet();
+            log.error("Task of {} executor is rejected: {} tasks are waiting for retry", name, maxPendingTasks);
+            throw new RejectedExecutionException("Executor " + name + " is overloaded");
+        }
+        log.warn("Task of {} executor is rejected, retry in {} ms", name, delayMillis);
+        schedule(task, 1, resubmit, shutdown);
+    }
+
+    int getPendingTasks() {
+        return pendingTasks.get();
+    }
+
+    private void schedule(Runnable task, int attempt, Predicate<Runnable> resubmit, BooleanSupplier shutdown) {
+        scheduler.schedule(() -> {
+            if (shutdown.getAsBoolean()) {
+                pendingTasks.decrementAndGet();
+                log.error("Task of {} executor is dropped: executor is shut down", name);
+            } else if (resubmit.test(task)) {
+                pendingTasks.decrementAndGet();
+            } else if (attempt >= maxAttempts) {
+                pendingTasks.decrementAndGet();
+                log.error("Task of {} executor is dropped after {} attempts", name, attempt);
+            } else {
+                schedule(task, attempt + 1, resubmit, shutdown);
+            }
+        }, delayMillis * attempt, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saltedge.connector.sdk.SDKConstants;
+import com.saltedge.connector.sdk.api.models.*;
+import com.saltedge.connector.sdk.api.models.requests.CreatePaymentRequest;
+import com.saltedge.connector.sdk.api.models.requests.CreateTokenRequest;
+import com.saltedge.connector.sdk.api.models.requests.FundsConfirmationRequest;
+import com.saltedge.connector.sdk.api.models.requests.TransactionsRequest;
+import com.saltedge.connector.sdk.api.models.responses.AccountsResponse;
+import com.saltedge.connector.sdk.api.models.responses.TransactionsResponse;
+import com.saltedge.connector.sdk.tools.JsonTools;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Warms up SDK after all singletons are created and before web server starts accepting requests.
+ * Connector API requests are signed by Connector's private key and verified by its public key,
+ * because private key of Salt Edge Compliance is not available, so same JWT and JSON code is executed as on real requests.
+ * Responses are only serialized, as Connector never reads them.
+ * Errors of warm-up are logged and do not fail start of application.
+ *
+ * @see WarmUpProperties
+ */
+@Component
+public class SdkWarmUp implements SmartInitializingSingleton {
+    private static Logger log = LoggerFactory.getLogger(SdkWarmUp.class);
+    @Autowired
+    ApplicationProperties applicationProperties;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        WarmUpProperties properties = applicationProperties.getWarmUp();
+        if (properties == null || !properties.isEnabled()) return;
+        long startTime = System.nanoTime();
+        try {
+            int count = warmUp(properties.getIterations());
+            log.info("SDK warm-up: " + count + " operations in " + (System.nanoTime() - startTime) / 1_000_000L + " ms");
+        } catch (Exception e) {
+            log.warn("SDK warm-up error", e);
+        }
+    }
+
+    /**
+     * Runs warm-up
+     *
+     * @param iterations count of iterations
+     * @return count of executed operations
+     * @throws IOException if response can not be serialized
+     * @throws GeneralSecurityException if public key can not be derived from private key
+     */
+    public int warmUp(int iterations) throws IOException, GeneralSecurityException {
+        ObjectMapper mapper = JsonTools.getDefaultMapper();
+        PrivateKey privateKey = applicationProperties.getConnectorPrivateKey();
+        PublicKey publicKey = derivePublicKey(privateKey);
+        List<Object> requests = createRequests();
+        List<Object> responses = createResponses();
+        JwtParser parser = Jwts.parserBuilder().setSigningKey(publicKey).build();
+
+        int result = 0;
+        for (int i = 0; i < iterations; i++) {
+            for (Object request : requests) {
+                String authorization = JsonTools.createAuthorizationHeaderValue(request, privateKey);
+                Claims claims = parser
+                        .parseClaimsJws(authorization.replace("Bearer ", ""))
+                        .getBody();
+                mapper.convertValue(claims.get(SDKConstants.KEY_DATA, Map.class), request.getClass());
+                result++;
+            }
+            for (Object response : responses) {
+                mapper.writeValueAsBytes(response);
+                result++;
+            }
+        }
+        return result;
+    }
+
+    private static PublicKey derivePublicKey(PrivateKey privateKey) throws GeneralSecurityException {
+        if (!(privateKey instanceof RSAPrivateCrtKey)) {
+            throw new GeneralSecurityException("Public key can not be derived from Connector private key");
+        }
+        RSAPrivateCrtKey key = (RSAPrivateCrtKey) privateKey;
+        return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(key.getModulus(), key.getPublicExponent()));
+    }
+
+    private static List<Object> createRequests() {
+        List<Object> result = new ArrayList<>();
+        Account creditor = createAccount("creditor", "DE89370400440532013000");
+        Account debtor = createAccount("debtor", "MD24AG000225100013104168");
+
+        CreateTokenRequest createToken = new CreateTokenRequest();
+        createToken.sessionSecret = "warm-up";
+        createToken.providerCode = "warm-up";
+        createToken.tppAppName = "warm-up";
+        createToken.authorizationType = "oauth";
+        createToken.redirectUrl = "https://example.com/callback";
+        createToken.requestedConsent = ProviderConsents.buildAllAccountsConsent();
+        createToken.validUntil = LocalDate.now().plusDays(90);
+        result.add(createToken);
+
+        result.add(new TransactionsRequest("debtor", LocalDate.now().minusDays(90), LocalDate.now(), "warm-up"));
+
+        CreatePaymentRequest createPayment = new CreatePaymentRequest(
+                "warm-up",
+                "warm-up",
+                "https://example.com/callback",
+                new PaymentOrder(creditor, "Creditor", debtor, new Amount("1.00", "EUR"), "warm-up", "warm-up")
+        );
+        createPayment.sessionSecret = "warm-up";
+        result.add(createPayment);
+
+        result.add(new FundsConfirmationRequest(debtor, new Amount("1.00", "EUR")));
+        return result;
+    }
+
+    private static List<Object> createResponses() {
+        List<Object> result = new ArrayList<>();
+        Account account = createAccount("debtor", "MD24AG000225100013104168");
+        account.setBalances(Collections.singletonList(new AccountBalance("1000.00", "EUR", "interimAvailable")));
+        result.add(new AccountsResponse(Collections.singletonList(account)));
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            transactions.add(new Transaction("transaction" + i, "-" + i + ".50", "EUR", "booked", LocalDate.now().minusDays(i)));
+        }
+        result.add(new TransactionsResponse(transactions));
+        return result;
+    }
+
+    private static Account createAccount(String id, String iban) {
+        Account result = new Account(id, id, new ArrayList<>(), "CACC", "EUR");
+        result.setIban(iban);
+        return result;
+    }
+}
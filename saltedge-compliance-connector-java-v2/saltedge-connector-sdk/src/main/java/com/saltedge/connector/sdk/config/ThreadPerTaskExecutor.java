@@ -0,0 +1,127 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.config;
+
+import com.saltedge.connector.sdk.metrics.SdkMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor which starts new thread of thread factory (virtual thread) for each task, without pool and queue.
+ * Count of running tasks is bounded by semaphore, tasks above the limit are rejected
+ * with TaskRejectedException or retried by {@link RetryRejectedPolicy}.
+ *
+ * @see AsyncConfig
+ */
+class ThreadPerTaskExecutor extends SimpleAsyncTaskExecutor implements DisposableBean {
+    private final String name;
+    private final int maxTasks;
+    private final Semaphore permits;
+    private final RetryRejectedPolicy retryPolicy;
+    private final TaskDecorator decorator;
+    private final SdkMetrics sdkMetrics;
+    private int awaitTerminationSeconds;
+    private volatile boolean shutdown;
+
+    /**
+     * @param name name of executor
+     * @param maxTasks max count of running tasks
+     * @param threadFactory factory of threads of tasks
+     * @param retryPolicy retry of rejected tasks, null if rejected tasks are not retried
+     * @param decorator decorator of tasks, applied once on submit (in calling thread), also for retried tasks
+     * @param sdkMetrics metrics of executor
+     */
+    ThreadPerTaskExecutor(
+            String name,
+            int maxTasks,
+            ThreadFactory threadFactory,
+            RetryRejectedPolicy retryPolicy,
+            TaskDecorator decorator,
+            SdkMetrics sdkMetrics
+    ) {
+        super(threadFactory);
+        this.name = name;
+        this.maxTasks = maxTasks;
+        this.permits = new Semaphore(maxTasks);
+        this.retryPolicy = retryPolicy;
+        this.decorator = decorator;
+        this.sdkMetrics = sdkMetrics;
+    }
+
+    /**
+     * @param awaitTerminationSeconds time which destroy waits for running tasks
+     */
+    public void setAwaitTerminationSeconds(int awaitTerminationSeconds) {
+        this.awaitTerminationSeconds = awaitTerminationSeconds;
+    }
+
+    @Override
+    public void execute(Runnable task, long startTimeout) {
+        Runnable decoratedTask = decorator == null ? task : decorator.decorate(task);
+        if (tryExecute(decoratedTask)) return;
+        sdkMetrics.recordRejectedTask(name);
+        if (retryPolicy == null || shutdown) throw new TaskRejectedException("Executor " + name + " did not accept task: " + task);
+        try {
+            retryPolicy.retry(decoratedTask, this::tryExecute, () -> shutdown);
+        } catch (RejectedExecutionException e) {
+            throw new TaskRejectedException("Executor " + name + " did not accept task: " + task, e);
+        }
+    }
+
+    /**
+     * @return count of running tasks
+     */
+    public int getActiveCount() {
+        return maxTasks - permits.availablePermits();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        shutdown = true;
+        if (awaitTerminationSeconds > 0 && permits.tryAcquire(maxTasks, awaitTerminationSeconds, TimeUnit.SECONDS)) {
+            permits.release(maxTasks);
+        }
+    }
+
+    private boolean tryExecute(Runnable task) {
+        if (shutdown || !permits.tryAcquire()) return false;
+        try {
+            doExecute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+            return true;
+        } catch (RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-TPP quotas of Connector API requests properties from application.yml.
+ * Requests of TPP (identified by TPP name of Access Token) above its quota are rejected with `429 Too Many Requests`.
+ * Provider calls above max_concurrent_provider_calls are queued and served in proportion to weights of TPPs,
+ * so one TPP can not take all provider capacity.
+ *
+ * Example of application.yml
+ * connector:
+ *   tpp_quotas:
+ *     enabled: true
+ *     max_concurrent_provider_calls: 32
+ *     queue_timeout_millis: 5000
+ *     retry_after_seconds: 1
+ *     defaults:
+ *       requests_per_second: 20
+ *       burst: 40
+ *       weight: 1
+ *     tpps:
+ *       "[Fentury]":
+ *         requests_per_second: 50
+ *         burst: 100
+ *         weight: 2
+ *
+ * @see com.saltedge.connector.sdk.api.services.TppQuotaService
+ */
+public class TppQuotasProperties {
+    /**
+     * If true, requests of TPPs are limited by quotas and provider calls are scheduled by weights of TPPs
+     */
+    private boolean enabled = false;
+
+    /**
+     * Max count of provider calls of Connector API requests executed at once, 0 disables queue of provider calls
+     */
+    private int maxConcurrentProviderCalls = 32;
+
+    /**
+     * Max time of waiting of provider call in queue, after that request is rejected with `503 Service Unavailable`
+     */
+    private long queueTimeoutMillis = 5000;
+
+    /**
+     * Value of `Retry-After` header of requests rejected with `429 Too Many Requests`
+     */
+    private int retryAfterSeconds = 1;
+
+    /**
+     * Quota of TPPs not listed in tpps
+     */
+    private TppQuotaProperties defaults = new TppQuotaProperties(20, 40, 1.0);
+
+    /**
+     * Quotas of TPPs by TPP name
+     */
+    private Map<String, TppQuotaProperties> tpps = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxConcurrentProviderCalls() {
+        return maxConcurrentProviderCalls;
+    }
+
+    public void setMaxConcurrentProviderCalls(int maxConcurrentProviderCalls) {
+        this.maxConcurrentProviderCalls = maxConcurrentProviderCalls;
+    }
+
+    public long getQueueTimeoutMillis() {
+        return queueTimeoutMillis;
+    }
+
+    public void setQueueTimeoutMillis(long queueTimeoutMillis) {
+        this.queueTimeoutMillis = queueTimeoutMillis;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void setRetryAfterSeconds(int retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public TppQuotaProperties getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(TppQuotaProperties defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, TppQuotaProperties> getTpps() {
+        return tpps;
+    }
+
+    public void setTpps(Map<String, TppQuotaProperties> tpps) {
+        this.tpps = tpps;
+    }
+
+    /**
+     * @param tppName name of TPP
+     * @return quota of TPP or default quota
+     */
+    public TppQuotaProperties getQuota(String tppName) {
+        TppQuotaProperties quota = tppName == null ? null : tpps.get(tppName);
+        return quota == null ? defaults : quota;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.config;
+
+/**
+ * Transactions related properties from application.yml
+ *
+ * Example of application.yml
+ * connector:
+ *   transactions:
+ *     incremental_sync: true
+ *     sync_marks_max_size: 10000
+ *     pages_cache_max_bytes: 268435456
+ *     booking_cutoff_days: 7
+ */
+public class TransactionsProperties {
+    /**
+     * If true, SDK remembers the latest transaction delivered for each Access Token and account
+     * and passes it to provider as "changed since" hint, so only new or changed transactions are returned to TPP.
+     */
+    private boolean incrementalSync = false;
+
+    /**
+     * Max count of remembered pairs of Access Token and account
+     */
+    private int syncMarksMaxSize = 10000;
+
+    /**
+     * Max total size in bytes of serialized transactions of closed months kept in memory.
+     * Cache is disabled if value is 0 or incremental sync is enabled.
+     * Provider should return only transactions of requested period if cache is enabled.
+     */
+    private long pagesCacheMaxBytes = 0L;
+
+    /**
+     * Count of days after end of month when transactions of month can not be changed anymore
+     */
+    private int bookingCutoffDays = 7;
+
+    public boolean isIncrementalSync() {
+        return incrementalSync;
+    }
+
+    public void setIncrementalSync(boolean incrementalSync) {
+        this.incrementalSync = incrementalSync;
+    }
+
+    public int getSyncMarksMaxSize() {
+        return syncMarksMaxSize;
+    }
+
+    public void setSyncMarksMaxSize(int syncMarksMaxSize) {
+        this.syncMarksMaxSize = syncMarksMaxSize;
+    }
+
+    public long getPagesCacheMaxBytes() {
+        return pagesCacheMaxBytes;
+    }
+
+    public void setPagesCacheMaxBytes(long pagesCacheMaxBytes) {
+        this.pagesCacheMaxBytes = pagesCacheMaxBytes;
+    }
+
+    public int getBookingCutoffDays() {
+        return bookingCutoffDays;
+    }
+
+    public void setBookingCutoffDays(int bookingCutoffDays) {
+        this.bookingCutoffDays = bookingCutoffDays;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.metrics;
+
+import org.slf4j.MDC;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Correlation id of Connector API request, callbacks and async tasks of one session.
+ * Id is derived from session secret (first 8 bytes of SHA-256 as hex), so session secret itself is not written to logs.
+ * Id is stored in MDC under `correlation_id` key and can be printed by log pattern (e.g. `%X{correlation_id}`).
+ *
+ * @see SdkTaskDecorator
+ */
+public final class CorrelationId {
+    public final static String MDC_KEY = "correlation_id";
+    private final static char[] HEX = "0123456789abcdef".toCharArray();
+
+    private CorrelationId() {
+    }
+
+    /**
+     * Creates correlation id of session
+     *
+     * @param sessionSecret session secret of Connector API request or callback
+     * @return 16 hex chars or null if session secret is null
+     */
+    public static String of(String sessionSecret) {
+        if (sessionSecret == null) return null;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sessionSecret.getBytes(StandardCharsets.UTF_8));
+            char[] result = new char[16];
+            for (int i = 0; i < 8; i++) {
+                result[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+                result[i * 2 + 1] = HEX[digest[i] & 0xF];
+            }
+            return new String(result);
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Puts correlation id of session to MDC of current thread
+     *
+     * @param sessionSecret session secret of Connector API request or callback
+     */
+    public static void putToMdc(String sessionSecret) {
+        String id = of(sessionSecret);
+        if (id != null) MDC.put(MDC_KEY, id);
+    }
+
+    public static void removeFromMdc() {
+        MDC.remove(MDC_KEY);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.metrics;
+
+import org.springframework.util.ClassUtils;
+
+/**
+ * JDK Flight Recorder events of SDK hot paths: JWT parse, token lookup, provider call,
+ * serialization of response and signing of callback.
+ * Events are disabled by default and are recorded only by recording with enabled `com.saltedge.connector.sdk.Stage` event
+ * (e.g. with settings of `jfr/connector-sdk.jfc` from SDK jar).
+ * If JVM has no Flight Recorder, all stages are no-op.
+ *
+ * Usage:
+ * FlightRecorderEvents.Stage stage = FlightRecorderEvents.begin(FlightRecorderEvents.STAGE_JWT_PARSE);
+ * ...
+ * stage.end(null);
+ */
+public final class FlightRecorderEvents {
+    public final static String STAGE_JWT_PARSE = "jwt_parse";
+    public final static String STAGE_TOKEN_LOOKUP = "token_lookup";
+    public final static String STAGE_PROVIDER_CALL = "provider_call";
+    public final static String STAGE_SERIALIZATION = "serialization";
+    public final static String STAGE_CALLBACK_SIGNING = "callback_signing";
+    /**
+     * Name of request attribute with session secret of current request
+     */
+    public final static String ATTRIBUTE_SESSION_SECRET = FlightRecorderEvents.class.getName() + ".sessionSecret";
+    private final static Stage DISABLED = new DisabledStage();
+    private final static boolean AVAILABLE = ClassUtils.isPresent("jdk.jfr.Event", FlightRecorderEvents.class.getClassLoader());
+
+    private FlightRecorderEvents() {
+    }
+
+    /**
+     * Starts timing of stage
+     *
+     * @param stage name of stage
+     * @return started stage or no-op stage if event is disabled
+     */
+    public static Stage begin(String stage) {
+        return AVAILABLE ? StageEvent.beginIfEnabled(stage, DISABLED) : DISABLED;
+    }
+
+    public interface Stage {
+        /**
+         * Ends stage of current Connector API request.
+         * Endpoint and session secret are taken from current request.
+         *
+         * @param error exception of stage or null
+         */
+        void end(Throwable error);
+
+        /**
+         * Ends stage which is executed outside of Connector API request (e.g. callback)
+         *
+         * @param endpoint name of endpoint or callback
+         * @param sessionSecret session secret of request or null
+         * @param error exception of stage or null
+         */
+        void end(String endpoint, String sessionSecret, Throwable error);
+    }
+
+    private static class DisabledStage implements Stage {
+        @Override
+        public void end(Throwable error) {
+        }
+
+        @Override
+        public void end(String endpoint, String sessionSecret, Throwable error) {
+        }
+    }
+}
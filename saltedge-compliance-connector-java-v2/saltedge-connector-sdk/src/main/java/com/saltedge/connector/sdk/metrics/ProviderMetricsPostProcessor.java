@@ -0,0 +1,104 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.metrics;
+
+import com.saltedge.connector.sdk.provider.ProviderServiceAbs;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Wraps provider's implementation of ProviderServiceAbs in a proxy which records duration of each SPI method call
+ * as metric and as Flight Recorder event.
+ * Class based proxy is used, so application can inject its provider service by class.
+ * Final classes are not wrapped.
+ *
+ * @see SdkMetrics#PROVIDER_CALLS
+ */
+@Component
+public class ProviderMetricsPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+    private BeanFactory beanFactory;
+    private volatile SdkMetrics sdkMetrics;
+
+    public ProviderMetricsPostProcessor() {
+        setProxyTargetClass(true);
+        setBeforeExistingAdvisors(true);
+        this.advisor = new DefaultPointcutAdvisor(new ProviderMethodsPointcut(), (MethodInterceptor) this::invoke);
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        super.setBeanFactory(beanFactory);
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    protected boolean isEligible(Class<?> targetClass) {
+        return ProviderServiceAbs.class.isAssignableFrom(targetClass)
+                && !Modifier.isFinal(targetClass.getModifiers())
+                && super.isEligible(targetClass);
+    }
+
+    private Object invoke(MethodInvocation invocation) throws Throwable {
+        SdkMetrics metrics = getSdkMetrics();
+        long startTime = System.nanoTime();
+        FlightRecorderEvents.Stage stage = FlightRecorderEvents.begin(FlightRecorderEvents.STAGE_PROVIDER_CALL);
+        Throwable error = null;
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            metrics.recordProviderCall(invocation.getMethod().getName(), error, startTime);
+            stage.end(error);
+        }
+    }
+
+    private SdkMetrics getSdkMetrics() {
+        SdkMetrics result = sdkMetrics;
+        if (result == null) {
+            try {
+                result = beanFactory == null ? SdkMetrics.DISABLED : beanFactory.getBean(SdkMetrics.class);
+            } catch (BeansException e) {
+                result = SdkMetrics.DISABLED;
+            }
+            sdkMetrics = result;
+        }
+        return result;
+    }
+
+    private static class ProviderMethodsPointcut extends StaticMethodMatcherPointcut {
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return ReflectionUtils.findMethod(ProviderServiceAbs.class, method.getName(), method.getParameterTypes()) != null;
+        }
+    }
+}
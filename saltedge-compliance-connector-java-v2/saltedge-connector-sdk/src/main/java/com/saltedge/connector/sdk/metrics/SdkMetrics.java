@@ -0,0 +1,289 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.metrics;
+
+import com.saltedge.connector.sdk.api.models.err.HttpErrorParams;
+import com.saltedge.connector.sdk.config.ApplicationProperties;
+import com.saltedge.connector.sdk.tools.AimdLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Micrometer timers of Connector API requests, JWT verification, token lookup,
+ * provider SPI calls, callbacks to Salt Edge Compliance and async tasks,
+ * gauges of queue size and active threads of SDK executors and of concurrency limits of Connector API,
+ * per-TPP counters of admitted and throttled requests.
+ * Uses application's MeterRegistry bean or Micrometer's global registry if application has no MeterRegistry.
+ * Recording is skipped if `connector.metrics.enabled` is false.
+ */
+@Component
+public class SdkMetrics {
+    public final static String API_REQUESTS = "connector.api.requests";
+    public final static String JWT_VERIFY = "connector.jwt.verify";
+    public final static String TOKEN_LOOKUP = "connector.token.lookup";
+    public final static String PROVIDER_CALLS = "connector.provider.calls";
+    public final static String CALLBACKS = "connector.callbacks";
+    public final static String ASYNC_QUEUE_WAIT = "connector.async.queue_wait";
+    public final static String ASYNC_EXECUTION = "connector.async.execution";
+    public final static String EXECUTOR_QUEUE_SIZE = "connector.executor.queue_size";
+    public final static String EXECUTOR_ACTIVE_THREADS = "connector.executor.active_threads";
+    public final static String EXECUTOR_REJECTED = "connector.executor.rejected";
+    public final static String ADMISSION_LIMIT = "connector.admission.limit";
+    public final static String ADMISSION_IN_FLIGHT = "connector.admission.in_flight";
+    public final static String ADMISSION_REJECTED = "connector.admission.rejected";
+    public final static String TPP_REQUESTS = "connector.tpp.requests";
+    public final static String TPP_QUEUE_WAIT = "connector.tpp.queue_wait";
+    public final static String TAG_ERROR = "error";
+    public final static String TAG_TPP_NAME = "tpp_name";
+    public final static String TAG_EXECUTOR = "executor";
+    public final static String TAG_LANE = "lane";
+    public final static String NONE = "none";
+    /**
+     * Metrics instance which does not record anything
+     */
+    public final static SdkMetrics DISABLED = new SdkMetrics(null);
+    @Autowired
+    private ApplicationProperties applicationProperties;
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistries;
+    private MeterRegistry registry;
+
+    public SdkMetrics() {
+    }
+
+    public SdkMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (applicationProperties.getMetrics().isEnabled()) registry = meterRegistries.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    public boolean isEnabled() {
+        return registry != null;
+    }
+
+    /**
+     * Records duration of Connector API request
+     *
+     * @param uri matched path pattern of endpoint
+     * @param method HTTP method
+     * @param status HTTP status of response
+     * @param tppName name of TPP application or null if request has no Access Token
+     * @param errorClass error class of response or null
+     * @param startNanos value of System.nanoTime() on start of request
+     */
+    public void recordApiRequest(String uri, String method, int status, String tppName, String errorClass, long startNanos) {
+        if (registry == null) return;
+        Timer.builder(API_REQUESTS)
+                .tag("uri", valueOrNone(uri))
+                .tag("method", valueOrNone(method))
+                .tag("status", String.valueOf(status))
+                .tag("outcome", getOutcome(status))
+                .tag(TAG_TPP_NAME, valueOrNone(tppName))
+                .tag(TAG_ERROR, valueOrNone(errorClass))
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordJwtVerify(Throwable error, long startNanos) {
+        if (registry == null) return;
+        registry.timer(JWT_VERIFY, TAG_ERROR, getErrorClass(error))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records duration of Token search by Access-Token header
+     *
+     * @param result found, not_found or expired
+     * @param startNanos value of System.nanoTime() on start of lookup
+     */
+    public void recordTokenLookup(String result, long startNanos) {
+        if (registry == null) return;
+        registry.timer(TOKEN_LOOKUP, "result", result)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordProviderCall(String method, Throwable error, long startNanos) {
+        if (registry == null) return;
+        registry.timer(PROVIDER_CALLS, "method", method, TAG_ERROR, getErrorClass(error))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records duration of callback request to Salt Edge Compliance
+     *
+     * @param route type of callback (e.g. sessions/update)
+     * @param status HTTP status of response or 0 if response is not received
+     * @param error exception of request or null
+     * @param startNanos value of System.nanoTime() on start of request
+     */
+    public void recordCallback(String route, int status, Throwable error, long startNanos) {
+        if (registry == null) return;
+        registry.timer(CALLBACKS, "route", valueOrNone(route), "status", String.valueOf(status), TAG_ERROR, getErrorClass(error))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records time which async task spent in queue of executor before start of execution
+     *
+     * @param executor name of executor
+     * @param submitNanos value of System.nanoTime() on submit of task
+     * @param startNanos value of System.nanoTime() on start of task execution
+     */
+    public void recordAsyncQueueWait(String executor, long submitNanos, long startNanos) {
+        if (registry == null) return;
+        registry.timer(ASYNC_QUEUE_WAIT, TAG_EXECUTOR, valueOrNone(executor))
+                .record(startNanos - submitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records duration of async task execution
+     *
+     * @param executor name of executor
+     * @param error exception of task or null
+     * @param startNanos value of System.nanoTime() on start of task execution
+     */
+    public void recordAsyncExecution(String executor, Throwable error, long startNanos) {
+        if (registry == null) return;
+        registry.timer(ASYNC_EXECUTION, TAG_EXECUTOR, valueOrNone(executor), TAG_ERROR, getErrorClass(error))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Registers gauges of queue size and active threads of executor
+     *
+     * @param name name of executor
+     * @param executor executor of async tasks
+     */
+    public void registerExecutor(String name, ThreadPoolTaskExecutor executor) {
+        if (registry == null) return;
+        Gauge.builder(EXECUTOR_QUEUE_SIZE, executor, SdkMetrics::getQueueSize)
+                .tag(TAG_EXECUTOR, name)
+                .register(registry);
+        Gauge.builder(EXECUTOR_ACTIVE_THREADS, executor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag(TAG_EXECUTOR, name)
+                .register(registry);
+    }
+
+    /**
+     * Registers gauges of executor without queue, which starts new thread for each task
+     *
+     * @param name name of executor
+     * @param executor executor of async tasks
+     * @param activeCount count of running tasks of executor
+     */
+    public <T> void registerExecutor(String name, T executor, ToDoubleFunction<T> activeCount) {
+        if (registry == null) return;
+        Gauge.builder(EXECUTOR_QUEUE_SIZE, executor, value -> 0)
+                .tag(TAG_EXECUTOR, name)
+                .register(registry);
+        Gauge.builder(EXECUTOR_ACTIVE_THREADS, executor, activeCount)
+                .tag(TAG_EXECUTOR, name)
+                .register(registry);
+    }
+
+    public void recordRejectedTask(String executor) {
+        if (registry == null) return;
+        registry.counter(EXECUTOR_REJECTED, TAG_EXECUTOR, valueOrNone(executor)).increment();
+    }
+
+    /**
+     * Registers gauges of concurrency limit and requests in flight of admission control lane
+     *
+     * @param lane name of lane (reads or sessions)
+     * @param limiter concurrency limiter of lane
+     */
+    public void registerAdmissionLane(String lane, AimdLimiter limiter) {
+        if (registry == null) return;
+        Gauge.builder(ADMISSION_LIMIT, limiter, AimdLimiter::getLimit)
+                .tag(TAG_LANE, lane)
+                .register(registry);
+        Gauge.builder(ADMISSION_IN_FLIGHT, limiter, AimdLimiter::getInFlight)
+                .tag(TAG_LANE, lane)
+                .register(registry);
+    }
+
+    public void recordAdmissionRejected(String lane) {
+        if (registry == null) return;
+        registry.counter(ADMISSION_REJECTED, TAG_LANE, valueOrNone(lane)).increment();
+    }
+
+    /**
+     * Counts Connector API request of TPP checked by TPP quota
+     *
+     * @param tppName name of TPP
+     * @param result admitted, quota_exceeded or queue_timeout
+     */
+    public void recordTppRequest(String tppName, String result) {
+        if (registry == null) return;
+        registry.counter(TPP_REQUESTS, TAG_TPP_NAME, valueOrNone(tppName), "result", result).increment();
+    }
+
+    /**
+     * Records time which provider call of TPP spent in queue
+     *
+     * @param tppName name of TPP
+     * @param startNanos value of System.nanoTime() on start of waiting
+     */
+    public void recordTppQueueWait(String tppName, long startNanos) {
+        if (registry == null) return;
+        registry.timer(TPP_QUEUE_WAIT, TAG_TPP_NAME, valueOrNone(tppName))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static double getQueueSize(ThreadPoolTaskExecutor executor) {
+        try {
+            return executor.getThreadPoolExecutor().getQueue().size();
+        } catch (IllegalStateException e) {
+            return 0;
+        }
+    }
+
+    private static String getOutcome(int status) {
+        if (status >= 500) return "SERVER_ERROR";
+        if (status >= 400) return "CLIENT_ERROR";
+        if (status >= 300) return "REDIRECTION";
+        if (status >= 200) return "SUCCESS";
+        return "UNKNOWN";
+    }
+
+    private static String getErrorClass(Throwable error) {
+        if (error == null) return NONE;
+        return error instanceof HttpErrorParams ? ((HttpErrorParams) error).getErrorClass() : error.getClass().getSimpleName();
+    }
+
+    private static String valueOrNone(String value) {
+        return StringUtils.isEmpty(value) ? NONE : value;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.metrics;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+/**
+ * Decorator of async tasks which carries MDC (with correlation id of session) of submitting thread to executor thread
+ * and records time which task spent in queue separately from time of its execution,
+ * so saturation of executor can be told apart from slow I/O.
+ * MDC of executor thread is restored after task.
+ *
+ * Usage:
+ * ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+ * executor.setTaskDecorator(new SdkTaskDecorator(sdkMetrics, "default"));
+ *
+ * @see CorrelationId
+ * @see SdkMetrics#ASYNC_QUEUE_WAIT
+ * @see SdkMetrics#ASYNC_EXECUTION
+ */
+public class SdkTaskDecorator implements TaskDecorator {
+    private final SdkMetrics sdkMetrics;
+    private final String executorName;
+
+    public SdkTaskDecorator(SdkMetrics sdkMetrics, String executorName) {
+        this.sdkMetrics = sdkMetrics == null ? SdkMetrics.DISABLED : sdkMetrics;
+        this.executorName = executorName;
+    }
+
+    public String getExecutorName() {
+        return executorName;
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        long submitTime = System.nanoTime();
+        return () -> {
+            Map<String, String> previousContext = MDC.getCopyOfContextMap();
+            setContext(context);
+            long startTime = System.nanoTime();
+            sdkMetrics.recordAsyncQueueWait(executorName, submitTime, startTime);
+            Throwable error = null;
+            try {
+                runnable.run();
+            } catch (RuntimeException | Error e) {
+                error = e;
+                throw e;
+            } finally {
+                sdkMetrics.recordAsyncExecution(executorName, error, startTime);
+                setContext(previousContext);
+            }
+        };
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context == null) MDC.clear();
+        else MDC.setContextMap(context);
+    }
+}
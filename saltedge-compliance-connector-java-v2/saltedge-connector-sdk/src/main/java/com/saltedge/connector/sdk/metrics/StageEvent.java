@@ -0,0 +1,90 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.metrics;
+
+import com.saltedge.connector.sdk.api.models.err.HttpErrorParams;
+import jdk.jfr.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Flight Recorder event of SDK stage. Loaded only if JVM has Flight Recorder.
+ *
+ * @see FlightRecorderEvents
+ */
+@Name("com.saltedge.connector.sdk.Stage")
+@Label("Connector SDK Stage")
+@Description("Duration of JWT parse, token lookup, provider call, serialization or callback signing")
+@Category({"Salt Edge", "Connector SDK"})
+@Enabled(false)
+@StackTrace(false)
+class StageEvent extends Event implements FlightRecorderEvents.Stage {
+    @Label("Stage")
+    String stage;
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Session Secret Hash")
+    @Description("First 8 bytes of SHA-256 of session secret, same as correlation id of logs")
+    String sessionSecretHash;
+
+    @Label("Error")
+    String error;
+
+    static FlightRecorderEvents.Stage beginIfEnabled(String stage, FlightRecorderEvents.Stage disabledStage) {
+        StageEvent event = new StageEvent();
+        if (!event.isEnabled()) return disabledStage;
+        event.stage = stage;
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void end(Throwable error) {
+        end();
+        if (!shouldCommit()) return;
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            Object endpoint = attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            Object sessionSecret = attributes.getAttribute(FlightRecorderEvents.ATTRIBUTE_SESSION_SECRET, RequestAttributes.SCOPE_REQUEST);
+            commit(endpoint == null ? null : endpoint.toString(), sessionSecret == null ? null : sessionSecret.toString(), error);
+        } else {
+            commit(null, null, error);
+        }
+    }
+
+    @Override
+    public void end(String endpoint, String sessionSecret, Throwable error) {
+        end();
+        if (shouldCommit()) commit(endpoint, sessionSecret, error);
+    }
+
+    private void commit(String endpoint, String sessionSecret, Throwable error) {
+        this.endpoint = endpoint;
+        this.sessionSecretHash = CorrelationId.of(sessionSecret);
+        if (error != null) {
+            this.error = error instanceof HttpErrorParams ? ((HttpErrorParams) error).getErrorClass() : error.getClass().getSimpleName();
+        }
+        commit();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.models;
+
+import com.saltedge.connector.sdk.api.models.ProviderConsents;
+import com.saltedge.connector.sdk.config.ApplicationProperties;
+import com.saltedge.connector.sdk.config.ConsentsMigrationProperties;
+import com.saltedge.connector.sdk.tools.ConsentDataCodec;
+import com.saltedge.connector.sdk.tools.ConsentDataConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Converts consents of tokens stored as JSON by previous versions of SDK to compact format of ConsentDataCodec.
+ * Runs on application start if `connector.consents_migration.enabled` is set,
+ * processes tokens in batches and skips rows which can not be parsed.
+ * Rows changed concurrently by application are not overwritten.
+ *
+ * @see ConsentDataCodec
+ * @see ConsentsMigrationProperties
+ */
+@Component
+public class ConsentDataMigration {
+    private final static int BATCH_SIZE = 500;
+    private static Logger log = LoggerFactory.getLogger(ConsentDataMigration.class);
+    @Autowired
+    private TokensRepository tokensRepository;
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ConsentsMigrationProperties properties = applicationProperties.getConsentsMigration();
+        if (properties == null || !properties.isEnabled()) return;
+        try {
+            int count = migrate();
+            if (count > 0) log.info("Converted consents data of " + count + " tokens");
+        } catch (RuntimeException e) {
+            log.error("Consents data migration error", e);
+        }
+    }
+
+    /**
+     * Converts all legacy rows
+     *
+     * @return count of converted rows
+     */
+    public int migrate() {
+        int result = 0;
+        long lastId = 0L;
+        List<Object[]> rows = tokensRepository.findLegacyConsentsData(lastId, PageRequest.of(0, BATCH_SIZE));
+        while (!rows.isEmpty()) {
+            for (Object[] row : rows) {
+                lastId = ((Number) row[0]).longValue();
+                String legacyData = (String) row[1];
+                ProviderConsents consents = ConsentDataConverter.readLegacyJson(legacyData);
+                if (consents == null) continue;
+                result += tokensRepository.replaceConsentsData(lastId, legacyData, consents);
+            }
+            if (rows.size() < BATCH_SIZE) break;
+            rows = tokensRepository.findLegacyConsentsData(lastId, PageRequest.of(0, BATCH_SIZE));
+        }
+        return result;
+    }
+}
@@ -21,14 +21,19 @@
 package com.saltedge.connector.sdk.models;
 
 import com.saltedge.connector.sdk.SDKConstants;
+import com.saltedge.connector.sdk.api.models.ConsentIndex;
 import com.saltedge.connector.sdk.api.models.ProviderConsents;
 import com.saltedge.connector.sdk.config.ApplicationProperties;
 import com.saltedge.connector.sdk.tools.ConsentDataConverter;
 import com.saltedge.connector.sdk.tools.KeyTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.persistence.Column;
 import javax.persistence.Convert;
 import javax.persistence.Entity;
+import javax.persistence.Transient;
+import javax.persistence.Version;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Size;
 import java.io.Serializable;
@@ -40,6 +45,7 @@ import java.time.temporal.ChronoUnit;
  */
 @Entity
 public class Token extends BaseEntity implements Serializable {
+    private static Logger log = LoggerFactory.getLogger(Token.class);
     @Column(name = SDKConstants.KEY_SESSION_SECRET, nullable = false, length = 1024)
     public String sessionSecret;
 
@@ -47,6 +53,12 @@ public class Token extends BaseEntity implements Serializable {
     @Convert(converter = ConsentDataConverter.class)
     public ProviderConsents providerOfferedConsents;
 
+    /**
+     * Stored value of `providerOfferedConsents` (read only), used to find consents stored as JSON by previous versions of SDK
+     */
+    @Column(name = "provider_offered_consents", length = 4096, insertable = false, updatable = false)
+    public String providerOfferedConsentsData;
+
     @Column(name = SDKConstants.KEY_STATUS, nullable = false)
     public Status status = Status.UNCONFIRMED;
 
@@ -72,6 +84,16 @@ public class Token extends BaseEntity implements Serializable {
     @Column(name = "tpp_redirect_url", length = 1024)
     public String tppRedirectUrl;
 
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    public long version;
+
+    @Transient
+    private transient ConsentIndex consentIndex;
+
+    @Transient
+    private transient ProviderConsents indexedConsents;
+
     public Token() {
     }
 
@@ -101,6 +123,27 @@ public class Token extends BaseEntity implements Serializable {
         return this.providerOfferedConsents == null || !this.providerOfferedConsents.hasGlobalConsent();
     }
 
+    /**
+     * Provides index of accounts allowed by `providerOfferedConsents`.
+     * Index is compiled once and recompiled only if consents are replaced.
+     * Confirmed token without consents (e.g. stored consents can not be read) gets access to no accounts.
+     *
+     * @return ConsentIndex object
+     */
+    public ConsentIndex getConsentIndex() {
+        ProviderConsents consents = this.providerOfferedConsents;
+        ConsentIndex index = this.consentIndex;
+        if (index == null || consents != this.indexedConsents) {
+            if (consents == null && status == Status.CONFIRMED) {
+                log.error("Confirmed token has no consents, access to accounts is denied (id: " + id + ")");
+            }
+            index = ConsentIndex.compile(consents);
+            this.indexedConsents = consents;
+            this.consentIndex = index;
+        }
+        return index;
+    }
+
     public enum Status {
         UNCONFIRMED, CONFIRMED, REVOKED
     }
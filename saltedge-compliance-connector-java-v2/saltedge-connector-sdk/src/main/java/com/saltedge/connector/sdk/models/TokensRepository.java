@@ -20,10 +20,88 @@
  */
 package com.saltedge.connector.sdk.models;
 
+import com.saltedge.connector.sdk.api.models.ProviderConsents;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
 
 public interface TokensRepository extends JpaRepository<Token, Long> {
     Token findFirstBySessionSecret(String sessionSecret);
     Token findFirstByAccessToken(String accessToken);
     Token findFirstByUserIdAndAccessToken(String userId, String accessToken);
+
+    /**
+     * Finds tokens with consents stored as JSON by previous versions of SDK
+     *
+     * @param afterId id of the last processed token
+     * @param pageable size of batch
+     * @return list of [id, providerOfferedConsentsData] rows ordered by id
+     */
+    @Query(
+            "SELECT t.id, t.providerOfferedConsentsData FROM Token t WHERE t.id > :afterId " +
+                    "AND t.providerOfferedConsentsData NOT LIKE 'v%' AND t.providerOfferedConsentsData <> 'null' ORDER BY t.id"
+    )
+    List<Object[]> findLegacyConsentsData(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Replaces stored consents data if it was not changed since it was read
+     *
+     * @return count of updated rows
+     */
+    @Transactional
+    @Modifying
+    @Query(
+            "UPDATE Token t SET t.providerOfferedConsents = :consents, t.version = t.version + 1 " +
+                    "WHERE t.id = :id AND t.providerOfferedConsentsData = :oldData"
+    )
+    int replaceConsentsData(
+            @Param("id") Long id,
+            @Param("oldData") String oldData,
+            @Param("consents") ProviderConsents consents
+    );
+
+    /**
+     * Confirms token if it is still unconfirmed.
+     * Status is checked and changed by one statement, so token revoked concurrently is not confirmed.
+     *
+     * @return count of updated rows (0 if token was confirmed or revoked concurrently)
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(
+            "UPDATE Token t SET t.status = :confirmed, t.userId = :userId, t.accessToken = :accessToken, " +
+                    "t.tokenExpiresAt = :expiresAt, t.providerOfferedConsents = :consents, " +
+                    "t.version = t.version + 1, t.updatedAt = :now " +
+                    "WHERE t.id = :id AND t.status = :unconfirmed"
+    )
+    int confirmToken(
+            @Param("id") Long id,
+            @Param("userId") String userId,
+            @Param("accessToken") String accessToken,
+            @Param("expiresAt") Instant expiresAt,
+            @Param("consents") ProviderConsents consents,
+            @Param("now") Date now,
+            @Param("confirmed") Token.Status confirmed,
+            @Param("unconfirmed") Token.Status unconfirmed
+    );
+
+    /**
+     * Revokes token if it is not revoked yet
+     *
+     * @return count of updated rows (0 if token is already revoked)
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(
+            "UPDATE Token t SET t.status = :revoked, t.version = t.version + 1, t.updatedAt = :now " +
+                    "WHERE t.id = :id AND t.status <> :revoked"
+    )
+    int revokeToken(@Param("id") Long id, @Param("now") Date now, @Param("revoked") Token.Status revoked);
 }
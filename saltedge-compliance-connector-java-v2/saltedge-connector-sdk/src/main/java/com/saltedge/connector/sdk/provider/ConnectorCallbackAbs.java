@@ -115,7 +115,24 @@ public interface ConnectorCallbackAbs {
     );
 
     /**
-     * Provider notify Connector Module about oAuth success authentication and user consent for payment
+     * Provider notifies Connector SDK Module that accounts or balances of user are changed
+     * (e.g. after payment or other balance change) and cached accounts of user should not be served anymore.
+     *
+     * @param userId of User which accounts are changed
+     */
+    void onAccountsOfUserChanged(@NotEmpty String userId);
+
+    /**
+     * Provider notifies Connector SDK Module that exchange rates are changed
+     * and they should be requested again before the next funds confirmation.
+     *
+     * @see ProviderServiceAbs#getExchangeRates()
+     */
+    void onExchangeRatesChanged();
+
+    /**
+     * Provider notify Connector Module about oAuth success authentication and user consent for payment.
+     * Cached accounts of user are invalidated.
      *
      * @param paymentId of payment
      * @param userId of authenticated User
@@ -24,6 +24,8 @@ import com.saltedge.connector.sdk.SDKConstants;
 import com.saltedge.connector.sdk.api.models.ProviderConsents;
 import com.saltedge.connector.sdk.api.models.err.NotFound;
 import com.saltedge.connector.sdk.api.models.err.Unauthorized;
+import com.saltedge.connector.sdk.api.services.AccountsService;
+import com.saltedge.connector.sdk.api.services.ExchangeRatesService;
 import com.saltedge.connector.sdk.api.services.tokens.ConfirmTokenService;
 import com.saltedge.connector.sdk.api.services.tokens.RevokeTokenService;
 import com.saltedge.connector.sdk.callback.mapping.SessionSuccessCallbackRequest;
@@ -56,6 +58,10 @@ public class ConnectorSDKCallbackService implements ConnectorCallbackAbs {
     private SessionsCallbackService sessionsCallbackService;
     @Autowired
     private TokensCallbackService tokensCallbackService;
+    @Autowired
+    private AccountsService accountsService;
+    @Autowired
+    private ExchangeRatesService exchangeRatesService;
 
     /**
      * Check if User Consent (Bank Offered Consent) is required for authorization session determined by sessionSecret.
@@ -149,7 +155,28 @@ public class ConnectorSDKCallbackService implements ConnectorCallbackAbs {
     }
 
     /**
-     * Provider notify Connector Module about oAuth success authentication and user consent for payment
+     * Provider notifies Connector SDK Module that accounts or balances of user are changed.
+     * Cached accounts and card accounts of user are removed.
+     *
+     * @param userId of User which accounts are changed
+     */
+    @Override
+    public void onAccountsOfUserChanged(@NotEmpty String userId) {
+        accountsService.invalidateAccountsOfUser(userId);
+    }
+
+    /**
+     * Provider notifies Connector SDK Module that exchange rates are changed.
+     * Cross rates are recalculated on the next funds confirmation.
+     */
+    @Override
+    public void onExchangeRatesChanged() {
+        exchangeRatesService.invalidate();
+    }
+
+    /**
+     * Provider notify Connector Module about oAuth success authentication and user consent for payment.
+     * Cached accounts of user are invalidated.
      *
      * @param paymentId of payment
      * @param userId of authenticated User
@@ -162,6 +189,7 @@ public class ConnectorSDKCallbackService implements ConnectorCallbackAbs {
             @NotEmpty String userId,
             @NotEmpty Map<String, String> paymentExtra
     ) {
+        accountsService.invalidateAccountsOfUser(userId);
         String sessionSecret = paymentExtra.get(SDKConstants.KEY_SESSION_SECRET);
         SessionSuccessCallbackRequest params = new SessionSuccessCallbackRequest(userId, "ACTC");
         if (!StringUtils.isEmpty(sessionSecret)) sessionsCallbackService.sendSuccessCallback(sessionSecret, params);
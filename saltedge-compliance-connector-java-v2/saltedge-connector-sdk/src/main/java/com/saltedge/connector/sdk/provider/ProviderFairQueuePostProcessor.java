@@ -0,0 +1,101 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.provider;
+
+import com.saltedge.connector.sdk.api.interceptors.ApiMetricsInterceptor;
+import com.saltedge.connector.sdk.api.services.TppQuotaService;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Wraps provider's implementation of ProviderServiceAbs in a proxy which queues provider calls
+ * of Connector API requests by TPP name, if per-TPP quotas are enabled.
+ * Calls made outside of Connector API requests (e.g. by SDK executors) are not queued.
+ *
+ * @see TppQuotaService#executeProviderCall(String, TppQuotaService.ProviderCall)
+ */
+@Component
+public class ProviderFairQueuePostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+    private BeanFactory beanFactory;
+    private volatile TppQuotaService tppQuotaService;
+
+    public ProviderFairQueuePostProcessor() {
+        setProxyTargetClass(true);
+        this.advisor = new DefaultPointcutAdvisor(new ProviderMethodsPointcut(), (MethodInterceptor) this::invoke);
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        super.setBeanFactory(beanFactory);
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    protected boolean isEligible(Class<?> targetClass) {
+        return ProviderServiceAbs.class.isAssignableFrom(targetClass)
+                && !Modifier.isFinal(targetClass.getModifiers())
+                && super.isEligible(targetClass);
+    }
+
+    private Object invoke(MethodInvocation invocation) throws Throwable {
+        TppQuotaService service = getTppQuotaService();
+        if (service == null || !service.isEnabled()) return invocation.proceed();
+        return service.executeProviderCall(getTppName(), invocation::proceed);
+    }
+
+    private TppQuotaService getTppQuotaService() {
+        TppQuotaService result = tppQuotaService;
+        if (result == null && beanFactory != null) {
+            try {
+                result = beanFactory.getBean(TppQuotaService.class);
+                tppQuotaService = result;
+            } catch (BeansException ignored) {
+            }
+        }
+        return result;
+    }
+
+    private static String getTppName() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) return null;
+        Object tppName = attributes.getAttribute(ApiMetricsInterceptor.ATTRIBUTE_TPP_NAME, RequestAttributes.SCOPE_REQUEST);
+        return tppName == null ? null : tppName.toString();
+    }
+
+    private static class ProviderMethodsPointcut extends StaticMethodMatcherPointcut {
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return ReflectionUtils.findMethod(ProviderServiceAbs.class, method.getName(), method.getParameterTypes()) != null;
+        }
+    }
+}
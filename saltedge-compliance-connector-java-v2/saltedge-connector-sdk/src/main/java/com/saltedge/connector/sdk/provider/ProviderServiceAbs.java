@@ -97,6 +97,33 @@ public interface ProviderServiceAbs {
             LocalDate toDate
     );
 
+    /**
+     * Provides transactions which belong to an account of user and are new or changed since the given mark.
+     * Used instead of {@link #getTransactionsOfAccount(String, String, LocalDate, LocalDate)}
+     * if incremental transactions sync is enabled (`connector.transactions.incremental_sync`).
+     *
+     * By default ignores the mark and returns all transactions of period.
+     *
+     * @param userId User identifier on Provider side
+     * @param accountId Account identifier on Provider side
+     * @param fromDate Specifies the starting date, from which transactions should be fetched.
+     * @param toDate Specifies the ending date, to which transactions should be fetched.
+     * @param changedSince the latest transaction already delivered to TPP for this account and period,
+     *                     or null if all transactions of period should be returned.
+     * @return list of TransactionData objects
+     * @see Transaction
+     * @see TransactionsSyncMark
+     */
+    default List<Transaction> getTransactionsOfAccount(
+            @NotEmpty String userId,
+            @NotEmpty String accountId,
+            LocalDate fromDate,
+            LocalDate toDate,
+            TransactionsSyncMark changedSince
+    ) {
+        return getTransactionsOfAccount(userId, accountId, fromDate, toDate);
+    }
+
     /**
      * Provides card accounts information of user.
      * Serves accounts endpoint (https://priora.saltedge.com/docs/aspsp/v2/connector_endpoints#card-accounts-get)
@@ -127,6 +154,73 @@ public interface ProviderServiceAbs {
             LocalDate toDate
     );
 
+    /**
+     * Provides transactions which belong to a card account of user and are new or changed since the given mark.
+     * Used instead of {@link #getTransactionsOfCardAccount(String, String, LocalDate, LocalDate)}
+     * if incremental transactions sync is enabled (`connector.transactions.incremental_sync`).
+     *
+     * By default ignores the mark and returns all transactions of period.
+     *
+     * @param userId User identifier on Provider side
+     * @param accountId Account identifier on Provider side
+     * @param fromDate Specifies the starting date, from which transactions should be fetched.
+     * @param toDate Specifies the ending date, to which transactions should be fetched.
+     * @param changedSince the latest transaction already delivered to TPP for this card account and period,
+     *                     or null if all transactions of period should be returned.
+     * @return list of CardTransaction objects
+     * @see CardTransaction
+     * @see TransactionsSyncMark
+     */
+    default List<CardTransaction> getTransactionsOfCardAccount(
+            @NotEmpty String userId,
+            @NotEmpty String accountId,
+            LocalDate fromDate,
+            LocalDate toDate,
+            TransactionsSyncMark changedSince
+    ) {
+        return getTransactionsOfCardAccount(userId, accountId, fromDate, toDate);
+    }
+
+    /**
+     * Provides available balance of an account of user, designated for funds confirmation.
+     *
+     * By default searches the account in `getAccountsOfUser(...)` and returns its `openingBooked` balance.
+     * It is recommended to override it with a lookup of the single account,
+     * instead of fetching all accounts of user on each funds confirmation.
+     *
+     * @param userId User identifier on Provider side
+     * @param accountIdentifier IBAN, BBAN or BIC of account (matched by `Account.containsAccountIdentifier(...)`)
+     * @return Amount object with balance value and currency code of account or null if account is not found
+     * @see Amount
+     */
+    default Amount getAvailableBalanceOfAccount(@NotEmpty String userId, @NotEmpty String accountIdentifier) {
+        List<Account> accounts = getAccountsOfUser(userId);
+        if (accounts == null) return null;
+        return accounts.stream()
+                .filter(model -> model.containsAccountIdentifier(accountIdentifier))
+                .findFirst()
+                .map(account -> {
+                    AccountBalance balance = account.getBalance("openingBooked");
+                    return new Amount(balance == null ? null : balance.amount, account.getCurrencyCode());
+                })
+                .orElse(null);
+    }
+
+    /**
+     * Provides version of accounts, card accounts and transactions data of user.
+     * Version should change on every change of user's accounts or transactions (e.g. last modification timestamp or counter).
+     *
+     * If version is provided, repeated requests of unchanged data are answered with `304 Not Modified`
+     * without fetching and serializing of data.
+     * By default returns null and SDK calculates version as hash of serialized response.
+     *
+     * @param userId User identifier on Provider side
+     * @return version string or null if provider does not track versions of data
+     */
+    default String getUserDataVersion(@NotEmpty String userId) {
+        return null;
+    }
+
     /**
      * Initiate a payment order.
      * Serves payment endpoint (https://priora.saltedge.com/docs/aspsp/v2/connector_endpoints#payments-create)
@@ -0,0 +1,284 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.tools;
+
+import com.saltedge.connector.sdk.api.models.ProviderConsents;
+import com.saltedge.connector.sdk.api.models.ProviderOfferedConsent;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact encoding of ProviderConsents designated for storing in database.
+ *
+ * Encoded value is a text `v1:` followed by Base64 of binary data:
+ * flags byte (bit 0 - payload is deflated) and payload.
+ * Payload contains table of unique identifiers (each identifier is stored once)
+ * followed by global consent value and lists of balances and transactions consents,
+ * where each consent is a mask of present fields and indexes of identifiers in the table.
+ * All lengths, counts and indexes are unsigned varints.
+ *
+ * Values written by previous SDK versions (JSON) are recognized by absence of version prefix.
+ */
+public final class ConsentDataCodec {
+    public final static String VERSION_PREFIX = "v1:";
+    private final static int FLAG_DEFLATED = 1;
+    private final static int MIN_DEFLATE_SIZE = 128;
+    private final static DeflaterPool DEFLATER_POOL = new DeflaterPool(Deflater.BEST_COMPRESSION, 4);
+
+    private ConsentDataCodec() {
+    }
+
+    /**
+     * Checks if value is stored in current compact format
+     *
+     * @param dbData value of database column
+     * @return true if value starts with current version prefix
+     */
+    public static boolean isCompactFormat(String dbData) {
+        return dbData != null && dbData.startsWith(VERSION_PREFIX);
+    }
+
+    /**
+     * Encodes consents to compact format
+     *
+     * @param consents ProviderConsents object
+     * @return encoded string or null if consents are null
+     */
+    public static String encode(ProviderConsents consents) {
+        if (consents == null) return null;
+        List<String> identifiers = new ArrayList<>();
+        Map<String, Integer> indexes = new HashMap<>();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        writeStringIndex(body, consents.globalAccessConsent, identifiers, indexes);
+        writeConsentsList(body, consents.balances, identifiers, indexes);
+        writeConsentsList(body, consents.transactions, identifiers, indexes);
+
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(body.size() + identifiers.size() * 24);
+        writeVarInt(payload, identifiers.size());
+        for (String identifier : identifiers) {
+            byte[] bytes = identifier.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(payload, bytes.length);
+            payload.write(bytes, 0, bytes.length);
+        }
+        byte[] bodyBytes = body.toByteArray();
+        payload.write(bodyBytes, 0, bodyBytes.length);
+
+        byte[] data = payload.toByteArray();
+        int flags = 0;
+        if (data.length >= MIN_DEFLATE_SIZE) {
+            byte[] deflated = deflate(data);
+            if (deflated.length < data.length) {
+                data = deflated;
+                flags |= FLAG_DEFLATED;
+            }
+        }
+        byte[] result = new byte[data.length + 1];
+        result[0] = (byte) flags;
+        System.arraycopy(data, 0, result, 1, data.length);
+        return VERSION_PREFIX + Base64.getEncoder().encodeToString(result);
+    }
+
+    /**
+     * Decodes consents from compact format
+     *
+     * @param dbData encoded string with version prefix
+     * @return ProviderConsents object
+     * @throws IllegalArgumentException if data is not in compact format or is corrupted
+     */
+    public static ProviderConsents decode(String dbData) {
+        if (!isCompactFormat(dbData)) throw new IllegalArgumentException("Unknown consents data format");
+        byte[] data = Base64.getDecoder().decode(dbData.substring(VERSION_PREFIX.length()));
+        if (data.length == 0) throw new IllegalArgumentException("Empty consents data");
+        byte[] payload = (data[0] & FLAG_DEFLATED) != 0
+                ? inflate(data, 1, data.length - 1)
+                : Arrays.copyOfRange(data, 1, data.length);
+
+        Reader reader = new Reader(payload);
+        String[] identifiers = new String[reader.readCount()];
+        for (int i = 0; i < identifiers.length; i++) identifiers[i] = reader.readString();
+
+        ProviderConsents result = new ProviderConsents();
+        result.globalAccessConsent = reader.readStringIndex(identifiers);
+        result.balances = reader.readConsentsList(identifiers);
+        result.transactions = reader.readConsentsList(identifiers);
+        return result;
+    }
+
+    private static void writeConsentsList(
+            ByteArrayOutputStream output,
+            List<ProviderOfferedConsent> consents,
+            List<String> identifiers,
+            Map<String, Integer> indexes
+    ) {
+        if (consents == null) {
+            writeVarInt(output, 0);
+            return;
+        }
+        writeVarInt(output, consents.size() + 1);
+        for (ProviderOfferedConsent consent : consents) {
+            if (consent == null) {
+                output.write(0x80);
+                continue;
+            }
+            String[] fields = getFields(consent);
+            int mask = 0;
+            for (int i = 0; i < fields.length; i++) if (fields[i] != null) mask |= 1 << i;
+            output.write(mask);
+            for (String field : fields) if (field != null) writeVarInt(output, internIdentifier(field, identifiers, indexes));
+        }
+    }
+
+    private static void writeStringIndex(ByteArrayOutputStream output, String value, List<String> identifiers, Map<String, Integer> indexes) {
+        writeVarInt(output, value == null ? 0 : internIdentifier(value, identifiers, indexes) + 1);
+    }
+
+    private static int internIdentifier(String value, List<String> identifiers, Map<String, Integer> indexes) {
+        Integer index = indexes.get(value);
+        if (index == null) {
+            index = identifiers.size();
+            identifiers.add(value);
+            indexes.put(value, index);
+        }
+        return index;
+    }
+
+    private static String[] getFields(ProviderOfferedConsent consent) {
+        return new String[]{consent.iban, consent.bban, consent.bic, consent.msisdn, consent.maskedPan};
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream output, int value) {
+        while ((value & ~0x7F) != 0) {
+            output.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.write(value);
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = DEFLATER_POOL.borrow(true);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(data.length);
+            byte[] buffer = new byte[512];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                output.write(buffer, 0, count);
+            }
+            return output.toByteArray();
+        } finally {
+            DEFLATER_POOL.release(deflater, true);
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int offset, int length) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(data, offset, length);
+            ByteArrayOutputStream output = new ByteArrayOutputStream(length * 4);
+            byte[] buffer = new byte[512];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated consents data");
+                }
+                output.write(buffer, 0, count);
+            }
+            return output.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupted consents data", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static class Reader {
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        int readByte() {
+            if (position >= data.length) throw new IllegalArgumentException("Truncated consents data");
+            return data[position++] & 0xFF;
+        }
+
+        int readVarInt() {
+            int result = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int value = readByte();
+                result |= (value & 0x7F) << shift;
+                if ((value & 0x80) == 0) return result;
+            }
+            throw new IllegalArgumentException("Malformed consents data");
+        }
+
+        int readCount() {
+            int result = readVarInt();
+            if (result < 0 || result > data.length - position + 1) throw new IllegalArgumentException("Malformed consents data");
+            return result;
+        }
+
+        String readString() {
+            int length = readVarInt();
+            if (length > data.length - position) throw new IllegalArgumentException("Truncated consents data");
+            String result = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return result;
+        }
+
+        String readStringIndex(String[] identifiers) {
+            int index = readVarInt();
+            return index == 0 ? null : getIdentifier(identifiers, index - 1);
+        }
+
+        List<ProviderOfferedConsent> readConsentsList(String[] identifiers) {
+            int count = readCount();
+            if (count == 0) return null;
+            List<ProviderOfferedConsent> result = new ArrayList<>(count - 1);
+            for (int i = 1; i < count; i++) {
+                int mask = readByte();
+                if ((mask & 0x80) != 0) {
+                    result.add(null);
+                    continue;
+                }
+                String[] fields = new String[5];
+                for (int field = 0; field < fields.length; field++) {
+                    if ((mask & (1 << field)) != 0) fields[field] = getIdentifier(identifiers, readVarInt());
+                }
+                result.add(new ProviderOfferedConsent(fields[0], fields[1], fields[2], fields[3], fields[4]));
+            }
+            return result;
+        }
+
+        private String getIdentifier(String[] identifiers, int index) {
+            if (index >= identifiers.length) throw new IllegalArgumentException("Malformed consents data");
+            return identifiers[index];
+        }
+    }
+}
@@ -20,8 +20,7 @@
  */
 package com.saltedge.connector.sdk.tools;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.saltedge.connector.sdk.api.models.ProviderConsents;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,26 +29,43 @@ import javax.persistence.AttributeConverter;
 import java.io.IOException;
 
 /**
- * JPA mapper for ConsentData type
+ * JPA mapper for ConsentData type.
+ * Writes consents in compact format of ConsentDataCodec, reads compact format and legacy JSON.
+ *
+ * @see ConsentDataCodec
  */
 public class ConsentDataConverter implements AttributeConverter<ProviderConsents, String> {
     private static Logger log = LoggerFactory.getLogger(ConsentDataConverter.class);
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectReader READER = JsonTools.getDefaultMapper().readerFor(ProviderConsents.class);
 
     @Override
     public String convertToDatabaseColumn(ProviderConsents attribute) {
-        try {
-            return objectMapper.writeValueAsString(attribute);
-        } catch (JsonProcessingException e) {
-            log.error("JSON writing error", e);
-            return null;
-        }
+        return ConsentDataCodec.encode(attribute);
     }
 
     @Override
     public ProviderConsents convertToEntityAttribute(String dbData) {
+        if (dbData == null) return null;
+        if (ConsentDataCodec.isCompactFormat(dbData)) {
+            try {
+                return ConsentDataCodec.decode(dbData);
+            } catch (IllegalArgumentException e) {
+                log.error("Consents data reading error", e);
+                return null;
+            }
+        }
+        return readLegacyJson(dbData);
+    }
+
+    /**
+     * Reads consents stored as JSON by previous versions of SDK
+     *
+     * @param dbData JSON string
+     * @return ProviderConsents object or null
+     */
+    public static ProviderConsents readLegacyJson(String dbData) {
         try {
-            return objectMapper.readValue(dbData, ProviderConsents.class);
+            return READER.readValue(dbData);
         } catch (IOException e) {
             log.error("JSON reading error", e);
             return null;
@@ -0,0 +1,62 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.tools;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Pool of Deflater instances, which allocate native memory on creation.
+ * Separate pools are used for raw deflate (gzip content) and zlib wrapped deflate.
+ */
+public class DeflaterPool {
+    private final int level;
+    private final ArrayBlockingQueue<Deflater> rawDeflaters;
+    private final ArrayBlockingQueue<Deflater> zlibDeflaters;
+
+    public DeflaterPool(int level, int size) {
+        this.level = level;
+        this.rawDeflaters = new ArrayBlockingQueue<>(Math.max(1, size));
+        this.zlibDeflaters = new ArrayBlockingQueue<>(Math.max(1, size));
+    }
+
+    /**
+     * Returns idle deflater or creates new one
+     *
+     * @param nowrap if true, deflater produces raw deflate data (used by gzip), otherwise zlib wrapped data
+     * @return deflater
+     */
+    public Deflater borrow(boolean nowrap) {
+        Deflater result = (nowrap ? rawDeflaters : zlibDeflaters).poll();
+        return result == null ? new Deflater(level, nowrap) : result;
+    }
+
+    /**
+     * Resets deflater and returns it to pool. If pool is full, deflater is released.
+     *
+     * @param deflater borrowed deflater
+     * @param nowrap type of deflater
+     */
+    public void release(Deflater deflater, boolean nowrap) {
+        deflater.reset();
+        if (!(nowrap ? rawDeflaters : zlibDeflaters).offer(deflater)) deflater.end();
+    }
+}
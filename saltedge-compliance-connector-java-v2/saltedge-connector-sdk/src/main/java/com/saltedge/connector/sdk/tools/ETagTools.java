@@ -0,0 +1,121 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.tools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Tools for calculation and matching of weak entity tags (ETag header)
+ */
+public class ETagTools {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final String WEAK_PREFIX = "W/";
+
+    /**
+     * Creates weak ETag from hash of given values
+     *
+     * @param values which define content of response (e.g. data version and request params)
+     * @return ETag header value
+     */
+    public static String createETag(Object... values) {
+        MessageDigest digest = createDigest();
+        for (Object value : values) {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return toETag(digest.digest());
+    }
+
+    /**
+     * Creates weak ETag from hash of JSON serialized body.
+     * Body is serialized directly into digest, without buffering of serialized bytes.
+     *
+     * @param mapper used for serialization of response body
+     * @param body of response
+     * @return ETag header value
+     * @throws IOException if body can not be serialized
+     */
+    public static String createETagOfJson(ObjectMapper mapper, Object body) throws IOException {
+        MessageDigest digest = createDigest();
+        try (DigestOutputStream stream = new DigestOutputStream(NullOutputStream.INSTANCE, digest)) {
+            mapper.writeValue(stream, body);
+        }
+        return toETag(digest.digest());
+    }
+
+    /**
+     * Checks if value of If-None-Match header matches ETag of current content (weak comparison)
+     *
+     * @param ifNoneMatch header value, can contain list of tags or "*"
+     * @param eTag of current content
+     * @return true if client has current content
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (StringUtils.isEmpty(ifNoneMatch) || StringUtils.isEmpty(eTag)) return false;
+        String currentTag = stripWeakPrefix(eTag);
+        for (String tag : ifNoneMatch.split(",")) {
+            String value = tag.trim();
+            if ("*".equals(value) || stripWeakPrefix(value).equals(currentTag)) return true;
+        }
+        return false;
+    }
+
+    private static String stripWeakPrefix(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+
+    private static String toETag(byte[] hash) {
+        char[] result = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            result[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xF];
+            result[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xF];
+        }
+        return WEAK_PREFIX + "\"" + new String(result) + "\"";
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class NullOutputStream extends OutputStream {
+        private static final NullOutputStream INSTANCE = new NullOutputStream();
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+        }
+    }
+}
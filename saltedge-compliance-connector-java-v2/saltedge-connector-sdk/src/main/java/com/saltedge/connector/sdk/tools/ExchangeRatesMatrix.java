@@ -0,0 +1,147 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.tools;
+
+import com.saltedge.connector.sdk.api.models.ExchangeRate;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.*;
+
+/**
+ * Immutable matrix of cross rates of currencies.
+ * Currencies are indexed by ordinals, so cross rate of two currencies is read from matrix without calculations.
+ * Cross rates are calculated once, with decimal arithmetic, from rates of currencies versus base currency.
+ */
+public final class ExchangeRatesMatrix {
+    private static final MathContext RATE_PRECISION = MathContext.DECIMAL64;
+    private final Map<String, Integer> ordinals;
+    private final String[] currencies;
+    private final float[] sourceRates;
+    private final BigDecimal[][] crossRates;
+
+    private ExchangeRatesMatrix(Map<String, Integer> ordinals, String[] currencies, float[] sourceRates) {
+        this.ordinals = ordinals;
+        this.currencies = currencies;
+        this.sourceRates = sourceRates;
+        int size = currencies.length;
+        BigDecimal[] rates = new BigDecimal[size];
+        for (int i = 0; i < size; i++) rates[i] = new BigDecimal(Float.toString(sourceRates[i]));
+        this.crossRates = new BigDecimal[size][size];
+        for (int from = 0; from < size; from++) {
+            for (int to = 0; to < size; to++) {
+                crossRates[from][to] = from == to ? BigDecimal.ONE : rates[from].divide(rates[to], RATE_PRECISION);
+            }
+        }
+    }
+
+    /**
+     * Creates matrix from provider's exchange rates.
+     * Rates without currency code and not positive rates are skipped, for duplicated currencies is used the first rate.
+     *
+     * @param rates list of values of currencies versus base currency
+     * @return matrix of cross rates
+     */
+    public static ExchangeRatesMatrix create(List<ExchangeRate> rates) {
+        Map<String, Integer> ordinals = new HashMap<>();
+        List<String> currencies = new ArrayList<>();
+        List<Float> values = new ArrayList<>();
+        if (rates != null) {
+            for (ExchangeRate rate : rates) {
+                if (rate == null || StringUtils.isEmpty(rate.currencyCode) || !(rate.exchangeRate > 0f)) continue;
+                if (ordinals.containsKey(rate.currencyCode)) continue;
+                ordinals.put(rate.currencyCode, currencies.size());
+                currencies.add(rate.currencyCode);
+                values.add(rate.exchangeRate);
+            }
+        }
+        float[] sourceRates = new float[values.size()];
+        for (int i = 0; i < sourceRates.length; i++) sourceRates[i] = values.get(i);
+        return new ExchangeRatesMatrix(
+                Collections.unmodifiableMap(ordinals),
+                currencies.toArray(new String[0]),
+                sourceRates
+        );
+    }
+
+    /**
+     * @param currency code (ISO 4217)
+     * @return ordinal of currency or -1 if matrix has no rate of currency
+     */
+    public int getOrdinal(String currency) {
+        Integer ordinal = currency == null ? null : ordinals.get(currency);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * Provides cross rate by ordinals of currencies
+     *
+     * @param fromOrdinal ordinal of source currency
+     * @param toOrdinal ordinal of target currency
+     * @return count of target currency units for one unit of source currency
+     */
+    public BigDecimal getRate(int fromOrdinal, int toOrdinal) {
+        return crossRates[fromOrdinal][toOrdinal];
+    }
+
+    /**
+     * Provides cross rate by currency codes
+     *
+     * @param fromCurrency source currency code
+     * @param toCurrency target currency code
+     * @return count of target currency units for one unit of source currency or null if matrix has no rate of currency
+     */
+    public BigDecimal getRate(String fromCurrency, String toCurrency) {
+        int from = getOrdinal(fromCurrency);
+        int to = getOrdinal(toCurrency);
+        return from < 0 || to < 0 ? null : crossRates[from][to];
+    }
+
+    public boolean contains(String currency) {
+        return getOrdinal(currency) >= 0;
+    }
+
+    public int size() {
+        return currencies.length;
+    }
+
+    /**
+     * Checks if matrix is created from the same rates
+     *
+     * @param rates list of values of currencies versus base currency
+     * @return true if matrix created from given rates is equal to this matrix
+     */
+    public boolean hasSameRates(List<ExchangeRate> rates) {
+        int index = 0;
+        if (rates != null) {
+            for (ExchangeRate rate : rates) {
+                if (rate == null || StringUtils.isEmpty(rate.currencyCode) || !(rate.exchangeRate > 0f)) continue;
+                int ordinal = getOrdinal(rate.currencyCode);
+                if (ordinal < 0) return false;
+                if (ordinal < index) continue;
+                if (ordinal != index || Float.compare(sourceRates[index], rate.exchangeRate) != 0) return false;
+                index++;
+            }
+        }
+        return index == currencies.length;
+    }
+}
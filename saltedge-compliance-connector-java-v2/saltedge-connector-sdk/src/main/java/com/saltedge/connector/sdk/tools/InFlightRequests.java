@@ -0,0 +1,106 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.tools;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Coalescer of identical concurrent calls.
+ * Callers which request the same key while a call is in progress wait for it and share its result.
+ * Result is not kept after the call is finished.
+ */
+public class InFlightRequests {
+    private final ConcurrentHashMap<List<Object>, CompletableFuture<Object>> calls = new ConcurrentHashMap<>();
+    private final AtomicInteger waitingCount = new AtomicInteger();
+
+    /**
+     * Creates key of call from method name and its arguments
+     *
+     * @param method name of called method
+     * @param args arguments of call
+     * @return key of call
+     */
+    public static List<Object> createKey(String method, Object... args) {
+        Object[] parts = new Object[args.length + 1];
+        parts[0] = method;
+        System.arraycopy(args, 0, parts, 1, args.length);
+        return Arrays.asList(parts);
+    }
+
+    /**
+     * Executes call or joins the identical call in progress
+     *
+     * @param key of call
+     * @param call supplier of result
+     * @param <T> type of result
+     * @return result of call
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(List<Object> key, Supplier<T> call) {
+        CompletableFuture<Object> ownCall = new CompletableFuture<>();
+        CompletableFuture<Object> activeCall = calls.putIfAbsent(key, ownCall);
+        if (activeCall != null) return (T) join(activeCall);
+        try {
+            T result = call.get();
+            ownCall.complete(result);
+            return result;
+        } catch (Throwable e) {
+            ownCall.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, ownCall);
+        }
+    }
+
+    /**
+     * @return count of calls in progress
+     */
+    public int size() {
+        return calls.size();
+    }
+
+    /**
+     * @return count of callers waiting for result of identical call in progress
+     */
+    public int getWaitingCount() {
+        return waitingCount.get();
+    }
+
+    private Object join(CompletableFuture<Object> call) {
+        waitingCount.incrementAndGet();
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        } finally {
+            waitingCount.decrementAndGet();
+        }
+    }
+}
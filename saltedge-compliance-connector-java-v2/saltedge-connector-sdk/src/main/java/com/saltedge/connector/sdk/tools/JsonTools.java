@@ -24,9 +24,9 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.saltedge.connector.sdk.SDKConstants;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Serializer;
 import io.jsonwebtoken.jackson.io.JacksonSerializer;
 
 import java.security.PrivateKey;
@@ -35,8 +35,23 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.Map;
 
 public class JsonTools {
+    private static final ObjectMapper DEFAULT_MAPPER = createDefaultMapper();
+    private static final Serializer<Map<String, ?>> JWT_SERIALIZER = new JacksonSerializer<>(DEFAULT_MAPPER);
+
+    /**
+     * Provides shared mapper configured by createDefaultMapper().
+     * Mapper is thread safe and caches serializers, so it should be reused instead of creating new mappers.
+     * Configuration of shared mapper must not be changed.
+     *
+     * @return Jackson's ObjectMapper
+     */
+    public static ObjectMapper getDefaultMapper() {
+        return DEFAULT_MAPPER;
+    }
+
     /**
      * Creates mapper with deserialization option to fail on unknown property
      * and serialization option to skip NULL values
@@ -47,7 +62,7 @@ public class JsonTools {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.registerModule(new SdkJsonModule());
         objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
         return objectMapper;
     }
@@ -62,7 +77,7 @@ public class JsonTools {
     public static String createAuthorizationHeaderValue(Object requestData, PrivateKey key) {
         if (key == null) return "";
         return "Bearer " + Jwts.builder()
-                .serializeToJsonWith(new JacksonSerializer<>(createDefaultMapper()))
+                .serializeToJsonWith(JWT_SERIALIZER)
                 .claim(SDKConstants.KEY_DATA, requestData)
                 .signWith(key)
                 .setExpiration(Date.from(Instant.now().plus(1, ChronoUnit.MINUTES)))
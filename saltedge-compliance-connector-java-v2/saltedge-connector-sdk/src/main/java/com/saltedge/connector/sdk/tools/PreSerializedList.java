@@ -0,0 +1,248 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.tools;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * List of models which consists of live models and pages of already serialized models.
+ * On serialization pages are written to output as is, without serialization of their models.
+ * Models of pages are deserialized only if they are accessed as list elements.
+ *
+ * @param <T> type of models
+ */
+@JsonSerialize(using = PreSerializedList.Serializer.class)
+public class PreSerializedList<T> extends AbstractList<T> {
+    private final ObjectMapper mapper;
+    private final JavaType pageType;
+    private final List<Object> parts = new ArrayList<>();
+    private int size = 0;
+
+    public PreSerializedList(ObjectMapper mapper, Class<T> modelClass) {
+        this.mapper = mapper;
+        this.pageType = mapper.getTypeFactory().constructCollectionType(List.class, modelClass);
+    }
+
+    /**
+     * Serializes models to page of JSON array elements (without brackets)
+     *
+     * @param mapper object mapper used for response serialization
+     * @param models list of models
+     * @return page
+     */
+    public static Page createPage(ObjectMapper mapper, List<?> models) {
+        try {
+            byte[] json = mapper.writeValueAsBytes(models);
+            return new Page(Arrays.copyOfRange(json, 1, json.length - 1), models.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void addModels(List<T> models) {
+        if (models.isEmpty()) return;
+        parts.add(new ArrayList<>(models));
+        size += models.size();
+    }
+
+    public void addPage(Page page) {
+        if (page.count == 0) return;
+        parts.add(page);
+        size += page.count;
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        int offset = index;
+        for (int i = 0; i < parts.size(); i++) {
+            List<T> models = getModelsOfPart(i);
+            if (offset < models.size()) return models.get(offset);
+            offset -= models.size();
+        }
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> getModelsOfPart(int partIndex) {
+        Object part = parts.get(partIndex);
+        if (part instanceof Page) {
+            try {
+                byte[] json = ((Page) part).json;
+                byte[] array = new byte[json.length + 2];
+                array[0] = '[';
+                System.arraycopy(json, 0, array, 1, json.length);
+                array[array.length - 1] = ']';
+                List<T> models = mapper.readValue(array, pageType);
+                parts.set(partIndex, models);
+                return models;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return (List<T>) part;
+    }
+
+    /**
+     * Serialized models (UTF-8 JSON array elements without brackets)
+     */
+    public static class Page implements SerializableString {
+        private final byte[] json;
+        private final int count;
+
+        public Page(byte[] json, int count) {
+            this.json = json;
+            this.count = count;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public int getSizeInBytes() {
+            return json.length;
+        }
+
+        @Override
+        public String getValue() {
+            return new String(json, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int charLength() {
+            return getValue().length();
+        }
+
+        @Override
+        public char[] asQuotedChars() {
+            return new SerializedString(getValue()).asQuotedChars();
+        }
+
+        @Override
+        public byte[] asUnquotedUTF8() {
+            return json;
+        }
+
+        @Override
+        public byte[] asQuotedUTF8() {
+            return new SerializedString(getValue()).asQuotedUTF8();
+        }
+
+        @Override
+        public int appendQuotedUTF8(byte[] buffer, int offset) {
+            return new SerializedString(getValue()).appendQuotedUTF8(buffer, offset);
+        }
+
+        @Override
+        public int appendQuoted(char[] buffer, int offset) {
+            return new SerializedString(getValue()).appendQuoted(buffer, offset);
+        }
+
+        @Override
+        public int appendUnquotedUTF8(byte[] buffer, int offset) {
+            if (offset + json.length > buffer.length) return -1;
+            System.arraycopy(json, 0, buffer, offset, json.length);
+            return json.length;
+        }
+
+        @Override
+        public int appendUnquoted(char[] buffer, int offset) {
+            return new SerializedString(getValue()).appendUnquoted(buffer, offset);
+        }
+
+        @Override
+        public int writeQuotedUTF8(OutputStream out) throws IOException {
+            return new SerializedString(getValue()).writeQuotedUTF8(out);
+        }
+
+        @Override
+        public int writeUnquotedUTF8(OutputStream out) throws IOException {
+            out.write(json);
+            return json.length;
+        }
+
+        @Override
+        public int putQuotedUTF8(ByteBuffer buffer) throws IOException {
+            return new SerializedString(getValue()).putQuotedUTF8(buffer);
+        }
+
+        @Override
+        public int putUnquotedUTF8(ByteBuffer buffer) {
+            if (json.length > buffer.remaining()) return -1;
+            buffer.put(json);
+            return json.length;
+        }
+    }
+
+    /**
+     * Writes live models with serializers of their type and pages as raw bytes.
+     * Generator does not count raw values, so separators before them are written explicitly.
+     */
+    public static class Serializer extends StdSerializer<PreSerializedList<?>> {
+        public Serializer() {
+            super(PreSerializedList.class, false);
+        }
+
+        @Override
+        public void serialize(PreSerializedList<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartArray();
+            boolean elementWritten = false;
+            boolean generatorCountsElements = false;
+            for (Object part : value.parts) {
+                if (part instanceof Page) {
+                    if (elementWritten) gen.writeRaw(',');
+                    gen.writeRaw((Page) part);
+                    elementWritten = true;
+                } else {
+                    for (Object model : (List<?>) part) {
+                        if (elementWritten && !generatorCountsElements) gen.writeRaw(',');
+                        provider.defaultSerializeValue(model, gen);
+                        elementWritten = true;
+                        generatorCountsElements = true;
+                    }
+                }
+            }
+            gen.writeEndArray();
+        }
+    }
+}
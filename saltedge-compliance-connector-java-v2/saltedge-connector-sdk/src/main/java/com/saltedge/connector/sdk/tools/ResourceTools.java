@@ -20,10 +20,11 @@
  */
 package com.saltedge.connector.sdk.tools;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.net.URL;
-import java.util.Scanner;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 
 public class ResourceTools {
     /**
@@ -33,18 +34,30 @@ public class ResourceTools {
      * @return key file content or null
      */
     public static String readKeyFile(String filename) {
+        return readKeyFile(filename, ResourceTools.class.getClassLoader());
+    }
+
+    /**
+     * Reads key file from classpath of class loader.
+     * File is read as stream, so it can be packed in jar.
+     *
+     * @param filename name of file
+     * @param classLoader class loader of resources
+     * @return key file content (empty if file is not found) or null
+     */
+    public static String readKeyFile(String filename, ClassLoader classLoader) {
         if (filename == null) return null;
-        StringBuilder result = new StringBuilder("");
+        StringBuilder result = new StringBuilder();
 
-        URL resURL = ResourceTools.class.getClassLoader().getResource(filename);
-        if (resURL == null) return result.toString();
-        File file = new File(resURL.getFile());
+        InputStream stream = classLoader.getResourceAsStream(filename);
+        if (stream == null) return result.toString();
 
-        try (Scanner scanner = new Scanner(file)) {
-            while (scanner.hasNextLine()) {
-                result.append(scanner.nextLine()).append("\n");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                result.append(line).append("\n");
             }
-        } catch (FileNotFoundException e) {
+        } catch (IOException e) {
             e.printStackTrace();
         }
         return result.toString();
@@ -0,0 +1,91 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.tools;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory store of serialized pages limited by total size of pages in bytes.
+ * The least recently used pages are evicted when the store is full.
+ *
+ * @see PreSerializedList.Page
+ */
+public class SerializedPagesStore {
+    private final long maxBytes;
+    private final LinkedHashMap<String, PreSerializedList.Page> pages = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes = 0L;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public SerializedPagesStore(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    public PreSerializedList.Page get(String key) {
+        lock.lock();
+        try {
+            return pages.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(String key, PreSerializedList.Page page) {
+        lock.lock();
+        try {
+            if (!isEnabled() || page.getSizeInBytes() > maxBytes) return;
+            PreSerializedList.Page previousPage = pages.put(key, page);
+            if (previousPage != null) totalBytes -= previousPage.getSizeInBytes();
+            totalBytes += page.getSizeInBytes();
+            Iterator<Map.Entry<String, PreSerializedList.Page>> iterator = pages.entrySet().iterator();
+            while (totalBytes > maxBytes && iterator.hasNext()) {
+                totalBytes -= iterator.next().getValue().getSizeInBytes();
+                iterator.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getTotalBytes() {
+        lock.lock();
+        try {
+            return totalBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return pages.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.tools;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory cache of values limited by count of entries and time to live.
+ * The least recently used entry is evicted when the cache is full.
+ *
+ * Loaded value is stored only if the cache was not invalidated since the load was started,
+ * so a value loaded before a known data change can not replace the invalidated one.
+ * Access is guarded by ReentrantLock instead of monitor, so virtual threads are not pinned to carrier threads.
+ *
+ * @param <K> type of key
+ * @param <V> type of value
+ */
+public class SnapshotCache<K, V> {
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, CachedValue<V>> entries;
+    private long invalidationsCount = 0L;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public SnapshotCache(int maxSize, long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.entries = new LinkedHashMap<K, CachedValue<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CachedValue<V>> eldest) {
+                return size() > SnapshotCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return true if cache can hold values
+     */
+    public boolean isEnabled() {
+        return maxSize > 0 && ttlNanos > 0;
+    }
+
+    /**
+     * Returns value if it exists and is not expired
+     *
+     * @param key of value
+     * @return value or null
+     */
+    public V get(K key) {
+        lock.lock();
+        try {
+            CachedValue<V> entry = entries.get(key);
+            if (entry == null) return null;
+            if (System.nanoTime() - entry.createdAt > ttlNanos) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns stamp which should be taken before loading of value
+     *
+     * @return stamp of current state
+     * @see #put(Object, Object, long)
+     */
+    public long stamp() {
+        lock.lock();
+        try {
+            return invalidationsCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores value if cache was not invalidated after stamp was taken
+     *
+     * @param key of value
+     * @param value to store
+     * @param stamp taken before loading of value
+     */
+    public void put(K key, V value, long stamp) {
+        lock.lock();
+        try {
+            if (!isEnabled() || value == null || stamp != invalidationsCount) return;
+            entries.put(key, new CachedValue<>(value, System.nanoTime()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores value regardless of invalidations
+     *
+     * @param key of value
+     * @param value to store
+     */
+    public void put(K key, V value) {
+        lock.lock();
+        try {
+            if (!isEnabled() || value == null) return;
+            entries.put(key, new CachedValue<>(value, System.nanoTime()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes value of key
+     *
+     * @param key of value
+     */
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            invalidationsCount++;
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all values
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            invalidationsCount++;
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static class CachedValue<V> {
+        final V value;
+        final long createdAt;
+
+        CachedValue(V value, long createdAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -20,19 +20,26 @@
  */
 package com.saltedge.connector.sdk.tools;
 
-import com.saltedge.connector.sdk.api.services.FundsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class TypeTools {
-    private static Logger log = LoggerFactory.getLogger(FundsService.class);
+    private static Logger log = LoggerFactory.getLogger(TypeTools.class);
 
+    /**
+     * Parses float value without throwing of exceptions
+     *
+     * @param str value to parse
+     * @param fallback value returned if str is null or invalid
+     * @return parsed value or fallback
+     * @see com.saltedge.connector.sdk.api.models.Money for parsing of amounts
+     */
     public static Float safeParseFloat(String str, Float fallback) {
         if (str == null) return fallback;
         try {
             return Float.parseFloat(str);
         } catch (Exception e) {
-            log.error("TypeTools", e);
+            log.warn("TypeTools: can not parse float value: {}", str);
             return fallback;
         }
     }
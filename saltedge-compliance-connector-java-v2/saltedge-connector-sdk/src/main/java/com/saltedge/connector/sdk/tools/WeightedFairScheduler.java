@@ -0,0 +1,180 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.tools;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits count of concurrently executed calls and serves waiting calls of different flows (e.g. TPPs)
+ * in proportion to weights of flows (weighted fair queueing by virtual finish time).
+ * Waiting calls of one flow are served in FIFO order.
+ *
+ * Usage:
+ * if (!scheduler.acquire(flow, weight, timeoutNanos)) reject();
+ * try {
+ *     ...
+ * } finally {
+ *     scheduler.release();
+ * }
+ */
+public class WeightedFairScheduler {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Flow> flows = new HashMap<>();
+    private int availablePermits;
+    private double virtualTime = 0.0;
+    private int waitingCount = 0;
+
+    public WeightedFairScheduler(int permits) {
+        this.availablePermits = permits;
+    }
+
+    /**
+     * Takes permit of call, waits in queue of flow if all permits are taken
+     *
+     * @param flow name of flow
+     * @param weight weight of flow, higher weight gives bigger share of permits
+     * @param timeoutNanos max time of waiting
+     * @return true if permit is taken and release() should be called after call, false if waiting is timed out
+     * @throws InterruptedException if waiting thread is interrupted
+     */
+    public boolean acquire(String flow, double weight, long timeoutNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            if (availablePermits > 0 && waitingCount == 0) {
+                availablePermits--;
+                return true;
+            }
+            Flow state = flows.computeIfAbsent(flow, key -> new Flow());
+            double cost = 1.0 / Math.max(weight, 0.001);
+            double finishTime = Math.max(virtualTime, state.lastFinishTime) + cost;
+            state.lastFinishTime = finishTime;
+            Waiter waiter = new Waiter(finishTime, cost, lock.newCondition());
+            state.waiters.addLast(waiter);
+            waitingCount++;
+            long remainingNanos = timeoutNanos;
+            try {
+                while (!waiter.granted) {
+                    if (remainingNanos <= 0L) {
+                        removeWaiter(state, waiter);
+                        return false;
+                    }
+                    remainingNanos = waiter.condition.awaitNanos(remainingNanos);
+                }
+                return true;
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    grantNext();
+                } else {
+                    removeWaiter(state, waiter);
+                }
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns permit, which is passed to waiting call with the smallest virtual finish time
+     */
+    public void release() {
+        lock.lock();
+        try {
+            grantNext();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWaitingCount() {
+        lock.lock();
+        try {
+            return waitingCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes timed out or interrupted waiter and rolls back virtual time of its flow,
+     * so waiters which gave up do not lower share of their flow
+     */
+    private void removeWaiter(Flow flow, Waiter waiter) {
+        boolean after = false;
+        for (Waiter item : flow.waiters) {
+            if (after) item.finishTime -= waiter.cost;
+            if (item == waiter) after = true;
+        }
+        flow.waiters.remove(waiter);
+        flow.lastFinishTime -= waiter.cost;
+        waitingCount--;
+    }
+
+    private void grantNext() {
+        Waiter next = null;
+        Flow nextFlow = null;
+        Iterator<Flow> iterator = flows.values().iterator();
+        while (iterator.hasNext()) {
+            Flow flow = iterator.next();
+            Waiter head = flow.waiters.peekFirst();
+            if (head == null) {
+                if (flow.lastFinishTime <= virtualTime) iterator.remove();
+                continue;
+            }
+            if (next == null || head.finishTime < next.finishTime) {
+                next = head;
+                nextFlow = flow;
+            }
+        }
+        if (next == null) {
+            availablePermits++;
+            return;
+        }
+        nextFlow.waiters.pollFirst();
+        waitingCount--;
+        virtualTime = next.finishTime;
+        next.granted = true;
+        next.condition.signal();
+    }
+
+    private static class Flow {
+        final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        double lastFinishTime = 0.0;
+    }
+
+    private static class Waiter {
+        double finishTime;
+        final double cost;
+        final Condition condition;
+        boolean granted = false;
+
+        Waiter(double finishTime, double cost, Condition condition) {
+            this.finishTime = finishTime;
+            this.cost = cost;
+            this.condition = condition;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk;
+
+import com.saltedge.connector.sdk.api.controllers.TokensV2Controller;
+import com.saltedge.connector.sdk.api.interceptors.PrioraRequestResolver;
+import com.saltedge.connector.sdk.models.TokensRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = ConnectorSdkConfigurationTest.ImportingApplication.class)
+public class ConnectorSdkConfigurationTest {
+	@Autowired
+	private ApplicationContext context;
+
+	@Test
+	public void givenImportedConfiguration_whenStartContext_thenRegisterSdkComponentsAndRepositories() {
+		assertThat(context.getBeanNamesForType(TokensRepository.class)).hasSize(1);
+		assertThat(context.getBeanNamesForType(TokensV2Controller.class)).hasSize(1);
+		assertThat(context.getBeanNamesForType(PrioraRequestResolver.class)).hasSize(1);
+		assertThat(context.getBeanNamesForType(ConnectorSdkConfiguration.class)).hasSize(1);
+	}
+
+	@Configuration
+	@EnableAutoConfiguration
+	@Import({ConnectorSdkConfiguration.class, TestProviderService.class})
+	static class ImportingApplication {
+	}
+}
@@ -31,6 +31,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -73,6 +74,48 @@ public class AccountsV2ControllerIntegrationTests extends ControllerIntegrationT
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
     }
 
+    @Test
+    public void givenIfNoneMatchHeaderWithCurrentETag_whenMakeRequestToAccountsList_thenReturnNotModified() {
+        // given
+        String auth = TestTools.createAuthorizationHeaderValue(
+                new DefaultRequest("sessionSecret"),
+                TestTools.getInstance().getRsaPrivateKey()
+        );
+        LinkedMultiValueMap<String, String> headers = createHeaders();
+        headers.add(SDKConstants.HEADER_AUTHORIZATION, auth);
+        String eTag = doAccountsListRequest(headers).getHeaders().getETag();
+        headers.add(HttpHeaders.IF_NONE_MATCH, eTag);
+
+        // when
+        ResponseEntity<AccountsResponse> response = doAccountsListRequest(headers);
+
+        // then
+        assertThat(eTag).isNotEmpty();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo(eTag);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    public void givenIfNoneMatchHeaderWithOutdatedETag_whenMakeRequestToAccountsList_thenReturnOK() {
+        // given
+        String auth = TestTools.createAuthorizationHeaderValue(
+                new DefaultRequest("sessionSecret"),
+                TestTools.getInstance().getRsaPrivateKey()
+        );
+        LinkedMultiValueMap<String, String> headers = createHeaders();
+        headers.add(SDKConstants.HEADER_AUTHORIZATION, auth);
+        headers.add(HttpHeaders.IF_NONE_MATCH, "W/\"outdated\"");
+
+        // when
+        ResponseEntity<AccountsResponse> response = doAccountsListRequest(headers);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isNotEqualTo("W/\"outdated\"");
+        assertThat(response.getBody()).isNotNull();
+    }
+
     @Test
     public void givenHeaderWithExpiredSignature_whenMakeRequest_thenReturnJWTExpiredSignature() {
         // given
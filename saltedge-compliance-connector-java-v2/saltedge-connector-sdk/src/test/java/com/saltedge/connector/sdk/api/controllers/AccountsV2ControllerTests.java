@@ -23,17 +23,26 @@ package com.saltedge.connector.sdk.api.controllers;
 import com.saltedge.connector.sdk.SDKConstants;
 import com.saltedge.connector.sdk.api.models.Account;
 import com.saltedge.connector.sdk.api.models.AccountBalance;
+import com.saltedge.connector.sdk.api.models.ProviderConsents;
 import com.saltedge.connector.sdk.api.models.Transaction;
 import com.saltedge.connector.sdk.api.models.requests.DefaultRequest;
 import com.saltedge.connector.sdk.api.models.requests.TransactionsRequest;
 import com.saltedge.connector.sdk.api.models.responses.AccountsResponse;
 import com.saltedge.connector.sdk.api.models.responses.TransactionsResponse;
+import com.saltedge.connector.sdk.api.services.AccountsService;
+import com.saltedge.connector.sdk.api.services.TransactionsService;
 import com.saltedge.connector.sdk.models.Token;
 import com.saltedge.connector.sdk.provider.ProviderServiceAbs;
+import com.saltedge.connector.sdk.tools.ETagTools;
+import com.saltedge.connector.sdk.tools.JsonTools;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.text.ParseException;
 import java.time.LocalDate;
@@ -44,7 +53,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 
 public class AccountsV2ControllerTests {
-    ProviderServiceAbs mockProviderService = Mockito.mock(ProviderServiceAbs.class);
+    AccountsService mockAccountsService = Mockito.mock(AccountsService.class);
+    TransactionsService mockTransactionsService = Mockito.mock(TransactionsService.class);
 
     @Test
     public void basePathTest() {
@@ -55,19 +65,22 @@ public class AccountsV2ControllerTests {
     public void whenList_thenReturnStatus200AndAccountsList() {
         // given
         List<Account> testData = getTestAccountsData();
-        given(mockProviderService.getAccountsOfUser("1")).willReturn(testData);
+        given(mockAccountsService.getAccountsOfUser("1")).willReturn(testData);
+
+        Token token = new Token("1");
+        token.providerOfferedConsents = ProviderConsents.buildAllAccountsConsent();
 
         // when
         AccountsV2Controller controller = new AccountsV2Controller();
-        controller.providerService = mockProviderService;
-        ResponseEntity<AccountsResponse> result = controller.accounts(
-                new Token("1"),
+        controller.accountsService = mockAccountsService;
+        ResponseEntity<?> result = controller.accounts(
+                token,
                 new DefaultRequest()
         );
 
         // then
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(result.getBody().data).isEqualTo(testData);
+        assertThat(((AccountsResponse) result.getBody()).data).isEqualTo(testData);
     }
 
     @Test
@@ -75,19 +88,74 @@ public class AccountsV2ControllerTests {
         List<Transaction> testData = getTestTransactionsData();
         LocalDate startDate = LocalDate.now();
         LocalDate endDate = startDate;
-        given(mockProviderService.getTransactionsOfAccount("1", "1", startDate, endDate)).willReturn(testData);
+        Token token = new Token("1");
+        given(mockTransactionsService.getTransactionsOfAccount(token, "1", startDate, endDate)).willReturn(testData);
 
         AccountsV2Controller controller = new AccountsV2Controller();
-        controller.providerService = mockProviderService;
+        controller.transactionsService = mockTransactionsService;
 
-        ResponseEntity<TransactionsResponse> result = controller.transactionsOfAccount(
-                new Token("1"),
+        ResponseEntity<?> result = controller.transactionsOfAccount(
+                token,
                 "1",
                 new TransactionsRequest("1", startDate, endDate, "sessionSecret")
         );
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(result.getBody().data).isEqualTo(testData);
+        assertThat(((TransactionsResponse) result.getBody()).data).isEqualTo(testData);
+    }
+
+    @Test
+    public void givenUserDataVersionAndMatchingIfNoneMatch_whenList_thenReturnStatus304WithoutFetchingAccounts() {
+        // given
+        ProviderServiceAbs mockProviderService = Mockito.mock(ProviderServiceAbs.class);
+        given(mockProviderService.getUserDataVersion("1")).willReturn("v1");
+        AccountsV2Controller controller = new AccountsV2Controller();
+        controller.accountsService = mockAccountsService;
+        controller.providerService = mockProviderService;
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", AccountsV2Controller.BASE_PATH);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            String eTag = controller.accounts(new Token("1"), new DefaultRequest()).getHeaders().getETag();
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+            Mockito.clearInvocations(mockAccountsService);
+
+            // when
+            ResponseEntity<?> result = controller.accounts(new Token("1"), new DefaultRequest());
+
+            // then
+            assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(result.getHeaders().getETag()).isEqualTo(eTag);
+            assertThat(result.getBody()).isNull();
+            Mockito.verifyNoInteractions(mockAccountsService);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    public void givenNoUserDataVersion_whenList_thenReturnBodyWithETagOfIt() throws Exception {
+        // given
+        List<Account> testData = getTestAccountsData();
+        given(mockAccountsService.getAccountsOfUser("1")).willReturn(testData);
+        Token token = new Token("1");
+        token.providerOfferedConsents = ProviderConsents.buildAllAccountsConsent();
+        AccountsV2Controller controller = new AccountsV2Controller();
+        controller.accountsService = mockAccountsService;
+        controller.providerService = Mockito.mock(ProviderServiceAbs.class);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("GET", AccountsV2Controller.BASE_PATH)));
+        try {
+            // when
+            ResponseEntity<?> result = controller.accounts(token, new DefaultRequest());
+
+            // then
+            assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(result.getBody()).isInstanceOf(AccountsResponse.class);
+            assertThat(((AccountsResponse) result.getBody()).data).isEqualTo(testData);
+            assertThat(result.getHeaders().getETag())
+                    .isEqualTo(ETagTools.createETagOfJson(JsonTools.getDefaultMapper(), new AccountsResponse(testData)));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
     }
 
     private List<Account> getTestAccountsData() {
@@ -0,0 +1,121 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.api.controllers;
+
+import com.saltedge.connector.sdk.SDKConstants;
+import com.saltedge.connector.sdk.TestTools;
+import com.saltedge.connector.sdk.api.models.requests.DefaultRequest;
+import com.saltedge.connector.sdk.api.models.responses.AccountsResponse;
+import com.saltedge.connector.sdk.api.models.responses.ErrorResponse;
+import com.saltedge.connector.sdk.metrics.SdkMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.util.LinkedMultiValueMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests metrics of Connector API requests
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ApiMetricsIntegrationTests extends ControllerIntegrationTests {
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Before
+	public void setUp() {
+		seedTokensRepository();
+	}
+
+	@Test
+	public void givenValidRequest_whenMakeRequestToAccountsList_thenRecordRequestMetrics() throws InterruptedException {
+		// given
+		LinkedMultiValueMap<String, String> headers = createHeaders();
+		headers.add(SDKConstants.HEADER_AUTHORIZATION, TestTools.createAuthorizationHeaderValue(
+				new DefaultRequest("sessionSecret"),
+				TestTools.getInstance().getRsaPrivateKey()
+		));
+
+		// when
+		ResponseEntity<AccountsResponse> response = testRestTemplate.exchange(
+				createURLWithPort(AccountsV2Controller.BASE_PATH), HttpMethod.GET, new HttpEntity<>(headers), AccountsResponse.class
+		);
+
+		// then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(awaitTimer(SdkMetrics.API_REQUESTS, "uri", AccountsV2Controller.BASE_PATH, "status", "200", SdkMetrics.TAG_TPP_NAME, "tppAppName")
+				.count()).isGreaterThanOrEqualTo(1L);
+		assertThat(meterRegistry.find(SdkMetrics.TOKEN_LOOKUP).tag("result", "found").timer().count()).isGreaterThanOrEqualTo(1L);
+		assertThat(meterRegistry.find(SdkMetrics.JWT_VERIFY).tag(SdkMetrics.TAG_ERROR, SdkMetrics.NONE).timer().count()).isGreaterThanOrEqualTo(1L);
+		assertThat(meterRegistry.find(SdkMetrics.PROVIDER_CALLS).tag("method", "getAccountsOfUser").timer().count()).isGreaterThanOrEqualTo(1L);
+	}
+
+	@Test
+	public void givenUnknownAccessToken_whenMakeRequestToAccountsList_thenRecordErrorClass() throws InterruptedException {
+		// given
+		LinkedMultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
+		headers.add(SDKConstants.HEADER_ACCESS_TOKEN, "unknownToken");
+
+		// when
+		ResponseEntity<ErrorResponse> response = testRestTemplate.exchange(
+				createURLWithPort(AccountsV2Controller.BASE_PATH), HttpMethod.GET, new HttpEntity<>(headers), ErrorResponse.class
+		);
+
+		// then
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+		assertThat(awaitTimer(SdkMetrics.API_REQUESTS, "status", "404", SdkMetrics.TAG_ERROR, response.getBody().errorClass)
+				.count()).isGreaterThanOrEqualTo(1L);
+	}
+
+	/**
+	 * Request timer is recorded after response is sent, so it can appear after client receives response
+	 */
+	private Timer awaitTimer(String name, String... tags) throws InterruptedException {
+		for (int i = 0; i < 50; i++) {
+			Timer result = meterRegistry.find(name).tags(tags).timer();
+			if (result != null) return result;
+			Thread.sleep(20);
+		}
+		return meterRegistry.find(name).tags(tags).timer();
+	}
+
+	@TestConfiguration
+	static class MetricsTestConfiguration {
+		@Bean
+		public MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+	}
+}
@@ -26,8 +26,9 @@ import com.saltedge.connector.sdk.api.models.requests.DefaultRequest;
 import com.saltedge.connector.sdk.api.models.requests.TransactionsRequest;
 import com.saltedge.connector.sdk.api.models.responses.CardAccountsResponse;
 import com.saltedge.connector.sdk.api.models.responses.CardTransactionsResponse;
+import com.saltedge.connector.sdk.api.services.AccountsService;
+import com.saltedge.connector.sdk.api.services.TransactionsService;
 import com.saltedge.connector.sdk.models.Token;
-import com.saltedge.connector.sdk.provider.ProviderServiceAbs;
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.springframework.http.HttpStatus;
@@ -42,7 +43,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 
 public class CardAccountsV2ControllerTests {
-    ProviderServiceAbs mockProviderService = Mockito.mock(ProviderServiceAbs.class);
+    AccountsService mockAccountsService = Mockito.mock(AccountsService.class);
+    TransactionsService mockTransactionsService = Mockito.mock(TransactionsService.class);
 
     @Test
     public void basePathTest() {
@@ -53,19 +55,22 @@ public class CardAccountsV2ControllerTests {
     public void whenList_thenReturnStatus200AndAccountsList() {
         // given
         List<CardAccount> testData = getTestAccountsData();
-        given(mockProviderService.getCardAccountsOfUser("1")).willReturn(testData);
+        given(mockAccountsService.getCardAccountsOfUser("1")).willReturn(testData);
+
+        Token token = new Token("1");
+        token.providerOfferedConsents = ProviderConsents.buildAllAccountsConsent();
 
         // when
         CardAccountsV2Controller controller = new CardAccountsV2Controller();
-        controller.providerService = mockProviderService;
-        ResponseEntity<CardAccountsResponse> result = controller.cardAccounts(
-                new Token("1"),
+        controller.accountsService = mockAccountsService;
+        ResponseEntity<?> result = controller.cardAccounts(
+                token,
                 new DefaultRequest()
         );
 
         // then
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(result.getBody().data).isEqualTo(testData);
+        assertThat(((CardAccountsResponse) result.getBody()).data).isEqualTo(testData);
     }
 
     @Test
@@ -73,19 +78,20 @@ public class CardAccountsV2ControllerTests {
         List<CardTransaction> testData = getTestTransactionsData();
         LocalDate startDate = LocalDate.now();
         LocalDate endDate = startDate;
-        given(mockProviderService.getTransactionsOfCardAccount("1", "1", startDate, endDate)).willReturn(testData);
+        Token token = new Token("1");
+        given(mockTransactionsService.getTransactionsOfCardAccount(token, "1", startDate, endDate)).willReturn(testData);
 
         CardAccountsV2Controller controller = new CardAccountsV2Controller();
-        controller.providerService = mockProviderService;
+        controller.transactionsService = mockTransactionsService;
 
-        ResponseEntity<CardTransactionsResponse> result = controller.transactionsOfCardAccount(
-                new Token("1"),
+        ResponseEntity<?> result = controller.transactionsOfCardAccount(
+                token,
                 "1",
                 new TransactionsRequest("1", startDate, endDate, "sessionSecret")
         );
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(result.getBody().data).isEqualTo(testData);
+        assertThat(((CardTransactionsResponse) result.getBody()).data).isEqualTo(testData);
     }
 
     private List<CardAccount> getTestAccountsData() {
@@ -21,6 +21,7 @@
 package com.saltedge.connector.sdk.api.controllers;
 
 import com.saltedge.connector.sdk.SDKConstants;
+import com.saltedge.connector.sdk.api.models.ProviderConsents;
 import com.saltedge.connector.sdk.callback.services.SessionsCallbackService;
 import com.saltedge.connector.sdk.callback.services.TokensCallbackService;
 import com.saltedge.connector.sdk.config.ApplicationProperties;
@@ -51,15 +52,22 @@ abstract public class ControllerIntegrationTests {
         newToken1.id = 1L;
         newToken1.userId = "1";
         newToken1.status = Token.Status.CONFIRMED;
+        newToken1.providerOfferedConsents = ProviderConsents.buildAllAccountsConsent();
         newToken1.accessToken = "validToken";
-        tokensRepository.save(newToken1);
+        saveToken(newToken1);
 
         Token newToken2 = new Token("sessionSecret2", "tppAppName", "oauth", "tppRedirectUrl", Instant.now().plus(24 * 60, ChronoUnit.MINUTES));
         newToken2.id = 2L;
         newToken2.userId = "2";
         newToken2.status = Token.Status.CONFIRMED;
+        newToken2.providerOfferedConsents = ProviderConsents.buildAllAccountsConsent();
         newToken2.accessToken = "validToken2";
-        tokensRepository.save(newToken2);
+        saveToken(newToken2);
+    }
+
+    private void saveToken(Token token) {
+        tokensRepository.findById(token.id).ifPresent(storedToken -> token.version = storedToken.version);
+        tokensRepository.save(token);
     }
 
     protected LinkedMultiValueMap<String, String> createHeaders() {
@@ -22,21 +22,26 @@ package com.saltedge.connector.sdk.api.controllers;
 
 import com.saltedge.connector.sdk.SDKConstants;
 import com.saltedge.connector.sdk.api.models.EmptyJsonModel;
+import com.saltedge.connector.sdk.api.models.err.ServiceUnavailable;
 import com.saltedge.connector.sdk.api.models.requests.CreatePaymentRequest;
 import com.saltedge.connector.sdk.api.services.PaymentsService;
+import com.saltedge.connector.sdk.callback.services.SessionsCallbackService;
 import com.saltedge.connector.sdk.provider.ProviderServiceAbs;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
 public class PaymentsV2ControllerTests {
     PaymentsService mockPaymentsService = Mockito.mock(PaymentsService.class);
     ProviderServiceAbs mockProviderService = Mockito.mock(ProviderServiceAbs.class);
+    SessionsCallbackService mockCallbackService = Mockito.mock(SessionsCallbackService.class);
     PaymentsV2Controller controller = createController();
 
     @Test
@@ -55,10 +60,23 @@ public class PaymentsV2ControllerTests {
         verifyNoInteractions(mockProviderService);
     }
 
+    @Test
+    public void givenOverloadedExecutor_whenCreate_thenSendFailCallbackAndReturnStatus200() {
+        CreatePaymentRequest request = new CreatePaymentRequest();
+        request.sessionSecret = "sessionSecret";
+        willThrow(new TaskRejectedException("rejected")).given(mockPaymentsService).createPayment(request);
+
+        ResponseEntity<EmptyJsonModel> result = controller.create(request);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(mockCallbackService).sendFailCallback("sessionSecret", new ServiceUnavailable.ExecutorOverloaded());
+    }
+
     private PaymentsV2Controller createController() {
         PaymentsV2Controller controller = new PaymentsV2Controller();
         controller.paymentsService = mockPaymentsService;
         controller.providerService = mockProviderService;
+        controller.callbackService = mockCallbackService;
         return controller;
     }
 }
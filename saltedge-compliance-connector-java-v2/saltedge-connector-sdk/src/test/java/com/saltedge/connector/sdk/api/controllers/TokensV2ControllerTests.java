@@ -22,18 +22,23 @@ package com.saltedge.connector.sdk.api.controllers;
 
 import com.saltedge.connector.sdk.SDKConstants;
 import com.saltedge.connector.sdk.api.models.EmptyJsonModel;
+import com.saltedge.connector.sdk.api.models.err.ServiceUnavailable;
 import com.saltedge.connector.sdk.api.models.requests.CreateTokenRequest;
 import com.saltedge.connector.sdk.api.models.requests.RevokeTokenRequest;
 import com.saltedge.connector.sdk.api.services.tokens.ConfirmTokenService;
 import com.saltedge.connector.sdk.api.services.tokens.CreateTokenService;
 import com.saltedge.connector.sdk.api.services.tokens.RevokeTokenService;
+import com.saltedge.connector.sdk.callback.services.SessionsCallbackService;
 import com.saltedge.connector.sdk.models.Token;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
@@ -41,6 +46,7 @@ public class TokensV2ControllerTests {
     CreateTokenService mockCreateTokenService = Mockito.mock(CreateTokenService.class);
     ConfirmTokenService mockConfirmTokenService = Mockito.mock(ConfirmTokenService.class);
     RevokeTokenService mockRevokeTokenService = Mockito.mock(RevokeTokenService.class);
+    SessionsCallbackService mockCallbackService = Mockito.mock(SessionsCallbackService.class);
     TokensV2Controller controller = createController();
 
     @Test
@@ -72,10 +78,32 @@ public class TokensV2ControllerTests {
         verifyNoInteractions(mockConfirmTokenService, mockCreateTokenService);
     }
 
+    @Test
+    public void givenOverloadedExecutor_whenCreate_thenSendFailCallbackAndReturnStatus200() {
+        CreateTokenRequest request = new CreateTokenRequest();
+        request.sessionSecret = "sessionSecret";
+        willThrow(new TaskRejectedException("rejected")).given(mockCreateTokenService).startAuthorization(request);
+
+        ResponseEntity<EmptyJsonModel> result = controller.create(request);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(mockCallbackService).sendFailCallback("sessionSecret", new ServiceUnavailable.ExecutorOverloaded());
+    }
+
+    @Test
+    public void givenOverloadedExecutor_whenRevoke_thenThrowExecutorOverloaded() {
+        Token token = new Token();
+        willThrow(new TaskRejectedException("rejected")).given(mockRevokeTokenService).revokeTokenAsync(token);
+
+        assertThatThrownBy(() -> controller.revoke(token, new RevokeTokenRequest()))
+                .isInstanceOf(ServiceUnavailable.ExecutorOverloaded.class);
+    }
+
     private TokensV2Controller createController() {
         TokensV2Controller controller = new TokensV2Controller();
         controller.createTokenService = mockCreateTokenService;
         controller.revokeService = mockRevokeTokenService;
+        controller.callbackService = mockCallbackService;
         return controller;
     }
 }
@@ -0,0 +1,108 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.api.interceptors;
+
+import com.saltedge.connector.sdk.config.AdmissionLaneProperties;
+import com.saltedge.connector.sdk.config.AdmissionProperties;
+import com.saltedge.connector.sdk.metrics.SdkMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdmissionControlFilterTests {
+	private SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private AdmissionControlFilter filter = new AdmissionControlFilter(createProperties(), new SdkMetrics(registry));
+
+	@Test
+	public void selectLaneTest() {
+		assertThat(AdmissionControlFilter.selectLane("/api/priora/v2/tokens")).isEqualTo(AdmissionControlFilter.LANE_SESSIONS);
+		assertThat(AdmissionControlFilter.selectLane("/api/priora/v2/tokens/revoke")).isEqualTo(AdmissionControlFilter.LANE_SESSIONS);
+		assertThat(AdmissionControlFilter.selectLane("/api/priora/v2/payments")).isEqualTo(AdmissionControlFilter.LANE_SESSIONS);
+		assertThat(AdmissionControlFilter.selectLane("/api/priora/v2/accounts")).isEqualTo(AdmissionControlFilter.LANE_READS);
+		assertThat(AdmissionControlFilter.selectLane("/api/priora/v2/funds_confirmations")).isEqualTo(AdmissionControlFilter.LANE_READS);
+	}
+
+	@Test
+	public void givenFreeLane_whenFilter_thenPassRequestAndReleaseSlot() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/priora/v2/accounts");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(request, response, chain);
+
+		assertThat(chain.getRequest()).isNotNull();
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(filter.getLimiter(AdmissionControlFilter.LANE_READS).getInFlight()).isEqualTo(0);
+	}
+
+	@Test
+	public void givenFullReadsLane_whenFilter_thenRejectReadsAndPassSessions() throws Exception {
+		filter.getLimiter(AdmissionControlFilter.LANE_READS).tryAcquire();
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/priora/v2/accounts"), response, chain);
+
+		assertThat(chain.getRequest()).isNull();
+		assertThat(response.getStatus()).isEqualTo(503);
+		assertThat(response.getHeader("Retry-After")).isEqualTo("3");
+		assertThat(response.getContentAsString())
+				.isEqualTo("{\"error_class\":\"ConnectorOverloaded\",\"error_message\":\"Connector is overloaded. Try again later.\"}");
+		assertThat(registry.find(SdkMetrics.ADMISSION_REJECTED).tags(SdkMetrics.TAG_LANE, "reads").counter().count()).isEqualTo(1.0);
+		assertThat(registry.find(SdkMetrics.ADMISSION_LIMIT).tags(SdkMetrics.TAG_LANE, "reads").gauge().value()).isEqualTo(1.0);
+
+		MockHttpServletResponse sessionResponse = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("POST", "/api/priora/v2/payments"), sessionResponse, new MockFilterChain());
+
+		assertThat(sessionResponse.getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	public void givenServerErrorResponse_whenFilter_thenDecreaseLimitOfLane() throws Exception {
+		int limit = filter.getLimiter(AdmissionControlFilter.LANE_SESSIONS).getLimit();
+		HttpServlet servlet = new HttpServlet() {
+			@Override
+			protected void service(HttpServletRequest req, HttpServletResponse resp) {
+				resp.setStatus(503);
+			}
+		};
+
+		filter.doFilter(new MockHttpServletRequest("POST", "/api/priora/v2/tokens"), new MockHttpServletResponse(), new MockFilterChain(servlet));
+
+		assertThat(filter.getLimiter(AdmissionControlFilter.LANE_SESSIONS).getLimit()).isLessThan(limit);
+	}
+
+	private static AdmissionProperties createProperties() {
+		AdmissionProperties properties = new AdmissionProperties();
+		properties.setEnabled(true);
+		properties.setRetryAfterSeconds(3);
+		properties.setReads(new AdmissionLaneProperties(1, 1, 1));
+		return properties;
+	}
+}
@@ -0,0 +1,235 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.api.interceptors;
+
+import com.saltedge.connector.sdk.config.ApplicationProperties;
+import com.saltedge.connector.sdk.config.CompressionConfig;
+import com.saltedge.connector.sdk.config.CompressionProperties;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseCompressionFilterTests {
+	private final static String SMALL_BODY = "{\"data\":[]}";
+	private final static String LARGE_BODY = createLargeBody();
+	private ResponseCompressionFilter filter = new ResponseCompressionFilter(new CompressionProperties());
+
+	@Test
+	public void selectEncodingTest() {
+		assertThat(ResponseCompressionFilter.selectEncoding(null)).isNull();
+		assertThat(ResponseCompressionFilter.selectEncoding("identity")).isNull();
+		assertThat(ResponseCompressionFilter.selectEncoding("deflate, gzip")).isEqualTo("gzip");
+		assertThat(ResponseCompressionFilter.selectEncoding("gzip;q=0, deflate")).isEqualTo("deflate");
+		assertThat(ResponseCompressionFilter.selectEncoding("*")).isEqualTo("gzip");
+		assertThat(ResponseCompressionFilter.selectEncoding("gzip;q=0")).isNull();
+	}
+
+	@Test
+	public void givenDefaultProperties_whenRegisterFilter_thenFilterIsDisabled() {
+		FilterRegistrationBean<ResponseCompressionFilter> registration = new CompressionConfig()
+				.responseCompressionFilter(new ApplicationProperties());
+
+		assertThat(registration.isEnabled()).isFalse();
+	}
+
+	@Test
+	public void givenNoAcceptEncoding_whenFilter_thenReturnPlainBody() throws Exception {
+		// given
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/priora/v2/accounts");
+
+		// when
+		MockHttpServletResponse response = doFilter(request, LARGE_BODY);
+
+		// then
+		assertThat(response.getHeader("Content-Encoding")).isNull();
+		assertThat(response.getContentAsString()).isEqualTo(LARGE_BODY);
+	}
+
+	@Test
+	public void givenSmallBody_whenFilter_thenReturnPlainBody() throws Exception {
+		// given
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/priora/v2/accounts");
+		request.addHeader("Accept-Encoding", "gzip");
+
+		// when
+		MockHttpServletResponse response = doFilter(request, SMALL_BODY);
+
+		// then
+		assertThat(response.getHeader("Content-Encoding")).isNull();
+		assertThat(response.getHeader("Vary")).isEqualTo("Accept-Encoding");
+		assertThat(response.getContentLength()).isEqualTo(SMALL_BODY.length());
+		assertThat(response.getContentAsString()).isEqualTo(SMALL_BODY);
+	}
+
+	@Test
+	public void givenLargeBodyAndGzipEncoding_whenFilter_thenReturnGzippedBody() throws Exception {
+		// given
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/priora/v2/accounts");
+		request.addHeader("Accept-Encoding", "gzip, deflate");
+
+		// when
+		MockHttpServletResponse response = doFilter(request, LARGE_BODY);
+
+		// then
+		assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+		assertThat(response.getContentAsByteArray().length).isLessThan(LARGE_BODY.length());
+		assertThat(decode(new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray())))).isEqualTo(LARGE_BODY);
+	}
+
+	@Test
+	public void givenLargeBodyAndDeflateEncoding_whenFilterTwice_thenReturnDeflatedBodies() throws Exception {
+		for (int i = 0; i < 2; i++) {
+			// given
+			MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/priora/v2/accounts");
+			request.addHeader("Accept-Encoding", "deflate");
+
+			// when
+			MockHttpServletResponse response = doFilter(request, LARGE_BODY);
+
+			// then
+			assertThat(response.getHeader("Content-Encoding")).isEqualTo("deflate");
+			assertThat(decode(new InflaterInputStream(new ByteArrayInputStream(response.getContentAsByteArray())))).isEqualTo(LARGE_BODY);
+		}
+	}
+
+	@Test
+	public void givenAsyncRequest_whenBodyIsWrittenAfterFilter_thenReturnPlainBody() throws Exception {
+		// given
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/priora/v2/accounts");
+		request.addHeader("Accept-Encoding", "gzip");
+		request.setAsyncSupported(true);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		AtomicReference<AsyncContext> asyncContext = new AtomicReference<>();
+		HttpServlet servlet = new HttpServlet() {
+			@Override
+			protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+				asyncContext.set(req.startAsync(req, resp));
+			}
+		};
+
+		// when
+		filter.doFilter(request, response, new MockFilterChain(servlet));
+		asyncContext.get().getResponse().getOutputStream().write(LARGE_BODY.getBytes());
+		asyncContext.get().complete();
+
+		// then
+		assertThat(response.getHeader("Content-Encoding")).isNull();
+		assertThat(response.getContentAsString()).isEqualTo(LARGE_BODY);
+	}
+
+	@Test
+	public void givenWriteListener_whenFilter_thenPassListenerToResponseAndReturnPlainBody() throws Exception {
+		// given
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/priora/v2/accounts");
+		request.addHeader("Accept-Encoding", "gzip");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		AtomicReference<WriteListener> registeredListener = new AtomicReference<>();
+		HttpServletResponse nonBlockingResponse = new HttpServletResponseWrapper(response) {
+			@Override
+			public ServletOutputStream getOutputStream() throws IOException {
+				ServletOutputStream stream = super.getOutputStream();
+				return new ServletOutputStream() {
+					@Override
+					public void write(int b) throws IOException {
+						stream.write(b);
+					}
+
+					@Override
+					public boolean isReady() {
+						return false;
+					}
+
+					@Override
+					public void setWriteListener(WriteListener writeListener) {
+						registeredListener.set(writeListener);
+					}
+				};
+			}
+		};
+		WriteListener listener = Mockito.mock(WriteListener.class);
+		HttpServlet servlet = new HttpServlet() {
+			@Override
+			protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+				resp.getOutputStream().setWriteListener(listener);
+				assertThat(resp.getOutputStream().isReady()).isFalse();
+				resp.getOutputStream().write(LARGE_BODY.getBytes());
+			}
+		};
+
+		// when
+		filter.doFilter(request, nonBlockingResponse, new MockFilterChain(servlet));
+
+		// then
+		assertThat(registeredListener.get()).isSameAs(listener);
+		assertThat(response.getHeader("Content-Encoding")).isNull();
+		assertThat(response.getContentAsString()).isEqualTo(LARGE_BODY);
+	}
+
+	private MockHttpServletResponse doFilter(MockHttpServletRequest request, String body) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		HttpServlet servlet = new HttpServlet() {
+			@Override
+			protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+				resp.setContentType("application/json");
+				byte[] bytes = body.getBytes();
+				resp.getOutputStream().write(bytes, 0, bytes.length / 2);
+				resp.getOutputStream().flush();
+				resp.getOutputStream().write(bytes, bytes.length / 2, bytes.length - bytes.length / 2);
+			}
+		};
+		filter.doFilter(request, response, new MockFilterChain(servlet));
+		return response;
+	}
+
+	private String decode(InputStream inputStream) throws IOException {
+		return StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+	}
+
+	private static String createLargeBody() {
+		StringBuilder builder = new StringBuilder("{\"data\":[");
+		for (int i = 0; i < 1000; i++) {
+			if (i > 0) builder.append(',');
+			builder.append("{\"id\":\"").append(i).append("\",\"amount\":\"1.00\",\"currency_code\":\"EUR\"}");
+		}
+		return builder.append("]}").toString();
+	}
+}
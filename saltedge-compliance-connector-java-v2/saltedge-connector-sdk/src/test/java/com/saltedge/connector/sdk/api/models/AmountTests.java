@@ -22,6 +22,8 @@ package com.saltedge.connector.sdk.api.models;
 
 import org.junit.Test;
 
+import java.math.RoundingMode;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class AmountTests {
@@ -37,4 +39,12 @@ public class AmountTests {
 		assertThat(model.amount).isEqualTo("0.0");
 		assertThat(model.currency).isEqualTo("EUR");
 	}
+
+	@Test
+	public void toMoneyTest() {
+		assertThat(new Amount("10.5", "EUR").toMoney(RoundingMode.UNNECESSARY)).isEqualTo(Money.ofMinorUnits(1050L, "EUR"));
+		assertThat(new Amount("10.505", "EUR").toMoney(RoundingMode.DOWN)).isEqualTo(Money.ofMinorUnits(1050L, "EUR"));
+		assertThat(new Amount("abc", "EUR").toMoney(RoundingMode.DOWN)).isNull();
+		assertThat(new Amount().toMoney(RoundingMode.DOWN)).isNull();
+	}
 }
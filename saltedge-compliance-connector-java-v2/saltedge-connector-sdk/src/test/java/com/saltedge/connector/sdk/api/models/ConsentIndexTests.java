@@ -0,0 +1,129 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.api.models;
+
+import org.assertj.core.util.Lists;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConsentIndexTests {
+	@Test
+	public void givenGlobalOrAllAccountsConsents_whenCompile_thenReturnUnrestrictedIndex() {
+		assertThat(ConsentIndex.compile(ProviderConsents.buildAllAccountsConsent()).isUnrestricted()).isTrue();
+		assertThat(ConsentIndex.compile(new ProviderConsents(ProviderConsents.GLOBAL_CONSENT_VALUE)).isUnrestricted()).isTrue();
+	}
+
+	@Test
+	public void givenAbsentConsents_whenCompile_thenReturnIndexWhichAllowsNothing() {
+		Account account = createAccount("1", "MD01");
+
+		assertThat(ConsentIndex.compile(null)).isSameAs(ConsentIndex.EMPTY);
+		assertThat(ConsentIndex.compile(null).allowsBalancesOf(account)).isFalse();
+		assertThat(ConsentIndex.compile(null).allowsAnyTransactions()).isFalse();
+		assertThat(ConsentIndex.compile(new ProviderConsents()).isUnrestricted()).isFalse();
+		assertThat(ConsentIndex.compile(new ProviderConsents()).filterAccounts(Lists.list(account))).isEmpty();
+	}
+
+	@Test
+	public void givenBankOfferedConsents_whenCheckAccounts_thenAllowOnlyConsentedIdentifiers() {
+		// given
+		ProviderConsents consents = new ProviderConsents(
+				Lists.list(ProviderOfferedConsent.createAccountConsent("MD01"), ProviderOfferedConsent.createCardConsent("**** 1111")),
+				Lists.list(ProviderOfferedConsent.createAccountConsent("MD02"))
+		);
+
+		// when
+		ConsentIndex index = ConsentIndex.compile(consents);
+
+		// then
+		assertThat(index.isUnrestricted()).isFalse();
+		assertThat(index.allowsBalancesOf(createAccount("1", "MD01"))).isTrue();
+		assertThat(index.allowsTransactionsOf(createAccount("1", "MD01"))).isFalse();
+		assertThat(index.allowsBalancesOf(createAccount("2", "MD02"))).isFalse();
+		assertThat(index.allowsTransactionsOf(createAccount("2", "MD02"))).isTrue();
+		assertThat(index.allowsTransactionsOf(createAccount("3", null))).isFalse();
+		assertThat(index.allowsBalancesOf(createCardAccount("4", "**** 1111"))).isTrue();
+		assertThat(index.allowsTransactionsOf(createCardAccount("4", "**** 1111"))).isFalse();
+	}
+
+	@Test
+	public void givenBankOfferedConsents_whenFilterAccounts_thenReturnNewListOfConsentedAccounts() {
+		// given
+		ConsentIndex index = ConsentIndex.compile(new ProviderConsents(
+				Lists.list(ProviderOfferedConsent.createAccountConsent("MD01")),
+				Lists.list(ProviderOfferedConsent.createAccountConsent("MD01"), ProviderOfferedConsent.createAccountConsent("MD02"))
+		));
+		Account fullAccess = createAccount("1", "MD01");
+		Account transactionsAccess = createAccount("2", "MD02");
+		List<Account> accounts = Lists.list(fullAccess, transactionsAccess, createAccount("3", "MD03"));
+
+		// when
+		List<Account> result = index.filterAccounts(accounts);
+
+		// then
+		assertThat(accounts).hasSize(3);
+		assertThat(result).hasSize(2);
+		assertThat(result.get(0)).isSameAs(fullAccess);
+		assertThat(result.get(1).getId()).isEqualTo("2");
+		assertThat(result.get(1).getIban()).isEqualTo("MD02");
+		assertThat(result.get(1).getBalances()).isEmpty();
+		assertThat(transactionsAccess.getBalances()).hasSize(1);
+	}
+
+	@Test
+	public void givenBankOfferedConsents_whenFilterCardAccounts_thenReturnNewListOfConsentedCardAccounts() {
+		// given
+		ConsentIndex index = ConsentIndex.compile(new ProviderConsents(
+				new ArrayList<>(),
+				Lists.list(ProviderOfferedConsent.createCardConsent("**** 1111"))
+		));
+		List<CardAccount> accounts = Lists.list(createCardAccount("1", "**** 1111"), createCardAccount("2", "**** 2222"));
+
+		// when
+		List<CardAccount> result = index.filterCardAccounts(accounts);
+
+		// then
+		assertThat(result).hasSize(1);
+		assertThat(result.get(0).getMaskedPan()).isEqualTo("**** 1111");
+		assertThat(result.get(0).getBalances()).isEmpty();
+	}
+
+	@Test
+	public void givenUnrestrictedIndex_whenFilterAccounts_thenReturnSameList() {
+		List<Account> accounts = Lists.list(createAccount("1", "MD01"));
+
+		assertThat(ConsentIndex.UNRESTRICTED.filterAccounts(accounts)).isSameAs(accounts);
+	}
+
+	private Account createAccount(String id, String iban) {
+		Account account = new Account(id, "account", Lists.list(new AccountBalance("1.00", "EUR", "openingAvailable")), "CACC", "EUR");
+		account.setIban(iban);
+		return account;
+	}
+
+	private CardAccount createCardAccount(String id, String maskedPan) {
+		return new CardAccount(id, "card", maskedPan, "EUR", "Gold", "enabled", new ArrayList<>(), null, null);
+	}
+}
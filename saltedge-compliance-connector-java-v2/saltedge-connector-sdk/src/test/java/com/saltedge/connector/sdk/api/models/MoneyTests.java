@@ -0,0 +1,117 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.api.models;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MoneyTests {
+	@Test
+	public void parseTest() {
+		assertThat(Money.parse("1050.5", "EUR").getMinorUnits()).isEqualTo(105050L);
+		assertThat(Money.parse("-0.01", "EUR").getMinorUnits()).isEqualTo(-1L);
+		assertThat(Money.parse("+7", "EUR").getMinorUnits()).isEqualTo(700L);
+		assertThat(Money.parse("7.", "EUR").getMinorUnits()).isEqualTo(700L);
+		assertThat(Money.parse(".5", "EUR").getMinorUnits()).isEqualTo(50L);
+		assertThat(Money.parse("10.500", "EUR").getMinorUnits()).isEqualTo(1050L);
+		assertThat(Money.parse("1050", "JPY").getMinorUnits()).isEqualTo(1050L);
+		assertThat(Money.parse("1.005", "BHD").getMinorUnits()).isEqualTo(1005L);
+		assertThat(Money.parse("0.00012345", "BTC").getMinorUnits()).isEqualTo(12345L);
+		assertThat(Money.parse("92233720368547758.07", "EUR").getMinorUnits()).isEqualTo(Long.MAX_VALUE);
+
+		assertThat(Money.parse(null, "EUR")).isNull();
+		assertThat(Money.parse("1", null)).isNull();
+		assertThat(Money.parse("", "EUR")).isNull();
+		assertThat(Money.parse("-", "EUR")).isNull();
+		assertThat(Money.parse(".", "EUR")).isNull();
+		assertThat(Money.parse("1.2.3", "EUR")).isNull();
+		assertThat(Money.parse("1,5", "EUR")).isNull();
+		assertThat(Money.parse("1e5", "EUR")).isNull();
+		assertThat(Money.parse("10.505", "EUR")).isNull();
+		assertThat(Money.parse("92233720368547758.08", "EUR")).isNull();
+	}
+
+	@Test
+	public void parseWithRoundingTest() {
+		assertThat(Money.parse("10.505", "EUR", RoundingMode.DOWN).getMinorUnits()).isEqualTo(1050L);
+		assertThat(Money.parse("10.501", "EUR", RoundingMode.UP).getMinorUnits()).isEqualTo(1051L);
+		assertThat(Money.parse("-10.501", "EUR", RoundingMode.UP).getMinorUnits()).isEqualTo(-1051L);
+		assertThat(Money.parse("-10.501", "EUR", RoundingMode.CEILING).getMinorUnits()).isEqualTo(-1050L);
+		assertThat(Money.parse("-10.501", "EUR", RoundingMode.FLOOR).getMinorUnits()).isEqualTo(-1051L);
+		assertThat(Money.parse("10.505", "EUR", RoundingMode.HALF_UP).getMinorUnits()).isEqualTo(1051L);
+		assertThat(Money.parse("10.505", "EUR", RoundingMode.HALF_DOWN).getMinorUnits()).isEqualTo(1050L);
+		assertThat(Money.parse("10.5051", "EUR", RoundingMode.HALF_DOWN).getMinorUnits()).isEqualTo(1051L);
+		assertThat(Money.parse("10.505", "EUR", RoundingMode.HALF_EVEN).getMinorUnits()).isEqualTo(1050L);
+		assertThat(Money.parse("10.515", "EUR", RoundingMode.HALF_EVEN).getMinorUnits()).isEqualTo(1052L);
+		assertThat(Money.parse("10.5051", "EUR", RoundingMode.HALF_EVEN).getMinorUnits()).isEqualTo(1051L);
+		assertThat(Money.parse("-10.515", "EUR", RoundingMode.HALF_EVEN).getMinorUnits()).isEqualTo(-1052L);
+		for (RoundingMode rounding : RoundingMode.values()) {
+			if (rounding == RoundingMode.UNNECESSARY) continue;
+			for (String amount : new String[] { "2.345", "-2.345", "2.355", "-2.355", "2.3450001", "2.3449", "-2.3449" }) {
+				long expected = new BigDecimal(amount).setScale(2, rounding).unscaledValue().longValue();
+				assertThat(Money.parse(amount, "EUR", rounding).getMinorUnits()).as(amount + " " + rounding).isEqualTo(expected);
+			}
+		}
+		assertThat(Money.parse("10.5000", "EUR", RoundingMode.UP).getMinorUnits()).isEqualTo(1050L);
+		assertThat(Money.parse("10.6", "JPY", RoundingMode.HALF_UP).getMinorUnits()).isEqualTo(11L);
+	}
+
+	@Test
+	public void formatAmountTest() {
+		assertThat(Money.ofMinorUnits(105005L, "EUR").formatAmount()).isEqualTo("1050.05");
+		assertThat(Money.ofMinorUnits(-5L, "EUR").formatAmount()).isEqualTo("-0.05");
+		assertThat(Money.ofMinorUnits(0L, "EUR").formatAmount()).isEqualTo("0.00");
+		assertThat(Money.ofMinorUnits(1050L, "JPY").formatAmount()).isEqualTo("1050");
+		assertThat(Money.ofMinorUnits(1005L, "BHD").formatAmount()).isEqualTo("1.005");
+		assertThat(Money.ofMinorUnits(1050L, "EUR").appendAmount(new StringBuilder("amount=")).toString())
+				.isEqualTo("amount=10.50");
+		assertThat(Money.ofMinorUnits(1050L, "EUR").toAmount().amount).isEqualTo("10.50");
+		assertThat(Money.ofMinorUnits(1050L, "EUR").toString()).isEqualTo("10.50 EUR");
+		assertThatThrownBy(() -> Money.ofMinorUnits(Long.MIN_VALUE, "EUR")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void arithmeticTest() {
+		Money value = Money.parse("10.50", "EUR");
+
+		assertThat(value.add(Money.parse("0.50", "EUR"))).isEqualTo(Money.parse("11", "EUR"));
+		assertThat(value.subtract(Money.parse("20", "EUR")).abs()).isEqualTo(Money.parse("9.5", "EUR"));
+		assertThat(value.subtract(Money.parse("20", "EUR")).signum()).isEqualTo(-1);
+		assertThat(value.compareTo(Money.parse("10.49", "EUR"))).isPositive();
+		assertThat(value.toBigDecimal()).isEqualTo(new BigDecimal("10.50"));
+		assertThatThrownBy(() -> value.compareTo(Money.parse("10.50", "USD"))).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void convertTest() {
+		Money value = Money.parse("111.11", "USD");
+
+		assertThat(value.convert("EUR", new BigDecimal("0.9"), RoundingMode.UP)).isEqualTo(Money.parse("100.00", "EUR"));
+		assertThat(value.convert("EUR", new BigDecimal("0.9"), RoundingMode.DOWN)).isEqualTo(Money.parse("99.99", "EUR"));
+		assertThat(value.convert("JPY", new BigDecimal("107.5"), RoundingMode.HALF_UP)).isEqualTo(Money.parse("11944", "JPY"));
+		assertThat(value.convert("USD", new BigDecimal("2"), RoundingMode.UP)).isSameAs(value);
+	}
+}
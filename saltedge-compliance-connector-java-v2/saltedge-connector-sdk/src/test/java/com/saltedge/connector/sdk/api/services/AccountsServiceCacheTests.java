@@ -0,0 +1,74 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.api.services;
+
+import com.saltedge.connector.sdk.api.models.Account;
+import org.assertj.core.util.Lists;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@TestPropertySource(properties = {"connector.accounts_cache.max_size=10", "connector.accounts_cache.ttl_seconds=60"})
+public class AccountsServiceCacheTests extends BaseServicesTests {
+	@Autowired
+	protected AccountsService testService;
+
+	@Test
+	public void givenCachedAccounts_whenGetAccountsOfUser_thenCallProviderOnce() {
+		// given
+		List<Account> accounts = Lists.list(new Account());
+		given(providerService.getAccountsOfUser("cached")).willReturn(accounts);
+
+		// when
+		testService.getAccountsOfUser("cached");
+		List<Account> result = testService.getAccountsOfUser("cached");
+
+		// then
+		assertThat(result).isSameAs(accounts);
+		verify(providerService, times(1)).getAccountsOfUser("cached");
+	}
+
+	@Test
+	public void givenInvalidatedAccounts_whenGetAccountsOfUser_thenCallProviderAgain() {
+		// given
+		given(providerService.getCardAccountsOfUser("invalidated")).willReturn(Lists.emptyList());
+		testService.getCardAccountsOfUser("invalidated");
+
+		// when
+		testService.invalidateAccountsOfUser("invalidated");
+		testService.getCardAccountsOfUser("invalidated");
+
+		// then
+		verify(providerService, times(2)).getCardAccountsOfUser("invalidated");
+	}
+}
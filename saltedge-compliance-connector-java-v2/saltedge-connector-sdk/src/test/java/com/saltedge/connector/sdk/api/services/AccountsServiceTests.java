@@ -0,0 +1,97 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.api.services;
+
+import com.saltedge.connector.sdk.api.models.Account;
+import com.saltedge.connector.sdk.api.models.err.NotFound;
+import org.assertj.core.util.Lists;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class AccountsServiceTests extends BaseServicesTests {
+	@Autowired
+	protected AccountsService testService;
+
+	@Test
+	public void givenConcurrentRequests_whenGetAccountsOfUser_thenCallProviderOnce() throws Exception {
+		// given
+		List<Account> accounts = Lists.list(new Account());
+		CountDownLatch providerCalled = new CountDownLatch(1);
+		CountDownLatch releaseProvider = new CountDownLatch(1);
+		given(providerService.getAccountsOfUser("1")).willAnswer(invocation -> {
+			providerCalled.countDown();
+			releaseProvider.await(5, TimeUnit.SECONDS);
+			return accounts;
+		});
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+
+		// when
+		Future<List<Account>> firstResult = executor.submit(() -> testService.getAccountsOfUser("1"));
+		providerCalled.await(5, TimeUnit.SECONDS);
+		Future<List<Account>> secondResult = executor.submit(() -> testService.getAccountsOfUser("1"));
+		long deadline = System.currentTimeMillis() + 5000;
+		while (testService.getWaitingCallsCount() == 0 && System.currentTimeMillis() < deadline) Thread.sleep(1);
+		assertThat(testService.getWaitingCallsCount()).isEqualTo(1);
+		releaseProvider.countDown();
+
+		// then
+		assertThat(firstResult.get(5, TimeUnit.SECONDS)).isSameAs(accounts);
+		assertThat(secondResult.get(5, TimeUnit.SECONDS)).isSameAs(accounts);
+		verify(providerService, times(1)).getAccountsOfUser("1");
+		executor.shutdown();
+	}
+
+	@Test
+	public void givenSequentialRequests_whenGetCardAccountsOfUser_thenCallProviderEachTime() {
+		// given
+		given(providerService.getCardAccountsOfUser("1")).willReturn(Lists.emptyList());
+
+		// when
+		testService.getCardAccountsOfUser("1");
+		testService.getCardAccountsOfUser("1");
+
+		// then
+		verify(providerService, times(2)).getCardAccountsOfUser("1");
+	}
+
+	@Test
+	public void givenProviderError_whenGetAccountsOfUser_thenThrowSameError() {
+		// given
+		given(providerService.getAccountsOfUser("2")).willThrow(new NotFound.UserNotFound());
+
+		// then
+		assertThatThrownBy(() -> testService.getAccountsOfUser("2")).isInstanceOf(NotFound.UserNotFound.class);
+	}
+}
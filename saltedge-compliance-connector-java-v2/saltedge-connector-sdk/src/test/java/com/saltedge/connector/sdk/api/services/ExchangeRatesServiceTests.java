@@ -0,0 +1,108 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.api.services;
+
+import com.saltedge.connector.sdk.api.models.ExchangeRate;
+import com.saltedge.connector.sdk.api.models.err.BadRequest;
+import org.assertj.core.util.Lists;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ExchangeRatesServiceTests extends BaseServicesTests {
+	@Autowired
+	protected ExchangeRatesService testService;
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		testService.invalidate();
+		given(providerService.getExchangeRates()).willReturn(Lists.list(
+				new ExchangeRate("EUR", 1.0f),
+				new ExchangeRate("USD", 0.9f)
+		));
+	}
+
+	@Test
+	public void givenCurrencies_whenGetRate_thenReturnCrossRateOfCachedMatrix() {
+		// when
+		BigDecimal first = testService.getRate("USD", "EUR");
+		BigDecimal second = testService.getRate("EUR", "USD");
+
+		// then
+		assertThat(first).isEqualByComparingTo(new BigDecimal("0.9"));
+		assertThat(second).isEqualByComparingTo(new BigDecimal("1.111111111111111"));
+		verify(providerService, times(1)).getExchangeRates();
+	}
+
+	@Test
+	public void givenChangedRates_whenInvalidate_thenRebuildMatrix() {
+		// given
+		assertThat(testService.getRate("USD", "EUR")).isEqualByComparingTo(new BigDecimal("0.9"));
+		given(providerService.getExchangeRates()).willReturn(Lists.list(
+				new ExchangeRate("EUR", 1.0f),
+				new ExchangeRate("USD", 0.8f)
+		));
+
+		// when
+		testService.invalidate();
+
+		// then
+		assertThat(testService.getRate("USD", "EUR")).isEqualByComparingTo(new BigDecimal("0.8"));
+		verify(providerService, times(2)).getExchangeRates();
+	}
+
+	@Test
+	public void givenUnchangedRates_whenInvalidate_thenReuseMatrix() {
+		// given
+		Object matrix = testService.getMatrix();
+
+		// when
+		testService.invalidate();
+
+		// then
+		assertThat(testService.getMatrix()).isSameAs(matrix);
+		verify(providerService, times(2)).getExchangeRates();
+	}
+
+	@Test
+	public void givenUnknownCurrency_whenGetRate_thenThrowExchangeRateNotFound() {
+		assertThatThrownBy(() -> testService.getRate("RUB", "EUR"))
+				.isInstanceOf(BadRequest.ExchangeRateNotFound.class)
+				.hasFieldOrPropertyWithValue("errorMessage", "Exchange rate not found: RUB");
+		assertThatThrownBy(() -> testService.getRate("EUR", "RUB"))
+				.isInstanceOf(BadRequest.ExchangeRateNotFound.class);
+	}
+}
@@ -24,6 +24,7 @@ import com.saltedge.connector.sdk.api.models.Account;
 import com.saltedge.connector.sdk.api.models.AccountBalance;
 import com.saltedge.connector.sdk.api.models.Amount;
 import com.saltedge.connector.sdk.api.models.ExchangeRate;
+import com.saltedge.connector.sdk.api.models.err.BadRequest;
 import com.saltedge.connector.sdk.api.models.requests.FundsConfirmationRequest;
 import com.saltedge.connector.sdk.models.Token;
 import org.assertj.core.util.Lists;
@@ -36,17 +37,22 @@ import org.springframework.test.context.junit4.SpringRunner;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest
 public class FundsServiceTests extends BaseServicesTests {
 	@Autowired
 	protected FundsService testService;
+	@Autowired
+	protected ExchangeRatesService exchangeRatesService;
 
 	@Override
 	@Before
 	public void setUp() throws Exception {
 		super.setUp();
+		exchangeRatesService.invalidate();
         given(providerService.getExchangeRates()).willReturn(Lists.list(
                 new ExchangeRate("EUR", 1.0f),
                 new ExchangeRate("USD", 0.90f),
@@ -57,6 +63,7 @@ public class FundsServiceTests extends BaseServicesTests {
         account.setBalances(Lists.list(new AccountBalance("100.0", "GBP", "openingBooked")));
         account.setCurrencyCode("EUR");
         given(providerService.getAccountsOfUser("1")).willReturn(Lists.list(account));
+        given(providerService.getAvailableBalanceOfAccount("1", "iban")).willReturn(new Amount("100.0", "EUR"));
 	}
 
 	@Test
@@ -97,6 +104,48 @@ public class FundsServiceTests extends BaseServicesTests {
         assertThat(result).isFalse();
     }
 
+    @Test
+    public void givenRequestInOtherCurrency_whenConfirmFunds_thenCompareConvertedAmount() {
+        // given
+        Token token = new Token("1");
+        Account account = new Account();
+        account.setIban("iban");
+
+        // when
+        boolean enoughFunds = testService.confirmFunds(token, new FundsConfirmationRequest(account, new Amount("111.11", "USD")));
+        boolean notEnoughFunds = testService.confirmFunds(token, new FundsConfirmationRequest(account, new Amount("111.12", "USD")));
+
+        // then
+        assertThat(enoughFunds).isTrue();
+        assertThat(notEnoughFunds).isFalse();
+    }
+
+    @Test
+    public void givenNegativeBalance_whenConfirmFunds_thenReturnFalse() {
+        // given
+        Token token = new Token("1");
+        Account account = new Account();
+        account.setIban("iban");
+        given(providerService.getAvailableBalanceOfAccount("1", "iban")).willReturn(new Amount("-100.0", "EUR"));
+
+        // when
+        boolean result = testService.confirmFunds(token, new FundsConfirmationRequest(account, new Amount("1.0", "EUR")));
+
+        // then
+        assertThat(result).isFalse();
+    }
+
+    @Test(expected = BadRequest.ExchangeRateNotFound.class)
+    public void givenRequestCurrencyWithoutExchangeRate_whenConfirmFunds_thenThrowExchangeRateNotFound() {
+        // given
+        Token token = new Token("1");
+        Account account = new Account();
+        account.setIban("iban");
+
+        // when
+        testService.confirmFunds(token, new FundsConfirmationRequest(account, new Amount("1.0", "RUB")));
+    }
+
     @Test
     public void givenInvalidIban_whenConfirmFunds_thenReturnTrue() {
         // given
@@ -135,4 +184,20 @@ public class FundsServiceTests extends BaseServicesTests {
         assertThat(result).isFalse();
     }
 
+    @Test
+    public void givenAvailableBalanceOfAccount_whenConfirmFunds_thenUseItInsteadOfAccountsOfUser() {
+        // given
+        given(providerService.getAvailableBalanceOfAccount("1", "bban")).willReturn(new Amount("10.0", "USD"));
+        Token token = new Token("1");
+        Account account = new Account();
+        account.setBban("bban");
+        FundsConfirmationRequest request = new FundsConfirmationRequest(account, new Amount("9.0", "USD"));
+
+        // when
+        boolean result = testService.confirmFunds(token, request);
+
+        // then
+        assertThat(result).isTrue();
+        verify(providerService, never()).getAccountsOfUser("1");
+    }
 }
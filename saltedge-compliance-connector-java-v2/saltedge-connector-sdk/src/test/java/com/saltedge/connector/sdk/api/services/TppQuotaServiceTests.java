@@ -0,0 +1,109 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.api.services;
+
+import com.saltedge.connector.sdk.api.models.err.ServiceUnavailable;
+import com.saltedge.connector.sdk.api.models.err.TooManyRequests;
+import com.saltedge.connector.sdk.config.TppQuotaProperties;
+import com.saltedge.connector.sdk.config.TppQuotasProperties;
+import com.saltedge.connector.sdk.metrics.SdkMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TppQuotaServiceTests {
+	private SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@Test
+	public void givenDisabledQuotas_whenCheckQuota_thenAdmitAllRequests() throws Throwable {
+		TppQuotaService service = new TppQuotaService(new TppQuotasProperties(), new SdkMetrics(registry));
+
+		for (int i = 0; i < 100; i++) service.checkQuota("tpp");
+
+		assertThat(service.isEnabled()).isFalse();
+		assertThat(service.executeProviderCall("tpp", () -> "result")).isEqualTo("result");
+		assertThat(registry.find(SdkMetrics.TPP_REQUESTS).counter()).isNull();
+	}
+
+	@Test
+	public void givenExceededQuotaOfTpp_whenCheckQuota_thenThrowTppQuotaExceededOnlyForThisTpp() {
+		TppQuotasProperties properties = createProperties();
+		properties.getTpps().put("noisy", new TppQuotaProperties(0.001, 2, 1.0));
+		TppQuotaService service = new TppQuotaService(properties, new SdkMetrics(registry));
+
+		service.checkQuota("noisy");
+		service.checkQuota("noisy");
+
+		assertThatThrownBy(() -> service.checkQuota("noisy")).isInstanceOf(TooManyRequests.TppQuotaExceeded.class);
+		service.checkQuota("quiet");
+		assertThat(registry.find(SdkMetrics.TPP_REQUESTS).tags(SdkMetrics.TAG_TPP_NAME, "noisy", "result", "admitted").counter().count())
+				.isEqualTo(2.0);
+		assertThat(registry.find(SdkMetrics.TPP_REQUESTS).tags(SdkMetrics.TAG_TPP_NAME, "noisy", "result", "quota_exceeded").counter().count())
+				.isEqualTo(1.0);
+	}
+
+	@Test
+	public void givenBusyProviderCalls_whenExecuteProviderCall_thenThrowConnectorOverloadedAfterTimeout() throws Throwable {
+		TppQuotasProperties properties = createProperties();
+		properties.setMaxConcurrentProviderCalls(1);
+		properties.setQueueTimeoutMillis(10);
+		TppQuotaService service = new TppQuotaService(properties, new SdkMetrics(registry));
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch finish = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		executor.submit(() -> {
+			try {
+				return service.executeProviderCall("tpp1", () -> {
+					started.countDown();
+					return finish.await(5, TimeUnit.SECONDS);
+				});
+			} catch (Throwable e) {
+				return null;
+			}
+		});
+		started.await(5, TimeUnit.SECONDS);
+
+		assertThatThrownBy(() -> service.executeProviderCall("tpp2", () -> "result"))
+				.isInstanceOf(ServiceUnavailable.ConnectorOverloaded.class);
+		assertThat(service.executeProviderCall(null, () -> "result")).isEqualTo("result");
+
+		finish.countDown();
+		executor.shutdown();
+		executor.awaitTermination(5, TimeUnit.SECONDS);
+
+		assertThat(service.executeProviderCall("tpp2", () -> "result")).isEqualTo("result");
+		assertThat(registry.find(SdkMetrics.TPP_REQUESTS).tags(SdkMetrics.TAG_TPP_NAME, "tpp2", "result", "queue_timeout").counter().count())
+				.isEqualTo(1.0);
+	}
+
+	private static TppQuotasProperties createProperties() {
+		TppQuotasProperties properties = new TppQuotasProperties();
+		properties.setEnabled(true);
+		return properties;
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saltedge.connector.sdk.api.models.ProviderConsents;
+import com.saltedge.connector.sdk.api.models.Transaction;
+import com.saltedge.connector.sdk.api.models.responses.TransactionsResponse;
+import com.saltedge.connector.sdk.models.Token;
+import com.saltedge.connector.sdk.tools.JsonTools;
+import com.saltedge.connector.sdk.tools.PreSerializedList;
+import org.assertj.core.util.Lists;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@TestPropertySource(properties = {"connector.transactions.pages_cache_max_bytes=1048576"})
+public class TransactionsServicePagesCacheTests extends BaseServicesTests {
+	@Autowired
+	protected TransactionsService testService;
+	protected ObjectMapper objectMapper = JsonTools.getDefaultMapper();
+
+	@Test
+	public void givenCachedClosedMonths_whenGetTransactionsOfAccount_thenFetchOnlyNotCachedPeriod() throws Exception {
+		// given
+		Token token = new Token("1");
+		token.providerOfferedConsents = ProviderConsents.buildAllAccountsConsent();
+		LocalDate from = LocalDate.parse("2020-02-01");
+		LocalDate to = LocalDate.parse("2020-04-10");
+		Transaction april = new Transaction("t4", "4.00", "EUR", "booked", LocalDate.parse("2020-04-02"));
+		Transaction march = new Transaction("t3", "3.00", "EUR", "booked", LocalDate.parse("2020-03-20"));
+		Transaction lateFebruary = new Transaction("t2", "2.00", "EUR", "booked", LocalDate.parse("2020-02-11"));
+		Transaction february = new Transaction("t1", "1.00", "EUR", "booked", LocalDate.parse("2020-02-11"));
+		given(providerService.getTransactionsOfAccount("1", "a1", from, to))
+				.willReturn(Lists.list(february, lateFebruary, march, april));
+		given(providerService.getTransactionsOfAccount("1", "a1", LocalDate.parse("2020-04-01"), to))
+				.willReturn(Lists.list(april));
+		String expectedJson = objectMapper.writeValueAsString(new TransactionsResponse(Lists.list(april, march, february, lateFebruary)));
+
+		// when
+		List<Transaction> firstResult = testService.getTransactionsOfAccount(token, "a1", from, to);
+		List<Transaction> secondResult = testService.getTransactionsOfAccount(token, "a1", from, to);
+
+		// then
+		assertThat(objectMapper.writeValueAsString(new TransactionsResponse(firstResult))).isEqualTo(expectedJson);
+		assertThat(secondResult).isInstanceOf(PreSerializedList.class);
+		assertThat(objectMapper.writeValueAsString(new TransactionsResponse(secondResult))).isEqualTo(expectedJson);
+		assertThat(secondResult).hasSize(4);
+		assertThat(secondResult.get(1).getId()).isEqualTo("t3");
+		verify(providerService).getTransactionsOfAccount("1", "a1", from, to);
+		verify(providerService).getTransactionsOfAccount("1", "a1", LocalDate.parse("2020-04-01"), to);
+		verifyNoMoreInteractions(providerService);
+	}
+
+	@Test
+	public void givenCachedMonthsInsideOfPeriod_whenGetTransactionsOfAccount_thenFetchNotCachedSpanByOneCall() throws Exception {
+		// given
+		Token token = new Token("1");
+		token.providerOfferedConsents = ProviderConsents.buildAllAccountsConsent();
+		LocalDate from = LocalDate.parse("2019-01-15");
+		LocalDate to = LocalDate.parse("2019-04-10");
+		Transaction april = new Transaction("t4", "4.00", "EUR", "booked", LocalDate.parse("2019-04-02"));
+		Transaction march = new Transaction("t3", "3.00", "EUR", "booked", LocalDate.parse("2019-03-20"));
+		Transaction january = new Transaction("t1", "1.00", "EUR", "booked", LocalDate.parse("2019-01-16"));
+		testService.getTransactionsOfAccount(token, "a2", LocalDate.parse("2019-02-01"), LocalDate.parse("2019-03-31"));
+		given(providerService.getTransactionsOfAccount("1", "a2", from, to))
+				.willReturn(Lists.list(april, january, march));
+
+		// when
+		List<Transaction> result = testService.getTransactionsOfAccount(token, "a2", from, to);
+
+		// then
+		assertThat(result).extracting(Transaction::getId).containsExactly("t4", "t1");
+		verify(providerService).getTransactionsOfAccount("1", "a2", from, to);
+	}
+
+	@Test
+	public void givenRecentPeriod_whenGetTransactionsOfCardAccount_thenFetchWholePeriod() {
+		// given
+		Token token = new Token("1");
+		token.providerOfferedConsents = ProviderConsents.buildAllAccountsConsent();
+		LocalDate to = LocalDate.now();
+		LocalDate from = to.minusDays(3);
+
+		// when
+		testService.getTransactionsOfCardAccount(token, "c1", from, to);
+		testService.getTransactionsOfCardAccount(token, "c1", from, to);
+
+		// then
+		verify(providerService, times(2)).getTransactionsOfCardAccount("1", "c1", from, to);
+	}
+}
@@ -0,0 +1,182 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.api.services;
+
+import com.saltedge.connector.sdk.api.models.Account;
+import com.saltedge.connector.sdk.api.models.ProviderConsents;
+import com.saltedge.connector.sdk.api.models.ProviderOfferedConsent;
+import com.saltedge.connector.sdk.api.models.Transaction;
+import com.saltedge.connector.sdk.api.models.TransactionsSyncMark;
+import com.saltedge.connector.sdk.api.models.err.Unauthorized;
+import com.saltedge.connector.sdk.models.Token;
+import org.assertj.core.util.Lists;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@TestPropertySource(properties = {"connector.transactions.incremental_sync=true"})
+public class TransactionsServiceTests extends BaseServicesTests {
+	@Autowired
+	protected TransactionsService testService;
+
+	@Test
+	public void givenIncrementalSync_whenGetTransactionsOfAccountTwice_thenPassLatestTransactionAsHint() {
+		// given
+		Token token = new Token("1");
+		token.id = 101L;
+		token.providerOfferedConsents = new ProviderConsents(ProviderConsents.GLOBAL_CONSENT_VALUE);
+		LocalDate from = LocalDate.parse("2020-01-01");
+		LocalDate to = LocalDate.parse("2020-03-31");
+		Transaction older = new Transaction("t1", "1.00", "EUR", "booked", LocalDate.parse("2020-01-10"));
+		Transaction latest = new Transaction("t2", "2.00", "EUR", "booked", LocalDate.parse("2020-02-01"));
+		Transaction pending = new Transaction("t3", "3.00", "EUR", "pending", LocalDate.parse("2020-01-20"));
+		List<Transaction> firstPage = Lists.list(latest, older);
+		given(providerService.getTransactionsOfAccount("1", "a1", from, to, null)).willReturn(firstPage);
+		TransactionsSyncMark expectedMark = new TransactionsSyncMark("t2", LocalDate.parse("2020-02-01"));
+		given(providerService.getTransactionsOfAccount("1", "a1", from, to, expectedMark)).willReturn(Lists.list(pending));
+
+		// when
+		List<Transaction> firstResult = doRequest(() -> testService.getTransactionsOfAccount(token, "a1", from, to), true);
+		List<Transaction> secondResult = doRequest(() -> testService.getTransactionsOfAccount(token, "a1", from, to), true);
+		doRequest(() -> testService.getTransactionsOfAccount(token, "a1", from, to), true);
+		doRequest(() -> testService.getTransactionsOfAccount(token, "a1", from, to.plusDays(1)), true);
+
+		// then
+		assertThat(firstResult).isEqualTo(firstPage);
+		assertThat(secondResult).containsExactly(pending);
+		verify(providerService).getTransactionsOfAccount("1", "a1", from, to, null);
+		verify(providerService, times(2)).getTransactionsOfAccount("1", "a1", from, to, expectedMark);
+		verify(providerService).getTransactionsOfAccount("1", "a1", from, to.plusDays(1), null);
+	}
+
+	@Test
+	public void givenNotWrittenResponse_whenGetTransactionsOfAccountAgain_thenPassPreviousHint() {
+		// given
+		Token token = new Token("1");
+		token.id = 105L;
+		token.providerOfferedConsents = new ProviderConsents(ProviderConsents.GLOBAL_CONSENT_VALUE);
+		LocalDate from = LocalDate.parse("2020-01-01");
+		LocalDate to = LocalDate.parse("2020-03-31");
+		given(providerService.getTransactionsOfAccount("1", "a5", from, to, null))
+				.willReturn(Lists.list(new Transaction("t1", "1.00", "EUR", "booked", LocalDate.parse("2020-01-10"))));
+
+		// when
+		doRequest(() -> testService.getTransactionsOfAccount(token, "a5", from, to), false);
+		doRequest(() -> testService.getTransactionsOfAccount(token, "a5", from, to), false);
+
+		// then
+		verify(providerService, times(2)).getTransactionsOfAccount("1", "a5", from, to, null);
+	}
+
+	@Test
+	public void givenIncrementalSync_whenGetTransactionsOfCardAccountWithOtherToken_thenPassNoHint() {
+		// given
+		Token token = new Token("1");
+		token.id = 102L;
+		token.providerOfferedConsents = new ProviderConsents(ProviderConsents.GLOBAL_CONSENT_VALUE);
+		LocalDate from = LocalDate.parse("2020-01-01");
+		LocalDate to = LocalDate.parse("2020-03-31");
+
+		// when
+		doRequest(() -> testService.getTransactionsOfCardAccount(token, "a1", from, to), true);
+
+		// then
+		verify(providerService).getTransactionsOfCardAccount("1", "a1", from, to, null);
+	}
+
+	@Test
+	public void givenConsentWithoutAccount_whenGetTransactionsOfAccount_thenThrowAccessDeniedWithoutFetching() {
+		// given
+		Token token = new Token("3");
+		token.id = 103L;
+		token.providerOfferedConsents = new ProviderConsents(
+				Lists.emptyList(),
+				Lists.list(ProviderOfferedConsent.createAccountConsent("MD01"))
+		);
+		Account consented = new Account("a1", "account", Lists.emptyList(), "CACC", "EUR");
+		consented.setIban("MD01");
+		Account notConsented = new Account("a2", "account", Lists.emptyList(), "CACC", "EUR");
+		notConsented.setIban("MD02");
+		given(providerService.getAccountsOfUser("3")).willReturn(Lists.list(consented, notConsented));
+		LocalDate from = LocalDate.parse("2020-01-01");
+		LocalDate to = LocalDate.parse("2020-03-31");
+
+		// when
+		testService.getTransactionsOfAccount(token, "a1", from, to);
+		testService.getTransactionsOfAccount(token, "a1", from, to);
+
+		// then
+		assertThatThrownBy(() -> testService.getTransactionsOfAccount(token, "a2", from, to))
+				.isInstanceOf(Unauthorized.AccessDenied.class);
+		verify(providerService, times(2)).getTransactionsOfAccount("3", "a1", from, to, null);
+		verify(providerService, never()).getTransactionsOfAccount(eq("3"), eq("a2"), any(), any(), any());
+		verify(providerService, times(2)).getAccountsOfUser("3");
+	}
+
+	@Test
+	public void givenTokenWithoutConsents_whenGetTransactionsOfAccount_thenThrowAccessDeniedWithoutProviderCalls() {
+		// given
+		Token token = new Token("4");
+		token.id = 104L;
+		token.status = Token.Status.CONFIRMED;
+		LocalDate from = LocalDate.parse("2020-01-01");
+		LocalDate to = LocalDate.parse("2020-03-31");
+
+		// then
+		assertThatThrownBy(() -> testService.getTransactionsOfAccount(token, "a1", from, to))
+				.isInstanceOf(Unauthorized.AccessDenied.class);
+		verify(providerService, never()).getAccountsOfUser("4");
+		verify(providerService, never()).getTransactionsOfAccount(eq("4"), any(), any(), any(), any());
+	}
+
+	private <T> T doRequest(Supplier<T> call, boolean responseWritten) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+		try {
+			T result = call.get();
+			if (responseWritten) testService.commitSyncMarks(request);
+			return result;
+		} finally {
+			RequestContextHolder.resetRequestAttributes();
+		}
+	}
+}
@@ -22,6 +22,7 @@ package com.saltedge.connector.sdk.api.services.tokens;
 
 import com.saltedge.connector.sdk.SDKConstants;
 import com.saltedge.connector.sdk.api.models.ProviderConsents;
+import com.saltedge.connector.sdk.api.models.err.Unauthorized;
 import com.saltedge.connector.sdk.api.services.BaseServicesTests;
 import com.saltedge.connector.sdk.callback.mapping.SessionSuccessCallbackRequest;
 import com.saltedge.connector.sdk.models.Token;
@@ -36,12 +37,15 @@ import org.springframework.test.context.junit4.SpringRunner;
 import javax.validation.ConstraintViolationException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Date;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.byLessThan;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @RunWith(SpringRunner.class)
@@ -85,6 +89,7 @@ public class ConfirmTokenServiceTests extends BaseServicesTests {
 		token.tokenExpiresAt = Instant.parse("2019-08-21T16:04:49.021Z");
 		ProviderConsents providerOfferedConsents = ProviderConsents.buildAllAccountsConsent();
 		given(tokensRepository.findFirstBySessionSecret("sessionSecret")).willReturn(token);
+		givenConfirmTokenUpdatesRows(1);
 
 		// when
 		Token result = testService.confirmToken(
@@ -102,7 +107,7 @@ public class ConfirmTokenServiceTests extends BaseServicesTests {
 		assertThat(result.accessToken).isEqualTo("accessToken");
 		assertThat(result.tokenExpiresAt).isEqualTo(Instant.parse("2019-08-21T16:04:49.021Z"));
 		assertThat(result.providerOfferedConsents).isEqualTo(providerOfferedConsents);
-		verify(tokensRepository).save(any(Token.class));
+		verifyConfirmTokenUpdate();
 
 		ArgumentCaptor<SessionSuccessCallbackRequest> captor = ArgumentCaptor.forClass(SessionSuccessCallbackRequest.class);
 		verify(sessionsCallbackService).sendSuccessCallback(eq("sessionSecret"), captor.capture());
@@ -120,6 +125,7 @@ public class ConfirmTokenServiceTests extends BaseServicesTests {
 		token.tokenExpiresAt = null;
 		token.sessionSecret = "sessionSecret";
 		given(tokensRepository.findFirstBySessionSecret("sessionSecret")).willReturn(token);
+		givenConfirmTokenUpdatesRows(1);
 
 		// when
 		Token result = testService.confirmToken(
@@ -138,7 +144,7 @@ public class ConfirmTokenServiceTests extends BaseServicesTests {
 		assertThat(result.tokenExpiresAt)
 				.isCloseTo(Instant.now().plus(SDKConstants.CONSENT_MAX_PERIOD, ChronoUnit.DAYS), byLessThan(100, ChronoUnit.MILLIS));
 		assertThat(result.providerOfferedConsents).isEqualTo(ProviderConsents.buildAllAccountsConsent());
-		verify(tokensRepository).save(any(Token.class));
+		verifyConfirmTokenUpdate();
 
 		ArgumentCaptor<SessionSuccessCallbackRequest> captor = ArgumentCaptor.forClass(SessionSuccessCallbackRequest.class);
 		verify(sessionsCallbackService).sendSuccessCallback(eq("sessionSecret"), captor.capture());
@@ -156,6 +162,7 @@ public class ConfirmTokenServiceTests extends BaseServicesTests {
 		token.sessionSecret = "sessionSecret";
 		token.tokenExpiresAt = Instant.parse("2019-08-21T16:04:49.021Z");
 		given(tokensRepository.findFirstBySessionSecret("sessionSecret")).willReturn(token);
+		givenConfirmTokenUpdatesRows(1);
 
 		// when
 		Token result = testService.confirmToken(
@@ -173,7 +180,7 @@ public class ConfirmTokenServiceTests extends BaseServicesTests {
 		assertThat(result.accessToken).isEqualTo("accessToken");
 		assertThat(result.tokenExpiresAt).isEqualTo(Instant.parse("2019-08-21T16:04:49.021Z"));
 		assertThat(result.providerOfferedConsents).isEqualTo(globalConsents);
-		verify(tokensRepository).save(any(Token.class));
+		verifyConfirmTokenUpdate();
 
 		ArgumentCaptor<SessionSuccessCallbackRequest> captor = ArgumentCaptor.forClass(SessionSuccessCallbackRequest.class);
 		verify(sessionsCallbackService).sendSuccessCallback(eq("sessionSecret"), captor.capture());
@@ -181,4 +188,38 @@ public class ConfirmTokenServiceTests extends BaseServicesTests {
 		assertThat(captor.getValue().userId).isEqualTo("userId");
 		assertThat(captor.getValue().token).isEqualTo("accessToken");
 	}
+
+	@Test
+	public void givenConcurrentlyRevokedToken_whenConfirmToken_thenReturnRevokedTokenAndSendFail() {
+		// given
+		Token token = new Token();
+		token.sessionSecret = "sessionSecret";
+		Token revokedToken = new Token();
+		revokedToken.sessionSecret = "sessionSecret";
+		revokedToken.status = Token.Status.REVOKED;
+		given(tokensRepository.findFirstBySessionSecret("sessionSecret")).willReturn(token, revokedToken);
+		givenConfirmTokenUpdatesRows(0);
+
+		// when
+		Token result = testService.confirmToken("sessionSecret", "userId", "accessToken", null);
+
+		// then
+		assertThat(result.status).isEqualTo(Token.Status.REVOKED);
+		verify(sessionsCallbackService).sendFailCallback(eq("sessionSecret"), eq(new Unauthorized.AccessDenied()));
+		verify(sessionsCallbackService, never()).sendSuccessCallback(anyString(), any(SessionSuccessCallbackRequest.class));
+	}
+
+	private void givenConfirmTokenUpdatesRows(int count) {
+		given(tokensRepository.confirmToken(
+				any(), anyString(), anyString(), any(Instant.class), any(ProviderConsents.class), any(Date.class),
+				eq(Token.Status.CONFIRMED), eq(Token.Status.UNCONFIRMED)
+		)).willReturn(count);
+	}
+
+	private void verifyConfirmTokenUpdate() {
+		verify(tokensRepository).confirmToken(
+				any(), eq("userId"), eq("accessToken"), any(Instant.class), any(ProviderConsents.class), any(Date.class),
+				eq(Token.Status.CONFIRMED), eq(Token.Status.UNCONFIRMED)
+		);
+	}
 }
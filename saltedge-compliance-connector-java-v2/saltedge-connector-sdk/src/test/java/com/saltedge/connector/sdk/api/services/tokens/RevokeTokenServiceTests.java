@@ -25,12 +25,15 @@ import com.saltedge.connector.sdk.api.services.BaseServicesTests;
 import com.saltedge.connector.sdk.models.Token;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.util.Date;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
 
@@ -49,9 +52,8 @@ public class RevokeTokenServiceTests extends BaseServicesTests {
 		revokeTokenService.revokeTokenAsync(token);
 
 		// then
-		final ArgumentCaptor<Token> captor = ArgumentCaptor.forClass(Token.class);
-		verify(tokensRepository).save(captor.capture());
-		assertThat(captor.getValue().status).isEqualTo(Token.Status.REVOKED);
+		assertThat(token.status).isEqualTo(Token.Status.REVOKED);
+		verify(tokensRepository).revokeToken(any(), any(Date.class), eq(Token.Status.REVOKED));
 	}
 
 	@Test(expected = NotFound.TokenNotFound.class)
@@ -69,12 +71,11 @@ public class RevokeTokenServiceTests extends BaseServicesTests {
 		given(tokensRepository.findFirstBySessionSecret("sessionSecret")).willReturn(new Token());
 
 		// when
-		revokeTokenService.revokeTokenBySessionSecret("sessionSecret");
+		Token result = revokeTokenService.revokeTokenBySessionSecret("sessionSecret");
 
 		// then
-		final ArgumentCaptor<Token> captor = ArgumentCaptor.forClass(Token.class);
-		verify(tokensRepository).save(captor.capture());
-		assertThat(captor.getValue().status).isEqualTo(Token.Status.REVOKED);
+		assertThat(result.status).isEqualTo(Token.Status.REVOKED);
+		verify(tokensRepository).revokeToken(any(), any(Date.class), eq(Token.Status.REVOKED));
 	}
 
 	@Test(expected = NotFound.TokenNotFound.class)
@@ -92,11 +93,10 @@ public class RevokeTokenServiceTests extends BaseServicesTests {
 		given(tokensRepository.findFirstByUserIdAndAccessToken("userId", "accessToken")).willReturn(new Token());
 
 		// when
-		revokeTokenService.revokeTokenByUserIdAndAccessToken("userId", "accessToken");
+		Token result = revokeTokenService.revokeTokenByUserIdAndAccessToken("userId", "accessToken");
 
 		// then
-		final ArgumentCaptor<Token> captor = ArgumentCaptor.forClass(Token.class);
-		verify(tokensRepository).save(captor.capture());
-		assertThat(captor.getValue().status).isEqualTo(Token.Status.REVOKED);
+		assertThat(result.status).isEqualTo(Token.Status.REVOKED);
+		verify(tokensRepository).revokeToken(any(), any(Date.class), eq(Token.Status.REVOKED));
 	}
 }
@@ -133,4 +133,13 @@ public class SessionCallbackServiceTest {
         assertThat(entityCaptor.getValue().getHeaders().get("App-secret")).isEqualTo(Lists.list("ASDFG"));
         assertThat(entityCaptor.getValue().getHeaders().get(SDKConstants.HEADER_AUTHORIZATION).get(0)).startsWith("Bearer ");
     }
+
+    @Test
+    public void createCallbackRouteTest() {
+        assertThat(CallbackRestClient.createCallbackRoute("https://priora.saltedge.com/api/connectors/v2/sessions/secret/update"))
+                .isEqualTo("sessions/update");
+        assertThat(CallbackRestClient.createCallbackRoute("https://priora.saltedge.com/api/connectors/v2/tokens/revoke"))
+                .isEqualTo("tokens/revoke");
+        assertThat(CallbackRestClient.createCallbackRoute(null)).isNull();
+    }
 }
@@ -4,15 +4,24 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest
 public class ApplicationPropertiesTest {
 	@Autowired
 	ApplicationProperties applicationProperties;
+	@Autowired
+	ApplicationContext applicationContext;
+
+	@Test
+	public void givenContext_whenGetApplicationProperties_thenReturnOneBean() {
+		assertThat(applicationContext.getBeanNamesForType(ApplicationProperties.class)).hasSize(1);
+	}
 
 	@Test
 	public void valuesTest() {
@@ -26,4 +35,41 @@ public class ApplicationPropertiesTest {
 		assertThat(prioraProperties.getPrioraBaseUrl().toString()).isEqualTo("http://localhost");
 		assertThat(prioraProperties.getPrioraPublicKey()).isNotNull();
 	}
+
+	@Test
+	public void givenKeyNames_whenLoadKeys_thenKeysAreLoaded() {
+		ApplicationProperties properties = createProperties("test_private_key.pem", "test_public_key.pem");
+
+		properties.loadKeys();
+
+		assertThat(properties.getConnectorPrivateKey()).isNotNull();
+		assertThat(properties.getPrioraPublicKey()).isNotNull();
+	}
+
+	@Test
+	public void givenMissingPrivateKey_whenLoadKeys_thenThrowException() {
+		ApplicationProperties properties = createProperties("missing_key.pem", "test_public_key.pem");
+
+		assertThatThrownBy(properties::loadKeys)
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("missing_key.pem");
+	}
+
+	@Test
+	public void givenInvalidPublicKey_whenLoadKeys_thenThrowException() {
+		ApplicationProperties properties = createProperties("test_private_key.pem", "test_private_alt_key.pem");
+
+		assertThatThrownBy(properties::loadKeys)
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("test_private_alt_key.pem");
+	}
+
+	private static ApplicationProperties createProperties(String privateKeyName, String publicKeyName) {
+		PrioraProperties prioraProperties = new PrioraProperties();
+		prioraProperties.setPublicKeyName(publicKeyName);
+		ApplicationProperties result = new ApplicationProperties();
+		result.setPrivateKeyName(privateKeyName);
+		result.setPriora(prioraProperties);
+		return result;
+	}
 }
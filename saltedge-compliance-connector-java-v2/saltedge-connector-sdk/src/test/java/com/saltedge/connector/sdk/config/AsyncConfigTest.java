@@ -0,0 +1,245 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.config;
+
+import com.saltedge.connector.sdk.metrics.SdkMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AsyncConfigTest {
+	@Test
+	public void givenFullQueue_whenExecuteWithAbortPolicy_thenRejectTaskAndCountRejection() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		ThreadPoolTaskExecutor executor = AsyncConfig.createExecutor(
+				"tokens",
+				new ExecutorProperties(1, 1, 1),
+				new ThreadPoolExecutor.AbortPolicy(),
+				new SdkMetrics(registry)
+		);
+		executor.initialize();
+		CountDownLatch latch = new CountDownLatch(1);
+		try {
+			executor.execute(() -> await(latch));
+			executor.execute(() -> await(latch));
+
+			assertThat(registry.find(SdkMetrics.EXECUTOR_QUEUE_SIZE).tags(SdkMetrics.TAG_EXECUTOR, "tokens").gauge().value()).isEqualTo(1.0);
+			assertThatThrownBy(() -> executor.execute(() -> {})).isInstanceOf(TaskRejectedException.class);
+			assertThat(registry.find(SdkMetrics.EXECUTOR_REJECTED).tags(SdkMetrics.TAG_EXECUTOR, "tokens").counter().count()).isEqualTo(1.0);
+			assertThat(registry.find(SdkMetrics.EXECUTOR_ACTIVE_THREADS).tags(SdkMetrics.TAG_EXECUTOR, "tokens").gauge()).isNotNull();
+		} finally {
+			latch.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void givenFullQueue_whenExecuteWithRetryRejectedPolicy_thenRunTaskLaterInExecutorThread() throws Exception {
+		RetryRejectedPolicy policy = new RetryRejectedPolicy("callbacks", 5, 10, 10);
+		ThreadPoolTaskExecutor executor = AsyncConfig.createExecutor(
+				"callbacks",
+				new ExecutorProperties(1, 1, 1),
+				policy,
+				SdkMetrics.DISABLED
+		);
+		executor.initialize();
+		CountDownLatch latch = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(1);
+		AtomicReference<Thread> taskThread = new AtomicReference<>();
+		try {
+			executor.execute(() -> await(latch));
+			executor.execute(() -> await(latch));
+			executor.execute(() -> {
+				taskThread.set(Thread.currentThread());
+				done.countDown();
+			});
+
+			assertThat(taskThread.get()).isNull();
+			assertThat(policy.getPendingTasks()).isEqualTo(1);
+
+			latch.countDown();
+
+			assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(taskThread.get().getName()).startsWith("connector-callbacks-");
+			assertThat(awaitNoPendingTasks(policy)).isTrue();
+		} finally {
+			latch.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void givenBusyExecutor_whenAllRetriesAreRejected_thenDropTask() throws Exception {
+		RetryRejectedPolicy policy = new RetryRejectedPolicy("callbacks", 2, 10, 10);
+		ThreadPoolTaskExecutor executor = AsyncConfig.createExecutor(
+				"callbacks",
+				new ExecutorProperties(1, 1, 1),
+				policy,
+				SdkMetrics.DISABLED
+		);
+		executor.initialize();
+		CountDownLatch latch = new CountDownLatch(1);
+		AtomicReference<Thread> taskThread = new AtomicReference<>();
+		try {
+			executor.execute(() -> await(latch));
+			executor.execute(() -> await(latch));
+			executor.execute(() -> taskThread.set(Thread.currentThread()));
+
+			assertThat(awaitNoPendingTasks(policy)).isTrue();
+			latch.countDown();
+			executor.shutdown();
+			executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS);
+
+			assertThat(taskThread.get()).isNull();
+		} finally {
+			latch.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void givenTooManyTasksWaitingForRetry_whenExecute_thenRejectTask() {
+		ThreadPoolTaskExecutor executor = AsyncConfig.createExecutor(
+				"callbacks",
+				new ExecutorProperties(1, 1, 1),
+				new RetryRejectedPolicy("callbacks", 5, 10_000, 1),
+				SdkMetrics.DISABLED
+		);
+		executor.initialize();
+		CountDownLatch latch = new CountDownLatch(1);
+		try {
+			executor.execute(() -> await(latch));
+			executor.execute(() -> await(latch));
+			executor.execute(() -> {});
+
+			assertThatThrownBy(() -> executor.execute(() -> {})).isInstanceOf(TaskRejectedException.class);
+		} finally {
+			latch.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void givenThreadFactory_whenExecuteOnThreadPerTaskExecutor_thenRunTaskInThreadOfFactory() throws Exception {
+		ThreadPerTaskExecutor executor = AsyncConfig.createThreadPerTaskExecutor(
+				"payments",
+				new ExecutorProperties(1, 1, 1),
+				null,
+				runnable -> new Thread(runnable, "custom-thread"),
+				SdkMetrics.DISABLED
+		);
+
+		String threadName = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+		assertThat(threadName).isEqualTo("custom-thread");
+	}
+
+	@Test
+	public void givenMaxTasksRunning_whenExecuteOnThreadPerTaskExecutor_thenRejectTaskAndCountRejection() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		ThreadPerTaskExecutor executor = AsyncConfig.createThreadPerTaskExecutor(
+				"tokens",
+				new ExecutorProperties(1, 1, 1),
+				null,
+				Thread::new,
+				new SdkMetrics(registry)
+		);
+		CountDownLatch latch = new CountDownLatch(1);
+		try {
+			executor.execute(() -> await(latch));
+			executor.execute(() -> await(latch));
+
+			assertThat(registry.find(SdkMetrics.EXECUTOR_ACTIVE_THREADS).tags(SdkMetrics.TAG_EXECUTOR, "tokens").gauge().value()).isEqualTo(2.0);
+			assertThatThrownBy(() -> executor.execute(() -> {})).isInstanceOf(TaskRejectedException.class);
+			assertThat(registry.find(SdkMetrics.EXECUTOR_REJECTED).tags(SdkMetrics.TAG_EXECUTOR, "tokens").counter().count()).isEqualTo(1.0);
+		} finally {
+			latch.countDown();
+		}
+	}
+
+	@Test
+	public void givenMaxTasksRunning_whenExecuteOnThreadPerTaskExecutorWithRetryPolicy_thenRunTaskLater() throws Exception {
+		RetryRejectedPolicy policy = new RetryRejectedPolicy("callbacks", 5, 10, 10);
+		ThreadPerTaskExecutor executor = AsyncConfig.createThreadPerTaskExecutor(
+				"callbacks",
+				new ExecutorProperties(1, 1, 0),
+				policy,
+				runnable -> new Thread(runnable, "connector-callbacks-test"),
+				SdkMetrics.DISABLED
+		);
+		CountDownLatch latch = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(1);
+		AtomicReference<Thread> taskThread = new AtomicReference<>();
+		try {
+			executor.execute(() -> await(latch));
+			executor.execute(() -> {
+				taskThread.set(Thread.currentThread());
+				done.countDown();
+			});
+
+			assertThat(taskThread.get()).isNull();
+			assertThat(policy.getPendingTasks()).isEqualTo(1);
+
+			latch.countDown();
+
+			assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(taskThread.get().getName()).isEqualTo("connector-callbacks-test");
+			assertThat(awaitNoPendingTasks(policy)).isTrue();
+		} finally {
+			latch.countDown();
+		}
+	}
+
+	@Test
+	public void defaultPropertiesTest() {
+		AsyncProperties properties = new AsyncProperties();
+
+		assertThat(properties.getTokens().getQueueCapacity()).isEqualTo(200);
+		assertThat(properties.getPayments().getMaxPoolSize()).isEqualTo(16);
+		assertThat(properties.getCallbacks().getQueueCapacity()).isEqualTo(1000);
+	}
+
+	/**
+	 * Retried task can finish before scheduler thread of policy decrements count of pending tasks
+	 */
+	private static boolean awaitNoPendingTasks(RetryRejectedPolicy policy) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (policy.getPendingTasks() > 0 && System.currentTimeMillis() < deadline) Thread.sleep(10);
+		return policy.getPendingTasks() == 0;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
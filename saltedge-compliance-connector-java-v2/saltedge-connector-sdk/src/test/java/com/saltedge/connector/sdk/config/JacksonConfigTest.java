@@ -0,0 +1,62 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.config;
+
+import com.saltedge.connector.sdk.api.models.responses.AccountsResponse;
+import com.saltedge.connector.sdk.api.models.responses.ErrorResponse;
+import com.saltedge.connector.sdk.tools.JsonTools;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JacksonConfigTest {
+	@Test
+	public void extendMessageConvertersTest() {
+		List<HttpMessageConverter<?>> converters = new ArrayList<>();
+		converters.add(new StringHttpMessageConverter());
+
+		new JacksonConfig().extendMessageConverters(converters);
+
+		assertThat(converters).hasSize(2);
+		assertThat(converters.get(0)).isInstanceOf(JacksonConfig.SdkMessageConverter.class);
+		assertThat(((JacksonConfig.SdkMessageConverter) converters.get(0)).getObjectMapper())
+				.isSameAs(JsonTools.getDefaultMapper());
+	}
+
+	@Test
+	public void sdkMessageConverterTest() {
+		JacksonConfig.SdkMessageConverter converter = new JacksonConfig.SdkMessageConverter();
+
+		assertThat(converter.canWrite(AccountsResponse.class, MediaType.APPLICATION_JSON)).isTrue();
+		assertThat(converter.canWrite(ErrorResponse.class, MediaType.APPLICATION_JSON)).isTrue();
+		assertThat(converter.canRead(AccountsResponse.class, MediaType.APPLICATION_JSON)).isTrue();
+		assertThat(converter.canWrite(Map.class, MediaType.APPLICATION_JSON)).isFalse();
+		assertThat(converter.canRead(Map.class, MediaType.APPLICATION_JSON)).isFalse();
+		assertThat(converter.canRead(String.class, null, MediaType.APPLICATION_JSON)).isFalse();
+	}
+}
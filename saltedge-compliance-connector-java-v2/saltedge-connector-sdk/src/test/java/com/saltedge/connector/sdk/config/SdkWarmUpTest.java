@@ -0,0 +1,53 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.config;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+public class SdkWarmUpTest {
+	@Test
+	public void givenConnectorPrivateKey_whenWarmUp_thenSignAndVerifyRequestsAndSerializeResponses() throws Exception {
+		SdkWarmUp warmUp = createWarmUp();
+
+		assertThat(warmUp.warmUp(3)).isEqualTo(18);
+	}
+
+	@Test
+	public void givenMissingPrivateKey_whenAfterSingletonsInstantiated_thenDoNotFail() {
+		SdkWarmUp warmUp = createWarmUp();
+		warmUp.applicationProperties.setPrivateKeyName("missing_key.pem");
+
+		assertThatCode(warmUp::afterSingletonsInstantiated).doesNotThrowAnyException();
+	}
+
+	private static SdkWarmUp createWarmUp() {
+		ApplicationProperties properties = new ApplicationProperties();
+		properties.setPrivateKeyName("test_private_key.pem");
+		properties.getWarmUp().setEnabled(true);
+		properties.getWarmUp().setIterations(2);
+		SdkWarmUp result = new SdkWarmUp();
+		result.applicationProperties = properties;
+		return result;
+	}
+}
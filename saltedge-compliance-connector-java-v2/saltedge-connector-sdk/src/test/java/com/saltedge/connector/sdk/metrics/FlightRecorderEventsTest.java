@@ -0,0 +1,77 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.metrics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FlightRecorderEventsTest {
+	@Test
+	public void givenNoRecording_whenBegin_thenReturnDisabledStage() {
+		FlightRecorderEvents.Stage stage = FlightRecorderEvents.begin(FlightRecorderEvents.STAGE_JWT_PARSE);
+
+		assertThat(stage).isNotInstanceOf(StageEvent.class);
+		stage.end(null);
+	}
+
+	@Test
+	public void givenRecordingWithSdkProfile_whenEndStage_thenRecordEvent() throws Exception {
+		// given
+		Configuration configuration;
+		try (Reader reader = new InputStreamReader(getClass().getResourceAsStream("/jfr/connector-sdk.jfc"), StandardCharsets.UTF_8)) {
+			configuration = Configuration.create(reader);
+		}
+		Path file = Files.createTempFile("connector-sdk", ".jfr");
+		try (Recording recording = new Recording(configuration)) {
+			recording.enable(StageEvent.class).withoutThreshold();
+			recording.start();
+
+			// when
+			FlightRecorderEvents.begin(FlightRecorderEvents.STAGE_CALLBACK_SIGNING).end("callbacks", "sessionSecret", null);
+			recording.stop();
+			recording.dump(file);
+
+			// then
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+					.filter(event -> event.getEventType().getName().equals("com.saltedge.connector.sdk.Stage"))
+					.collect(Collectors.toList());
+			assertThat(events).hasSize(1);
+			assertThat(events.get(0).getString("stage")).isEqualTo(FlightRecorderEvents.STAGE_CALLBACK_SIGNING);
+			assertThat(events.get(0).getString("endpoint")).isEqualTo("callbacks");
+			assertThat(events.get(0).getString("sessionSecretHash")).isEqualTo(CorrelationId.of("sessionSecret")).hasSize(16);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+}
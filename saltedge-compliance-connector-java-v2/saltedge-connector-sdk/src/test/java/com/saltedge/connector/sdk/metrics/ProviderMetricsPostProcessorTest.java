@@ -0,0 +1,62 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.metrics;
+
+import com.saltedge.connector.sdk.TestProviderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProviderMetricsPostProcessorTest {
+	@Test
+	public void givenProviderService_whenPostProcess_thenReturnClassProxyWhichRecordsCalls() {
+		// given
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.setClassLoader(TestProviderService.class.getClassLoader());
+		context.getBeanFactory().registerSingleton("sdkMetrics", new SdkMetrics(registry));
+		context.register(ProviderMetricsPostProcessor.class, TestProviderService.class);
+		context.refresh();
+
+		// when
+		TestProviderService result = context.getBean(TestProviderService.class);
+		result.getAccountsOfUser("1");
+		result.getCardAccountsOfUser("1");
+		context.close();
+
+		// then
+		assertThat(registry.find(SdkMetrics.PROVIDER_CALLS).tag("method", "getAccountsOfUser").timer().count()).isEqualTo(1L);
+		assertThat(registry.find(SdkMetrics.PROVIDER_CALLS).tag("method", "getCardAccountsOfUser").timer().count()).isEqualTo(1L);
+		assertThat(registry.find(SdkMetrics.PROVIDER_CALLS).timers()).hasSize(2);
+	}
+
+	@Test
+	public void givenOtherBean_whenPostProcess_thenReturnSameBean() {
+		ProviderMetricsPostProcessor postProcessor = new ProviderMetricsPostProcessor();
+		postProcessor.setBeanFactory(new DefaultListableBeanFactory());
+		Object bean = new Object();
+
+		assertThat(postProcessor.postProcessAfterInitialization(bean, "bean")).isSameAs(bean);
+	}
+}
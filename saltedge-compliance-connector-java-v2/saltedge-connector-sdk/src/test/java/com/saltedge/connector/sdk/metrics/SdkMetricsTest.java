@@ -0,0 +1,65 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.metrics;
+
+import com.saltedge.connector.sdk.api.models.err.NotFound;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SdkMetricsTest {
+	@Test
+	public void givenRegistry_whenRecordApiRequest_thenRegisterTimerWithTags() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		SdkMetrics metrics = new SdkMetrics(registry);
+
+		metrics.recordApiRequest("/api/priora/v2/accounts", "GET", 404, "tppName", "TokenNotFound", System.nanoTime());
+
+		Timer timer = registry.find(SdkMetrics.API_REQUESTS)
+				.tags("uri", "/api/priora/v2/accounts", "method", "GET", "status", "404", "outcome", "CLIENT_ERROR")
+				.tags(SdkMetrics.TAG_TPP_NAME, "tppName", SdkMetrics.TAG_ERROR, "TokenNotFound")
+				.timer();
+		assertThat(timer).isNotNull();
+		assertThat(timer.count()).isEqualTo(1L);
+	}
+
+	@Test
+	public void givenRegistry_whenRecordProviderCallWithError_thenTagErrorClass() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		SdkMetrics metrics = new SdkMetrics(registry);
+
+		metrics.recordProviderCall("getAccountsOfUser", new NotFound.UserNotFound(), System.nanoTime());
+		metrics.recordProviderCall("getAccountsOfUser", null, System.nanoTime());
+
+		assertThat(registry.find(SdkMetrics.PROVIDER_CALLS).tags(SdkMetrics.TAG_ERROR, "UserNotFound").timer().count()).isEqualTo(1L);
+		assertThat(registry.find(SdkMetrics.PROVIDER_CALLS).tags(SdkMetrics.TAG_ERROR, SdkMetrics.NONE).timer().count()).isEqualTo(1L);
+	}
+
+	@Test
+	public void givenDisabledMetrics_whenRecord_thenDoNothing() {
+		assertThat(SdkMetrics.DISABLED.isEnabled()).isFalse();
+
+		SdkMetrics.DISABLED.recordTokenLookup("found", System.nanoTime());
+		SdkMetrics.DISABLED.recordCallback("sessions/update", 200, null, System.nanoTime());
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SdkTaskDecoratorTest {
+	@After
+	public void tearDown() {
+		MDC.clear();
+	}
+
+	@Test
+	public void givenCorrelationIdInMdc_whenRunDecoratedTaskInOtherThread_thenCarryMdcAndRecordTimers() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		SdkTaskDecorator decorator = new SdkTaskDecorator(new SdkMetrics(registry), "tokens");
+		CorrelationId.putToMdc("sessionSecret");
+		AtomicReference<String> taskCorrelationId = new AtomicReference<>();
+
+		Runnable task = decorator.decorate(() -> taskCorrelationId.set(MDC.get(CorrelationId.MDC_KEY)));
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		executor.submit(task).get(5, TimeUnit.SECONDS);
+		AtomicReference<String> threadCorrelationId = new AtomicReference<>("value");
+		executor.submit(() -> threadCorrelationId.set(MDC.get(CorrelationId.MDC_KEY))).get(5, TimeUnit.SECONDS);
+		executor.shutdown();
+
+		assertThat(taskCorrelationId.get()).isEqualTo(CorrelationId.of("sessionSecret"));
+		assertThat(threadCorrelationId.get()).isNull();
+		assertThat(registry.find(SdkMetrics.ASYNC_QUEUE_WAIT).tags(SdkMetrics.TAG_EXECUTOR, "tokens").timer().count()).isEqualTo(1L);
+		assertThat(registry.find(SdkMetrics.ASYNC_EXECUTION)
+				.tags(SdkMetrics.TAG_EXECUTOR, "tokens", SdkMetrics.TAG_ERROR, SdkMetrics.NONE).timer().count()).isEqualTo(1L);
+	}
+
+	@Test
+	public void givenFailingTask_whenRun_thenRecordErrorAndRestoreMdc() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		SdkTaskDecorator decorator = new SdkTaskDecorator(new SdkMetrics(registry), "callbacks");
+		Runnable task = decorator.decorate(() -> {
+			throw new IllegalStateException("failed");
+		});
+		MDC.put("key", "value");
+
+		assertThatThrownBy(task::run).isInstanceOf(IllegalStateException.class);
+
+		assertThat(MDC.get("key")).isEqualTo("value");
+		assertThat(registry.find(SdkMetrics.ASYNC_EXECUTION)
+				.tags(SdkMetrics.TAG_EXECUTOR, "callbacks", SdkMetrics.TAG_ERROR, "IllegalStateException").timer().count()).isEqualTo(1L);
+	}
+
+	@Test
+	public void correlationIdTest() {
+		assertThat(CorrelationId.of(null)).isNull();
+		assertThat(CorrelationId.of("sessionSecret")).hasSize(16).isEqualTo(CorrelationId.of("sessionSecret"));
+		assertThat(CorrelationId.of("sessionSecret")).isNotEqualTo(CorrelationId.of("sessionSecret2"));
+	}
+}
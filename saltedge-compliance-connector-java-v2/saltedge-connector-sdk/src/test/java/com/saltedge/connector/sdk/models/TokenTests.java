@@ -20,7 +20,10 @@
  */
 package com.saltedge.connector.sdk.models;
 
+import com.saltedge.connector.sdk.api.models.ConsentIndex;
 import com.saltedge.connector.sdk.api.models.ProviderConsents;
+import com.saltedge.connector.sdk.api.models.ProviderOfferedConsent;
+import org.assertj.core.util.Lists;
 import org.junit.Test;
 
 import java.time.Instant;
@@ -57,4 +60,20 @@ public class TokenTests {
 
 		assertThat(token.notGlobalConsent()).isFalse();
 	}
+
+	@Test
+	public void getConsentIndexTest() {
+		Token token = new Token();
+
+		assertThat(token.getConsentIndex()).isSameAs(ConsentIndex.EMPTY);
+
+		token.providerOfferedConsents = new ProviderConsents(
+				Lists.list(ProviderOfferedConsent.createAccountConsent("MD01")),
+				Lists.emptyList()
+		);
+		ConsentIndex index = token.getConsentIndex();
+
+		assertThat(index.isUnrestricted()).isFalse();
+		assertThat(token.getConsentIndex()).isSameAs(index);
+	}
 }
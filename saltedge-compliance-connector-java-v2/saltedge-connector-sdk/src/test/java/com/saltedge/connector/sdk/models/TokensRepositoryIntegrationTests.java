@@ -20,25 +20,40 @@
  */
 package com.saltedge.connector.sdk.models;
 
+import com.saltedge.connector.sdk.api.models.ProviderConsents;
+import com.saltedge.connector.sdk.api.models.ProviderOfferedConsent;
+import com.saltedge.connector.sdk.config.ApplicationProperties;
+import com.saltedge.connector.sdk.config.ConsentsMigrationProperties;
+import com.saltedge.connector.sdk.tools.ConsentDataCodec;
+import org.assertj.core.util.Lists;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import java.time.Instant;
 import java.util.Date;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
 
 @RunWith(SpringRunner.class)
 @DataJpaTest
+@Import(ConsentDataMigration.class)
 public class TokensRepositoryIntegrationTests {
+	private final static String LEGACY_CONSENTS_DATA = "{\"balances\":[{\"iban\":\"MD12345\"}],\"transactions\":[]}";
 	@Autowired
 	private TestEntityManager entityManager;
 	@Autowired
 	private TokensRepository tokensRepository;
+	@Autowired
+	private ConsentDataMigration consentDataMigration;
+	@MockBean
+	private ApplicationProperties applicationProperties;
 
 	@Test
 	public void whenFindFirstBySessionSecret_thenReturnToken() {
@@ -94,4 +109,146 @@ public class TokensRepositoryIntegrationTests {
 		// then
 		assertThat(found).isNull();
 	}
+
+	@Test
+	public void givenLegacyJsonConsents_whenMigrate_thenStoreCompactConsents() {
+		// given
+		Token token = createTokenWithLegacyConsents();
+
+		// when
+		int result = consentDataMigration.migrate();
+
+		// then
+		assertThat(result).isEqualTo(1);
+		assertThat(ConsentDataCodec.isCompactFormat(readStoredConsentsData(token))).isTrue();
+		assertThat(tokensRepository.findById(token.id).get().providerOfferedConsents).isEqualTo(new ProviderConsents(
+				Lists.list(ProviderOfferedConsent.createAccountConsent("MD12345")),
+				Lists.emptyList()
+		));
+		assertThat(consentDataMigration.migrate()).isEqualTo(0);
+	}
+
+	@Test
+	public void givenDisabledMigration_whenApplicationReady_thenKeepLegacyConsents() {
+		// given
+		given(applicationProperties.getConsentsMigration()).willReturn(new ConsentsMigrationProperties());
+		Token token = createTokenWithLegacyConsents();
+
+		// when
+		consentDataMigration.onApplicationReady();
+
+		// then
+		assertThat(readStoredConsentsData(token)).isEqualTo(LEGACY_CONSENTS_DATA);
+	}
+
+	@Test
+	public void givenEnabledMigration_whenApplicationReady_thenStoreCompactConsents() {
+		// given
+		ConsentsMigrationProperties properties = new ConsentsMigrationProperties();
+		properties.setEnabled(true);
+		given(applicationProperties.getConsentsMigration()).willReturn(properties);
+		Token token = createTokenWithLegacyConsents();
+
+		// when
+		consentDataMigration.onApplicationReady();
+
+		// then
+		assertThat(ConsentDataCodec.isCompactFormat(readStoredConsentsData(token))).isTrue();
+	}
+
+	@Test
+	public void givenUnconfirmedToken_whenConfirmToken_thenUpdateTokenAndVersion() {
+		// given
+		Token token = new Token("secret1", "tppAppName", "authTypeCode", null, Instant.parse("2019-11-18T16:04:50.915Z"));
+		entityManager.persist(token);
+		entityManager.flush();
+		ProviderConsents consents = ProviderConsents.buildAllAccountsConsent();
+
+		// when
+		int result = confirmToken(token, consents);
+
+		// then
+		assertThat(result).isEqualTo(1);
+		entityManager.clear();
+		Token found = tokensRepository.findById(token.id).get();
+		assertThat(found.status).isEqualTo(Token.Status.CONFIRMED);
+		assertThat(found.userId).isEqualTo("userId");
+		assertThat(found.accessToken).isEqualTo("123456");
+		assertThat(found.providerOfferedConsents).isEqualTo(consents);
+		assertThat(found.version).isEqualTo(token.version + 1);
+		assertThat(confirmToken(token, consents)).isEqualTo(0);
+	}
+
+	@Test
+	public void givenRevokedToken_whenConfirmToken_thenTokenStaysRevoked() {
+		// given
+		Token token = new Token("secret1", "tppAppName", "authTypeCode", null, Instant.parse("2019-11-18T16:04:50.915Z"));
+		entityManager.persist(token);
+		entityManager.flush();
+
+		// when
+		int revokeResult = tokensRepository.revokeToken(token.id, new Date(), Token.Status.REVOKED);
+		int confirmResult = confirmToken(token, ProviderConsents.buildAllAccountsConsent());
+
+		// then
+		assertThat(revokeResult).isEqualTo(1);
+		assertThat(confirmResult).isEqualTo(0);
+		assertThat(tokensRepository.revokeToken(token.id, new Date(), Token.Status.REVOKED)).isEqualTo(0);
+		entityManager.clear();
+		Token found = tokensRepository.findById(token.id).get();
+		assertThat(found.status).isEqualTo(Token.Status.REVOKED);
+		assertThat(found.accessToken).isNull();
+	}
+
+	@Test
+	public void givenManagedTokens_whenConfirmToken_thenOtherTokensStayManaged() {
+		// given
+		Token token = new Token("secret1", "tppAppName", "authTypeCode", null, Instant.parse("2019-11-18T16:04:50.915Z"));
+		Token otherToken = new Token("secret2", "tppAppName", "authTypeCode", null, Instant.parse("2019-11-18T16:04:50.915Z"));
+		entityManager.persist(token);
+		entityManager.persist(otherToken);
+		otherToken.accessToken = "654321";
+
+		// when
+		int result = confirmToken(token, ProviderConsents.buildAllAccountsConsent());
+
+		// then
+		assertThat(result).isEqualTo(1);
+		assertThat(entityManager.getEntityManager().contains(otherToken)).isTrue();
+		entityManager.clear();
+		assertThat(tokensRepository.findById(otherToken.id).get().accessToken).isEqualTo("654321");
+	}
+
+	private Token createTokenWithLegacyConsents() {
+		Token token = new Token("secret1", "tppAppName", "authTypeCode", null, Instant.parse("2019-11-18T16:04:50.915Z"));
+		entityManager.persist(token);
+		entityManager.flush();
+		entityManager.getEntityManager()
+				.createNativeQuery("UPDATE token SET provider_offered_consents = :data WHERE id = :id")
+				.setParameter("data", LEGACY_CONSENTS_DATA)
+				.setParameter("id", token.id)
+				.executeUpdate();
+		entityManager.clear();
+		return token;
+	}
+
+	private String readStoredConsentsData(Token token) {
+		return (String) entityManager.getEntityManager()
+				.createNativeQuery("SELECT provider_offered_consents FROM token WHERE id = :id")
+				.setParameter("id", token.id)
+				.getSingleResult();
+	}
+
+	private int confirmToken(Token token, ProviderConsents consents) {
+		return tokensRepository.confirmToken(
+				token.id,
+				"userId",
+				"123456",
+				token.tokenExpiresAt,
+				consents,
+				new Date(),
+				Token.Status.CONFIRMED,
+				Token.Status.UNCONFIRMED
+		);
+	}
 }
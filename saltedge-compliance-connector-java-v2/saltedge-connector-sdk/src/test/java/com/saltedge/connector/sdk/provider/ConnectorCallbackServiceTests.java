@@ -24,6 +24,8 @@ import com.saltedge.connector.sdk.SDKConstants;
 import com.saltedge.connector.sdk.api.models.ProviderConsents;
 import com.saltedge.connector.sdk.api.models.err.NotFound;
 import com.saltedge.connector.sdk.api.models.err.Unauthorized;
+import com.saltedge.connector.sdk.api.services.AccountsService;
+import com.saltedge.connector.sdk.api.services.ExchangeRatesService;
 import com.saltedge.connector.sdk.api.services.tokens.ConfirmTokenService;
 import com.saltedge.connector.sdk.api.services.tokens.RevokeTokenService;
 import com.saltedge.connector.sdk.callback.mapping.SessionSuccessCallbackRequest;
@@ -62,6 +64,10 @@ public class ConnectorCallbackServiceTests {
 	private SessionsCallbackService sessionsCallbackService;
 	@MockBean
 	private TokensCallbackService tokensCallbackService;
+	@MockBean
+	private AccountsService accountsService;
+	@MockBean
+	private ExchangeRatesService exchangeRatesService;
 
 	@Test(expected = ConstraintViolationException.class)
 	public void givenInvalidParams_whenIsUserConsentRequired_thenThrowConstraintViolationException() {
@@ -296,6 +302,30 @@ public class ConnectorCallbackServiceTests {
 		// then
 		assertThat(result).isEqualTo("http://redirect.to");
 		verify(sessionsCallbackService).sendSuccessCallback(eq("sessionSecret"), eq(new SessionSuccessCallbackRequest("user1", "ACTC")));
+		verify(accountsService).invalidateAccountsOfUser("user1");
+	}
+
+	@Test
+	public void whenOnExchangeRatesChanged_thenInvalidateExchangeRates() {
+		// when
+		testService.onExchangeRatesChanged();
+
+		// then
+		verify(exchangeRatesService).invalidate();
+	}
+
+	@Test(expected = ConstraintViolationException.class)
+	public void givenEmptyUserId_whenOnAccountsOfUserChanged_thenThrowConstraintViolationException() {
+		testService.onAccountsOfUserChanged("");
+	}
+
+	@Test
+	public void givenUserId_whenOnAccountsOfUserChanged_thenInvalidateAccountsOfUser() {
+		// when
+		testService.onAccountsOfUserChanged("user1");
+
+		// then
+		verify(accountsService).invalidateAccountsOfUser("user1");
 	}
 
 	@Test(expected = ConstraintViolationException.class)
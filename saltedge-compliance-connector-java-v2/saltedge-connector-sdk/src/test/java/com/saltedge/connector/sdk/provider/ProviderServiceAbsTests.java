@@ -0,0 +1,67 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.provider;
+
+import com.saltedge.connector.sdk.TestProviderService;
+import com.saltedge.connector.sdk.api.models.Account;
+import com.saltedge.connector.sdk.api.models.AccountBalance;
+import com.saltedge.connector.sdk.api.models.Amount;
+import org.assertj.core.util.Lists;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProviderServiceAbsTests {
+	private ProviderServiceAbs providerService = new TestProviderService() {
+		@Override
+		public List<Account> getAccountsOfUser(String userId) {
+			Account account = new Account();
+			account.setIban("iban");
+			account.setCurrencyCode("EUR");
+			account.setBalances(Lists.list(
+					new AccountBalance("1.0", "EUR", "closingBooked"),
+					new AccountBalance("100.0", "EUR", "openingBooked")
+			));
+			return Lists.list(account);
+		}
+	};
+
+	@Test
+	public void givenAccountIdentifier_whenGetAvailableBalanceOfAccount_thenReturnOpeningBookedBalance() {
+		// when
+		Amount result = providerService.getAvailableBalanceOfAccount("1", "iban");
+
+		// then
+		assertThat(result.amount).isEqualTo("100.0");
+		assertThat(result.currency).isEqualTo("EUR");
+	}
+
+	@Test
+	public void givenUnknownAccountIdentifier_whenGetAvailableBalanceOfAccount_thenReturnNull() {
+		// when
+		Amount result = providerService.getAvailableBalanceOfAccount("1", "bban");
+
+		// then
+		assertThat(result).isNull();
+	}
+}
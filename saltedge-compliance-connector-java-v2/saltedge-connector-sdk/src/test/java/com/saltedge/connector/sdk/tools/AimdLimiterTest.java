@@ -0,0 +1,96 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.tools;
+
+import com.saltedge.connector.sdk.config.AdmissionLaneProperties;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AimdLimiterTest {
+	private final static long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+	private final static long SLOW = TimeUnit.SECONDS.toNanos(10);
+
+	@Test
+	public void givenFullLimit_whenTryAcquire_thenReturnFalse() {
+		AimdLimiter limiter = new AimdLimiter(new AdmissionLaneProperties(2, 1, 10));
+
+		assertThat(limiter.tryAcquire()).isTrue();
+		assertThat(limiter.tryAcquire()).isTrue();
+		assertThat(limiter.tryAcquire()).isFalse();
+		assertThat(limiter.getInFlight()).isEqualTo(2);
+
+		limiter.release(FAST, false);
+
+		assertThat(limiter.getInFlight()).isEqualTo(1);
+		assertThat(limiter.tryAcquire()).isTrue();
+	}
+
+	@Test
+	public void givenFastRequestsOfUtilisedLimit_whenRelease_thenIncreaseLimitUpToMax() {
+		AimdLimiter limiter = new AimdLimiter(new AdmissionLaneProperties(2, 1, 3));
+
+		for (int i = 0; i < 5; i++) {
+			limiter.tryAcquire();
+			limiter.release(FAST, false);
+		}
+
+		assertThat(limiter.getLimit()).isEqualTo(3);
+	}
+
+	@Test
+	public void givenSlowOrFailedRequests_whenRelease_thenDecreaseLimitDownToMin() {
+		AdmissionLaneProperties properties = new AdmissionLaneProperties(100, 80, 200);
+		properties.setBackoffRatio(0.5);
+		AimdLimiter limiter = new AimdLimiter(properties);
+
+		limiter.tryAcquire();
+		limiter.release(SLOW, false);
+
+		assertThat(limiter.getLimit()).isEqualTo(80);
+
+		limiter = new AimdLimiter(new AdmissionLaneProperties(100, 10, 200));
+		limiter.tryAcquire();
+		limiter.release(FAST, true);
+
+		assertThat(limiter.getLimit()).isEqualTo(90);
+	}
+
+	@Test
+	public void givenBurstOfSlowRequests_whenRelease_thenDecreaseLimitOncePerRoundTrip() throws Exception {
+		AdmissionLaneProperties properties = new AdmissionLaneProperties(100, 10, 200);
+		properties.setBackoffRatio(0.5);
+		AimdLimiter limiter = new AimdLimiter(properties);
+
+		for (int i = 0; i < 5; i++) limiter.tryAcquire();
+		for (int i = 0; i < 5; i++) limiter.release(SLOW, false);
+
+		assertThat(limiter.getLimit()).isEqualTo(50);
+
+		Thread.sleep(1);
+		limiter.tryAcquire();
+		limiter.release(0, true);
+
+		assertThat(limiter.getLimit()).isEqualTo(25);
+	}
+}
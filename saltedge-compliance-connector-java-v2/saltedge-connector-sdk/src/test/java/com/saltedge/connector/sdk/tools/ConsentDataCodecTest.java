@@ -0,0 +1,96 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.tools;
+
+import com.saltedge.connector.sdk.api.models.ProviderConsents;
+import com.saltedge.connector.sdk.api.models.ProviderOfferedConsent;
+import org.assertj.core.util.Lists;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConsentDataCodecTest {
+	@Test
+	public void givenConsents_whenEncodeAndDecode_thenReturnEqualConsents() {
+		ProviderConsents consents = new ProviderConsents(
+				Lists.list(
+						ProviderOfferedConsent.createAccountConsent("MD12345"),
+						new ProviderOfferedConsent("MD12345", "bban", "bic", "+37369000000", null)
+				),
+				Lists.list(ProviderOfferedConsent.createCardConsent("**** **** **** 1111"), null)
+		);
+
+		String encoded = ConsentDataCodec.encode(consents);
+
+		assertThat(encoded).startsWith(ConsentDataCodec.VERSION_PREFIX);
+		assertThat(ConsentDataCodec.isCompactFormat(encoded)).isTrue();
+		assertThat(ConsentDataCodec.decode(encoded)).isEqualTo(consents);
+		assertThat(ConsentDataCodec.decode(ConsentDataCodec.encode(new ProviderConsents(ProviderConsents.GLOBAL_CONSENT_VALUE))))
+				.isEqualTo(new ProviderConsents(ProviderConsents.GLOBAL_CONSENT_VALUE));
+		assertThat(ConsentDataCodec.decode(ConsentDataCodec.encode(ProviderConsents.buildAllAccountsConsent())))
+				.isEqualTo(ProviderConsents.buildAllAccountsConsent());
+		assertThat(ConsentDataCodec.encode(null)).isNull();
+	}
+
+	@Test
+	public void givenManyAccounts_whenEncode_thenResultIsShorterThanJson() throws Exception {
+		List<ProviderOfferedConsent> balances = new ArrayList<>();
+		for (int i = 0; i < 200; i++) balances.add(ProviderOfferedConsent.createAccountConsent("MD24AG00022510013104" + i));
+		ProviderConsents consents = new ProviderConsents(balances, new ArrayList<>(balances));
+
+		String encoded = ConsentDataCodec.encode(consents);
+		String json = JsonTools.getDefaultMapper().writeValueAsString(consents);
+
+		assertThat(encoded.length()).isLessThan(4096);
+		assertThat(encoded.length()).isLessThan(json.length() / 4);
+		assertThat(ConsentDataCodec.decode(encoded)).isEqualTo(consents);
+	}
+
+	@Test
+	public void givenLegacyJson_whenConvertToEntityAttribute_thenReturnConsents() {
+		ConsentDataConverter converter = new ConsentDataConverter();
+		String json = "{\"balances\":[{\"iban\":\"MD12345\"}],\"transactions\":[{\"masked_pan\":\"**** 1111\"}]}";
+
+		ProviderConsents result = converter.convertToEntityAttribute(json);
+
+		assertThat(result).isEqualTo(new ProviderConsents(
+				Lists.list(ProviderOfferedConsent.createAccountConsent("MD12345")),
+				Lists.list(ProviderOfferedConsent.createCardConsent("**** 1111"))
+		));
+		assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(result))).isEqualTo(result);
+		assertThat(converter.convertToEntityAttribute("null")).isNull();
+		assertThat(converter.convertToEntityAttribute(null)).isNull();
+	}
+
+	@Test
+	public void givenCorruptedData_whenDecode_thenThrowIllegalArgumentException() {
+		String encoded = ConsentDataCodec.encode(new ProviderConsents(ProviderConsents.GLOBAL_CONSENT_VALUE));
+
+		assertThatThrownBy(() -> ConsentDataCodec.decode(encoded.substring(0, encoded.length() - 4)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> ConsentDataCodec.decode("{}")).isInstanceOf(IllegalArgumentException.class);
+		assertThat(new ConsentDataConverter().convertToEntityAttribute("v1:AA")).isNull();
+	}
+}
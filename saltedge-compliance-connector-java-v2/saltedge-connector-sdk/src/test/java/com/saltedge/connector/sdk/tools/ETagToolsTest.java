@@ -0,0 +1,70 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.tools;
+
+import com.saltedge.connector.sdk.api.models.responses.AccountsResponse;
+import com.saltedge.connector.sdk.api.models.Account;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ETagToolsTest {
+	@Test
+	public void createETagTest() {
+		String eTag = ETagTools.createETag("version", 1L, "user");
+
+		assertThat(eTag).matches("W/\"[0-9a-f]{32}\"");
+		assertThat(ETagTools.createETag("version", 1L, "user")).isEqualTo(eTag);
+		assertThat(ETagTools.createETag("version2", 1L, "user")).isNotEqualTo(eTag);
+		assertThat(ETagTools.createETag("version", 1L, "use", "r")).isNotEqualTo(eTag);
+	}
+
+	@Test
+	public void createETagOfJsonTest() throws IOException {
+		Account account = new Account();
+		account.setId("1");
+		String eTag = ETagTools.createETagOfJson(JsonTools.createDefaultMapper(), new AccountsResponse(Collections.singletonList(account)));
+
+		assertThat(eTag).matches("W/\"[0-9a-f]{32}\"");
+		assertThat(ETagTools.createETagOfJson(JsonTools.createDefaultMapper(), new AccountsResponse(Collections.singletonList(account))))
+				.isEqualTo(eTag);
+		account.setId("2");
+		assertThat(ETagTools.createETagOfJson(JsonTools.createDefaultMapper(), new AccountsResponse(Collections.singletonList(account))))
+				.isNotEqualTo(eTag);
+	}
+
+	@Test
+	public void matchesTest() {
+		String eTag = "W/\"abc\"";
+
+		assertThat(ETagTools.matches(null, eTag)).isFalse();
+		assertThat(ETagTools.matches("", eTag)).isFalse();
+		assertThat(ETagTools.matches("\"abc\"", null)).isFalse();
+		assertThat(ETagTools.matches("W/\"abc\"", eTag)).isTrue();
+		assertThat(ETagTools.matches("\"abc\"", eTag)).isTrue();
+		assertThat(ETagTools.matches("\"xyz\", W/\"abc\"", eTag)).isTrue();
+		assertThat(ETagTools.matches("*", eTag)).isTrue();
+		assertThat(ETagTools.matches("\"xyz\"", eTag)).isFalse();
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.tools;
+
+import com.saltedge.connector.sdk.api.models.ExchangeRate;
+import org.assertj.core.util.Lists;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExchangeRatesMatrixTest {
+	@Test
+	public void createTest() {
+		ExchangeRatesMatrix matrix = ExchangeRatesMatrix.create(Lists.list(
+				new ExchangeRate("EUR", 1.0f),
+				new ExchangeRate("USD", 0.9f),
+				new ExchangeRate("GBP", 1.5f),
+				new ExchangeRate("USD", 2.0f),
+				new ExchangeRate("XXX", 0f),
+				new ExchangeRate(null, 1.0f)
+		));
+
+		assertThat(matrix.size()).isEqualTo(3);
+		assertThat(matrix.getOrdinal("EUR")).isEqualTo(0);
+		assertThat(matrix.getOrdinal("GBP")).isEqualTo(2);
+		assertThat(matrix.getOrdinal("XXX")).isEqualTo(-1);
+		assertThat(matrix.getOrdinal(null)).isEqualTo(-1);
+		assertThat(matrix.contains("USD")).isTrue();
+		assertThat(matrix.getRate("USD", "EUR")).isEqualByComparingTo(new BigDecimal("0.9"));
+		assertThat(matrix.getRate("EUR", "USD")).isEqualByComparingTo(new BigDecimal("1.111111111111111"));
+		assertThat(matrix.getRate("GBP", "USD")).isEqualByComparingTo(new BigDecimal("1.666666666666667"));
+		assertThat(matrix.getRate(1, 1)).isEqualByComparingTo(BigDecimal.ONE);
+		assertThat(matrix.getRate("EUR", "XXX")).isNull();
+		assertThat(ExchangeRatesMatrix.create(null).size()).isEqualTo(0);
+	}
+
+	@Test
+	public void hasSameRatesTest() {
+		List<ExchangeRate> rates = Lists.list(new ExchangeRate("EUR", 1.0f), new ExchangeRate("USD", 0.9f));
+		ExchangeRatesMatrix matrix = ExchangeRatesMatrix.create(rates);
+
+		assertThat(matrix.hasSameRates(rates)).isTrue();
+		assertThat(matrix.hasSameRates(Lists.list(
+				new ExchangeRate("EUR", 1.0f),
+				new ExchangeRate("USD", 0.9f),
+				new ExchangeRate("EUR", 2.0f)
+		))).isTrue();
+		assertThat(matrix.hasSameRates(Lists.list(new ExchangeRate("EUR", 1.0f), new ExchangeRate("USD", 0.91f)))).isFalse();
+		assertThat(matrix.hasSameRates(Lists.list(new ExchangeRate("USD", 0.9f), new ExchangeRate("EUR", 1.0f)))).isFalse();
+		assertThat(matrix.hasSameRates(Lists.list(new ExchangeRate("EUR", 1.0f)))).isFalse();
+		assertThat(matrix.hasSameRates(Lists.list(
+				new ExchangeRate("EUR", 1.0f),
+				new ExchangeRate("USD", 0.9f),
+				new ExchangeRate("GBP", 1.5f)
+		))).isFalse();
+		assertThat(matrix.hasSameRates(null)).isFalse();
+	}
+}
@@ -22,6 +22,15 @@ package com.saltedge.connector.sdk.tools;
 
 import org.junit.Test;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class ResourceToolsTest {
@@ -31,4 +40,21 @@ public class ResourceToolsTest {
 		assertThat(ResourceTools.readKeyFile("param-param.pem")).isEmpty();
 		assertThat(ResourceTools.readKeyFile("test_public_key.pem")).isNotEmpty();
 	}
+
+	@Test
+	public void givenKeyFileInJar_whenReadKeyFile_thenReturnContent() throws IOException {
+		File jar = File.createTempFile("keys", ".jar");
+		jar.deleteOnExit();
+		try (JarOutputStream stream = new JarOutputStream(new FileOutputStream(jar))) {
+			stream.putNextEntry(new JarEntry("jar_key.pem"));
+			stream.write("-----BEGIN PUBLIC KEY-----\nMIIB\n-----END PUBLIC KEY-----".getBytes(StandardCharsets.UTF_8));
+			stream.closeEntry();
+		}
+
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[]{jar.toURI().toURL()}, null)) {
+			assertThat(ResourceTools.readKeyFile("jar_key.pem", classLoader))
+					.isEqualTo("-----BEGIN PUBLIC KEY-----\nMIIB\n-----END PUBLIC KEY-----\n");
+			assertThat(ResourceTools.readKeyFile("missing_key.pem", classLoader)).isEmpty();
+		}
+	}
 }
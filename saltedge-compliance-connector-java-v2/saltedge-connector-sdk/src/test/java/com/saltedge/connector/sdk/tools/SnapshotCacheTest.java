@@ -0,0 +1,75 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.tools;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SnapshotCacheTest {
+	@Test
+	public void givenDisabledCache_whenPut_thenNotStoreValue() {
+		SnapshotCache<String, String> cache = new SnapshotCache<>(0, 60);
+
+		cache.put("key", "value", cache.stamp());
+
+		assertThat(cache.isEnabled()).isFalse();
+		assertThat(cache.get("key")).isNull();
+	}
+
+	@Test
+	public void givenFullCache_whenPut_thenEvictLeastRecentlyUsedValue() {
+		SnapshotCache<String, String> cache = new SnapshotCache<>(2, 60);
+		cache.put("key1", "value1", cache.stamp());
+		cache.put("key2", "value2", cache.stamp());
+		cache.get("key1");
+
+		cache.put("key3", "value3", cache.stamp());
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.get("key1")).isEqualTo("value1");
+		assertThat(cache.get("key2")).isNull();
+		assertThat(cache.get("key3")).isEqualTo("value3");
+	}
+
+	@Test
+	public void givenInvalidationAfterStamp_whenPut_thenNotStoreValue() {
+		SnapshotCache<String, String> cache = new SnapshotCache<>(2, 60);
+		long stamp = cache.stamp();
+		cache.invalidate("key1");
+
+		cache.put("key1", "value1", stamp);
+
+		assertThat(cache.get("key1")).isNull();
+	}
+
+	@Test
+	public void givenInvalidatedKey_whenGet_thenReturnNull() {
+		SnapshotCache<String, String> cache = new SnapshotCache<>(2, 60);
+		cache.put("key1", "value1", cache.stamp());
+		cache.put("key2", "value2", cache.stamp());
+
+		cache.invalidate("key1");
+
+		assertThat(cache.get("key1")).isNull();
+		assertThat(cache.get("key2")).isEqualTo("value2");
+	}
+}
@@ -0,0 +1,48 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.tools;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenBucketTest {
+	@Test
+	public void givenEmptyBucket_whenTimePasses_thenRefillTokensUpToCapacity() {
+		TokenBucket bucket = new TokenBucket(2.0, 2);
+		long now = System.nanoTime();
+
+		assertThat(bucket.tryConsume(now)).isTrue();
+		assertThat(bucket.tryConsume(now)).isTrue();
+		assertThat(bucket.tryConsume(now)).isFalse();
+
+		now += TimeUnit.MILLISECONDS.toNanos(500);
+		assertThat(bucket.tryConsume(now)).isTrue();
+		assertThat(bucket.tryConsume(now)).isFalse();
+
+		now += TimeUnit.SECONDS.toNanos(10);
+		assertThat(bucket.tryConsume(now)).isTrue();
+		assertThat(bucket.tryConsume(now)).isTrue();
+		assertThat(bucket.tryConsume(now)).isFalse();
+	}
+}
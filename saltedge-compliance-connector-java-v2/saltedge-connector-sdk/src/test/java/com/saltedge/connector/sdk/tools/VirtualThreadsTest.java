@@ -0,0 +1,56 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.tools;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class VirtualThreadsTest {
+	@Test
+	public void newThreadFactoryTest() throws Exception {
+		if (VirtualThreads.isSupported()) {
+			Thread thread = VirtualThreads.newThreadFactory("test-").newThread(() -> {});
+
+			assertThat(thread.getName()).isEqualTo("test-0");
+			assertThat(Thread.class.getMethod("isVirtual").invoke(thread)).isEqualTo(true);
+		} else {
+			assertThatThrownBy(() -> VirtualThreads.newThreadFactory("test-")).isInstanceOf(IllegalStateException.class);
+		}
+	}
+
+	@Test
+	public void newThreadPerTaskExecutorTest() throws Exception {
+		if (VirtualThreads.isSupported()) {
+			ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-");
+			String threadName = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+			executor.shutdown();
+
+			assertThat(threadName).startsWith("test-");
+		} else {
+			assertThatThrownBy(() -> VirtualThreads.newThreadPerTaskExecutor("test-")).isInstanceOf(IllegalStateException.class);
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * @author Constantin Chelban (constantink@saltedge.com)
+ * Copyright (c) 2020 Salt Edge.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.saltedge.connector.sdk.tools;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WeightedFairSchedulerTest {
+	private final static long TIMEOUT = TimeUnit.SECONDS.toNanos(5);
+
+	@Test
+	public void givenFreePermits_whenAcquire_thenReturnImmediately() throws Exception {
+		WeightedFairScheduler scheduler = new WeightedFairScheduler(2);
+
+		assertThat(scheduler.acquire("tpp1", 1.0, 0L)).isTrue();
+		assertThat(scheduler.acquire("tpp1", 1.0, 0L)).isTrue();
+		assertThat(scheduler.acquire("tpp1", 1.0, 0L)).isFalse();
+		assertThat(scheduler.getWaitingCount()).isEqualTo(0);
+
+		scheduler.release();
+
+		assertThat(scheduler.acquire("tpp2", 1.0, 0L)).isTrue();
+	}
+
+	@Test
+	public void givenWaitingCallsOfNoisyAndQuietFlows_whenRelease_thenServeFlowsByWeights() throws Exception {
+		WeightedFairScheduler scheduler = new WeightedFairScheduler(1);
+		scheduler.acquire("holder", 1.0, TIMEOUT);
+		List<String> servedFlows = Collections.synchronizedList(new ArrayList<>());
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 4; i++) threads.add(startWaiter(scheduler, "noisy", 1.0, servedFlows));
+		for (int i = 0; i < 2; i++) threads.add(startWaiter(scheduler, "quiet", 1.0, servedFlows));
+
+		scheduler.release();
+		for (Thread thread : threads) thread.join(TimeUnit.NANOSECONDS.toMillis(TIMEOUT));
+
+		assertThat(servedFlows).hasSize(6);
+		assertThat(servedFlows.subList(0, 4)).containsOnly("noisy", "quiet").contains("quiet");
+		assertThat(servedFlows.indexOf("quiet")).isLessThan(3);
+	}
+
+	@Test
+	public void givenTimedOutCallsOfFlow_whenRelease_thenTheyDoNotLowerShareOfFlow() throws Exception {
+		WeightedFairScheduler scheduler = new WeightedFairScheduler(1);
+		scheduler.acquire("holder", 1.0, TIMEOUT);
+		for (int i = 0; i < 3; i++) {
+			assertThat(scheduler.acquire("tpp1", 1.0, TimeUnit.MILLISECONDS.toNanos(1))).isFalse();
+		}
+		assertThat(scheduler.getWaitingCount()).isEqualTo(0);
+		List<String> servedFlows = Collections.synchronizedList(new ArrayList<>());
+		List<Thread> threads = new ArrayList<>();
+		threads.add(startWaiter(scheduler, "tpp1", 1.0, servedFlows));
+		threads.add(startWaiter(scheduler, "tpp2", 0.5, servedFlows));
+
+		scheduler.release();
+		for (Thread thread : threads) thread.join(TimeUnit.NANOSECONDS.toMillis(TIMEOUT));
+
+		assertThat(servedFlows).containsExactly("tpp1", "tpp2");
+	}
+
+	private static Thread startWaiter(WeightedFairScheduler scheduler, String flow, double weight, List<String> servedFlows) throws InterruptedException {
+		int waitingCount = scheduler.getWaitingCount();
+		CountDownLatch started = new CountDownLatch(1);
+		Thread thread = new Thread(() -> {
+			try {
+				started.countDown();
+				if (scheduler.acquire(flow, weight, TIMEOUT)) {
+					servedFlows.add(flow);
+					scheduler.release();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		thread.start();
+		started.await();
+		while (scheduler.getWaitingCount() == waitingCount) Thread.sleep(1);
+		return thread;
+	}
+}